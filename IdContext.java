@@ -0,0 +1,172 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Context that allocates the ids of actors, fifos and architecture elements. A thread
+     builds its models with the context it entered, or with the shared context if it did
+     not enter one, so several models can be built and evaluated in parallel threads
+     without id collisions. The counters are atomic because the shared context might be
+     used by several threads at once.
+--------------------------------------------------------------------------
+*/
+package multitile;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class IdContext{
+  private static final IdContext shared = new IdContext();
+  private static final ThreadLocal<IdContext> current = new ThreadLocal<>();
+
+  // application counters
+  private AtomicInteger actorIdCounter;
+  private AtomicInteger multicastActorCounter;
+  private AtomicInteger fifoIdCounter;
+  private AtomicInteger compositeCounter;
+  // architecture counters
+  private AtomicInteger processorIdCounter;
+  private AtomicInteger memoryIdCounter;
+  private AtomicInteger crossbarIdCounter;
+  private AtomicInteger tileIdCounter;
+  private AtomicInteger nocIdCounter;
+  private AtomicInteger nocLinkIdCounter;
+
+  public IdContext(){
+    this.actorIdCounter = new AtomicInteger();
+    this.multicastActorCounter = new AtomicInteger();
+    this.fifoIdCounter = new AtomicInteger();
+    this.compositeCounter = new AtomicInteger();
+    this.processorIdCounter = new AtomicInteger();
+    this.memoryIdCounter = new AtomicInteger();
+    this.crossbarIdCounter = new AtomicInteger();
+    this.tileIdCounter = new AtomicInteger();
+    this.nocIdCounter = new AtomicInteger();
+    this.nocLinkIdCounter = new AtomicInteger();
+    this.resetCounters();
+  }
+
+  // context of the calling thread
+  public static IdContext getCurrent(){
+    IdContext context = current.get();
+    return context == null ? shared : context;
+  }
+
+  public static IdContext getShared(){
+    return shared;
+  }
+
+  // runs body with the ids allocated from context, the previous context of the thread is restored afterwards
+  public static void runWith(IdContext context, Runnable body){
+    callWith(context, () -> {
+      body.run();
+      return null;
+    });
+  }
+
+  public static <T> T callWith(IdContext context, Supplier<T> body){
+    IdContext previous = current.get();
+    current.set(context);
+    try{
+      return body.get();
+    }finally{
+      if (previous == null)
+        current.remove();
+      else
+        current.set(previous);
+    }
+  }
+
+  public void resetCounters(){
+    resetActorCounters();
+    resetFifoCounters();
+    resetArchitectureCounters();
+  }
+
+  public void resetActorCounters(){
+    actorIdCounter.set(1);
+    multicastActorCounter.set(0);
+  }
+
+  public void resetFifoCounters(){
+    fifoIdCounter.set(1);
+    compositeCounter.set(0);
+  }
+
+  public void resetArchitectureCounters(){
+    processorIdCounter.set(0);
+    memoryIdCounter.set(-700);
+    crossbarIdCounter.set(-100);
+    tileIdCounter.set(0);
+    nocIdCounter.set(-200);
+    nocLinkIdCounter.set(-100000);
+  }
+
+  public int getActorId(){
+    return actorIdCounter.getAndIncrement();
+  }
+
+  public int getMulticastActorCounter(){
+    return multicastActorCounter.getAndIncrement();
+  }
+
+  public int getFifoId(){
+    return fifoIdCounter.getAndIncrement();
+  }
+
+  public int getCompositeCounter(){
+    return compositeCounter.getAndIncrement();
+  }
+
+  public int getTileId(){
+    return tileIdCounter.getAndIncrement();
+  }
+
+  public int getProcessorId(){
+    return processorIdCounter.getAndIncrement();
+  }
+
+  public int getMemoryId(){
+    return memoryIdCounter.getAndIncrement();
+  }
+
+  public int getCrossbarId(){
+    return crossbarIdCounter.getAndIncrement();
+  }
+
+  public int getNoCId(){
+    return nocIdCounter.getAndIncrement();
+  }
+
+  // the links of a mesh NoC have their own range, a 64 tile mesh already has 224 links
+  public int getNoCLinkId(){
+    return nocLinkIdCounter.getAndIncrement();
+  }
+}
@@ -38,26 +38,21 @@
 
 package multitile.application;
 
+import multitile.IdContext;
 
-public class ActorManagement{
-  private static int actorIdCounter;
-  private static int multicastActorCounter;
 
-  static{
-    actorIdCounter = 1;
-    multicastActorCounter = 0;
-  }
+public class ActorManagement{
+  // the ids come from the id context of the calling thread
 
   public static void resetCounters(){
-    actorIdCounter = 1;
-    multicastActorCounter = 0;
+    IdContext.getCurrent().resetActorCounters();
   }
 
   public static int getActorId(){
-    return actorIdCounter++;
+    return IdContext.getCurrent().getActorId();
   }
 
   public static int getMulticastActorCounter(){
-    return multicastActorCounter++;
+    return IdContext.getCurrent().getMulticastActorCounter();
   }
 }
@@ -0,0 +1,311 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Compact adjacency representation of an application, the actors are indexed
+     densely and the fifos between two actors are merged in a single edge.
+     It finds the strongly connected components (Tarjan) and enumerates the
+     elementary cycles inside the nontrivial ones (Johnson).
+--------------------------------------------------------------------------
+*/
+package multitile.application;
+
+import java.util.*;
+
+import multitile.application.Actor;
+import multitile.application.Application;
+import multitile.application.Fifo;
+
+public class ApplicationGraph{
+	// id of the actor at each index
+	private int[] actorIds;
+	// key -> actor id
+	// value -> index
+	private HashMap<Integer,Integer> index;
+	// successors of each actor, without repeated edges
+	private int[][] succ;
+	// iterations of delay of each edge: the initial tokens over the consumption rate,
+	// the smallest one if several fifos connect the same actors
+	private int[][] distance;
+
+	// used while finding the components, the actors with the same mark form the subgraph
+	private int[] mark;
+	private int[] order;
+	private int[] low;
+	private boolean[] onStack;
+	private int[] stack;
+	// call stack: actor, next successor to visit and, in the circuits, whether a cycle was found,
+	// the actors in the stack of a circuit are the current path
+	private int[] callActor;
+	private int[] callEdge;
+	private boolean[] callFound;
+
+	// used while enumerating the cycles
+	private int start;
+	private boolean[] blocked;
+	private ArrayList<HashSet<Integer>> B;
+	private ArrayList<List<Integer>> elementaryCycles;
+
+	public ApplicationGraph(Application app){
+		int n = app.getActors().size();
+		actorIds = new int[n];
+		index = new HashMap<>();
+		for(int id : app.getActors().keySet()){
+			actorIds[index.size()] = id;
+			index.put(id, index.size());
+		}
+		ArrayList<LinkedHashMap<Integer,Integer>> edges = new ArrayList<>();
+		for(int i = 0; i < n; i++)
+			edges.add(new LinkedHashMap<>());
+		for(Fifo f : app.getFifos().values()){
+			int delay = f.getInitialTokens() / f.getConsRate();
+			edges.get(index.get(f.getSource().getId())).merge(index.get(f.getDestination().getId()), delay, Math::min);
+		}
+		succ = new int[n][];
+		distance = new int[n][];
+		for(int i = 0; i < n; i++){
+			succ[i] = new int[edges.get(i).size()];
+			distance[i] = new int[edges.get(i).size()];
+			int j = 0;
+			for(Map.Entry<Integer,Integer> e : edges.get(i).entrySet()){
+				succ[i][j] = e.getKey();
+				distance[i][j++] = e.getValue();
+			}
+		}
+	}
+
+	public int getNumberOfActors(){
+		return actorIds.length;
+	}
+
+	public int getActorId(int i){
+		return actorIds[i];
+	}
+
+	public int getIndex(int actorId){
+		return index.get(actorId);
+	}
+
+	public int[] getSuccessors(int i){
+		return succ[i];
+	}
+
+	public int[] getDistances(int i){
+		return distance[i];
+	}
+
+	// strongly connected components (Tarjan), each one holds the indexes of its actors
+	public ArrayList<int[]> getStronglyConnectedComponents(){
+		int n = actorIds.length;
+		allocate(n);
+		int[] vertices = new int[n];
+		for(int i = 0; i < n; i++)
+			vertices[i] = i;
+		return getStronglyConnectedComponents(vertices, 0);
+	}
+
+	private void allocate(int n){
+		mark = new int[n];
+		order = new int[n];
+		low = new int[n];
+		onStack = new boolean[n];
+		stack = new int[n];
+		callActor = new int[n];
+		callEdge = new int[n];
+		callFound = new boolean[n];
+	}
+
+	// components of the subgraph of the vertices marked with stamp, the vertices are visited in order
+	// the recursion is replaced by an explicit stack to support long chains of actors
+	private ArrayList<int[]> getStronglyConnectedComponents(int[] vertices, int stamp){
+		ArrayList<int[]> components = new ArrayList<>();
+		for(int v : vertices)
+			order[v] = -1;
+		int top = 0;
+		int counter = 0;
+		for(int root : vertices){
+			if (order[root] != -1)
+				continue;
+			int depth = 0;
+			callActor[0] = root;
+			callEdge[0] = 0;
+			order[root] = low[root] = counter++;
+			stack[top++] = root;
+			onStack[root] = true;
+			while(depth >= 0){
+				int v = callActor[depth];
+				if (callEdge[depth] < succ[v].length){
+					int w = succ[v][callEdge[depth]++];
+					if (mark[w] != stamp)
+						continue;
+					if (order[w] == -1){
+						order[w] = low[w] = counter++;
+						stack[top++] = w;
+						onStack[w] = true;
+						depth++;
+						callActor[depth] = w;
+						callEdge[depth] = 0;
+					}else if (onStack[w])
+						low[v] = Math.min(low[v], order[w]);
+					continue;
+				}
+				// all the successors visited
+				if (low[v] == order[v]){
+					int size = 0;
+					while(stack[top - 1 - size] != v)
+						size++;
+					size++;
+					int[] c = new int[size];
+					for(int i = 0; i < size; i++){
+						c[i] = stack[--top];
+						onStack[c[i]] = false;
+					}
+					Arrays.sort(c);
+					components.add(c);
+				}
+				depth--;
+				if (depth >= 0)
+					low[callActor[depth]] = Math.min(low[callActor[depth]], low[v]);
+			}
+		}
+		return components;
+	}
+
+	// a component has cycles if it has more than one actor or its actor has an edge to itself
+	public boolean hasCycles(int[] c){
+		if (c.length > 1)
+			return true;
+		for(int w : succ[c[0]])
+			if (w == c[0])
+				return true;
+		return false;
+	}
+
+	// elementary cycles (Johnson), each one as the list of ids of its actors following the edges
+	public ArrayList<List<Integer>> getElementaryCycles(){
+		int n = actorIds.length;
+		elementaryCycles = new ArrayList<>();
+		blocked = new boolean[n];
+		B = new ArrayList<>();
+		for(int i = 0; i < n; i++)
+			B.add(new HashSet<>());
+		ArrayList<int[]> components = getStronglyConnectedComponents();
+		int stamp = 0;
+		for(int[] c : components){
+			if (!hasCycles(c))
+				continue;
+			// the cycles through the smallest actor of the least component with cycles of the subgraph
+			// of the actors above the previous start, only that component is searched
+			int from = 0;
+			while(from < c.length){
+				int[] vertices = Arrays.copyOfRange(c, from, c.length);
+				stamp++;
+				for(int v : vertices)
+					mark[v] = stamp;
+				int[] least = null;
+				for(int[] sub : getStronglyConnectedComponents(vertices, stamp))
+					if (hasCycles(sub) && (least == null || sub[0] < least[0]))
+						least = sub;
+				if (least == null)
+					break;
+				stamp++;
+				for(int v : least){
+					mark[v] = stamp;
+					blocked[v] = false;
+					B.get(v).clear();
+				}
+				start = least[0];
+				circuit(start);
+				from = Arrays.binarySearch(c, start) + 1;
+			}
+		}
+		return elementaryCycles;
+	}
+
+	// the recursion is replaced by an explicit stack to support long cycles
+	private void circuit(int s){
+		int depth = 0;
+		callActor[0] = s;
+		callEdge[0] = 0;
+		callFound[0] = false;
+		blocked[s] = true;
+		while(depth >= 0){
+			int v = callActor[depth];
+			if (callEdge[depth] < succ[v].length){
+				int w = succ[v][callEdge[depth]++];
+				if (mark[w] != mark[start])
+					continue;
+				if (w == start){
+					ArrayList<Integer> cycle = new ArrayList<>();
+					for(int i = 0; i <= depth; i++)
+						cycle.add(actorIds[callActor[i]]);
+					elementaryCycles.add(cycle);
+					callFound[depth] = true;
+				}else if (!blocked[w]){
+					depth++;
+					callActor[depth] = w;
+					callEdge[depth] = 0;
+					callFound[depth] = false;
+					blocked[w] = true;
+				}
+				continue;
+			}
+			// all the successors visited
+			boolean found = callFound[depth];
+			if (found)
+				unblock(v);
+			else
+				for(int w : succ[v])
+					if (mark[w] == mark[start])
+						B.get(w).add(v);
+			depth--;
+			if (depth >= 0 && found)
+				callFound[depth] = true;
+		}
+	}
+
+	// unblocks u and, transitively, the blocked actors waiting for it
+	private void unblock(int u){
+		blocked[u] = false;
+		ArrayDeque<Integer> waiting = new ArrayDeque<>();
+		waiting.push(u);
+		while(!waiting.isEmpty()){
+			int v = waiting.pop();
+			for(int w : B.get(v)){
+				if (blocked[w]){
+					blocked[w] = false;
+					waiting.push(w);
+				}
+			}
+			B.get(v).clear();
+		}
+	}
+}
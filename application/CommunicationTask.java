@@ -57,7 +57,11 @@ public class CommunicationTask extends Actor{
 	
 	private ArrayList<Crossbar> usedCrossbar;
 	private NoC usedNoC = null;
+	// NoCs or links of a mesh NoC traversed by the transfer
+	private ArrayList<NoC> usedNoCs = new ArrayList<>();
 	private LocalMemory usedLocalMemory = null;
+	// read task of the same MRB and tile that transfers the tokens over the NoC, null if this task does it
+	private CommunicationTask multicastLeader = null;
 	
 	public CommunicationTask(
              String name,
@@ -79,6 +83,10 @@ public class CommunicationTask extends Actor{
 	
 	public NoC getUsedNoc() { return this.usedNoC;};
 	
+	public ArrayList<NoC> getUsedNoCs() {
+		return this.usedNoCs;
+	}
+	
 	public  ArrayList<Crossbar> getUsedCrossbars(){
 		return this.usedCrossbar;
 	}
@@ -93,10 +101,13 @@ public class CommunicationTask extends Actor{
 		this.runtime = 0;
 		this.discretizedRuntime = 0 ;
 		this.usedCrossbar = new ArrayList<>();
+		this.usedNoCs = new ArrayList<>();
 		
 		for(PassTransferOverArchitecture p : this.usedInterconnects ) {
 			if (p.getCrossbar() != null)
 				usedCrossbar.add(p.getCrossbar());
+			if (p.getType() == PassTransferOverArchitecture.PASS_TYPE.NOC)
+				usedNoCs.add(p.getNoC());
 			if (p.getNoC() != null)
 				usedNoC = p.getNoC();
 			if (p.getLocalMemory() != null)
@@ -107,14 +118,20 @@ public class CommunicationTask extends Actor{
 		
 		assert transfer != null : "Transfer must be different to null";
 		
+		// all the interconnects are reserved at once (cut-through), the length is the one of the
+		// slowest interconnect plus the header latency of each traversed interconnect
+		double headers = 0;
 		for(Crossbar c : usedCrossbar) {
 			transferTimes.add(c.calculateTransferTime(this.transfer));
+			headers += c.getHeaderLatency();
+		}
+		for(NoC noc : usedNoCs) {
+			transferTimes.add( noc.calculateTransferTime(this.transfer));
+			headers += noc.getHeaderLatency();
 		}
-		if (this.usedNoC != null)
-			transferTimes.add( usedNoC.calculateTransferTime(this.transfer));
 		
 		if (transferTimes.size() > 0) {
-			double lengthTransfer = Collections.max(transferTimes);
+			double lengthTransfer = Collections.max(transferTimes) + headers;
 			this.runtime = lengthTransfer;
 			this.discretizedRuntime = (int)Math.ceil(lengthTransfer/scaleFactor);
 			if (this.discretizedRuntime < 1)
@@ -187,4 +204,12 @@ public class CommunicationTask extends Actor{
 		fifoFromMRB = _fifoFromMRB;
 	}
 
+	public CommunicationTask getMulticastLeader() {
+		return multicastLeader;
+	}
+
+	public void setMulticastLeader(CommunicationTask multicastLeader) {
+		this.multicastLeader = multicastLeader;
+	}
+
 }
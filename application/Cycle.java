@@ -52,6 +52,24 @@ public class Cycle{
                 this.cycle = new ArrayList<Integer>();
         }
 
+        // cycle already found, the actors are given following the edges
+        public Cycle(Actor src, List<Integer> cycle){
+                this.src = src;
+                this.cycle = new ArrayList<Integer>(cycle);
+        }
+
+        // two cycles are the same if they have the same actors, the key is the sorted list of actors
+        public List<Integer> getKey(){
+                List<Integer> key = new ArrayList<Integer>(this.cycle);
+                Collections.sort(key);
+                return key;
+        }
+
+        @Override
+        public int hashCode(){
+                return getKey().hashCode();
+        }
+
         @Override
         public boolean equals(Object obj){
                 if(obj==null)
@@ -63,15 +81,7 @@ public class Cycle{
                 if (this.cycle.size() != other.getCycle().size())
                         return false;
 
-                List<Integer> sortedCycle      = new ArrayList<Integer>(this.cycle);
-                List<Integer> otherSortedCycle = new ArrayList<Integer>(other.getCycle());
-                Collections.sort(sortedCycle);
-                Collections.sort(otherSortedCycle);
-                for(int i=0; i<sortedCycle.size();i++){
-                        if(sortedCycle.get(i) != otherSortedCycle.get(i))
-                              return false;
-                }
-                return true;
+                return getKey().equals(other.getKey());
         }
 
 	// l
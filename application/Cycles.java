@@ -40,32 +40,42 @@ package multitile.application;
 import java.util.*;
 import multitile.application.Actor;
 import multitile.application.Application;
+import multitile.mapping.Bindings;
 
 public class Cycles{
         private ArrayList<Cycle> cycles; 
+	// cycles already in the list, hashed by their sorted actors
+	private HashSet<Cycle> cycleKeys;
 	private int recII;
+	// bound from the runtimes of the actors and the initial tokens, and the cycle that sets it
+	private int recMII;
+	private Cycle criticalCycle;
 	public Cycles(){
 		cycles = new ArrayList<>();
+		cycleKeys = new HashSet<>();
 	}
 
 	public int getRecII(){
 		return recII;
 	}
 
+	public int getRecMII(){
+		return recMII;
+	}
+
+	// null if the application has no cycles
+	public Cycle getCriticalCycle(){
+		return criticalCycle;
+	}
+
 	public void clearCycles(){
 		cycles.clear();
+		cycleKeys.clear();
 	}
 
         public void addCycle(Cycle cycle){
               // check if cycle is in the list
-              boolean isInList = false;
-              for(int i=0; i < cycles.size(); i++){
-                  if(cycles.get(i).equals(cycle) == true ){
-                      isInList = true;
-                      break;
-                  }
-              }
-              if(!isInList)
+              if(cycleKeys.add(cycle))
                   cycles.add(cycle);
         }
 
@@ -73,12 +83,12 @@ public class Cycles{
               return cycles;
         }
 
+	// all the elementary cycles, only the strongly connected components with cycles are visited
 	public void calculateCycles(Application app){
-		for(Map.Entry<Integer,Actor> a : app.getActors().entrySet()){
-			Cycle cycle = new Cycle(a.getValue());
-			cycle.calculateCycle(app);
-			if (cycle.existsCycle())
-				this.addCycle(cycle);
+		ApplicationGraph graph = new ApplicationGraph(app);
+		for(List<Integer> actors : graph.getElementaryCycles()){
+			Cycle cycle = new Cycle(app.getActors().get(actors.get(0)), actors);
+			this.addCycle(cycle);
 		}
 	}
 
@@ -97,6 +107,22 @@ public class Cycles{
 		}
 		recII =  maxVal;
 	}
+	// maximum cycle ratio, the runtime of each actor is the discrete-runtime of its binding and the delay
+	// of each fifo is given by its initial tokens. Integer.MAX_VALUE if a cycle has no initial tokens
+	public void calculateRecMII(Application app, Bindings bindings){
+		ApplicationGraph graph = new ApplicationGraph(app);
+		int[] runtimes = new int[graph.getNumberOfActors()];
+		for(int i=0; i < runtimes.length; i++){
+			assert bindings.getActorProcessorBindings().containsKey(graph.getActorId(i)) : "Actor without binding";
+			runtimes[i] = (int)bindings.getActorProcessorBindings().get(graph.getActorId(i)).getProperties().get("discrete-runtime");
+		}
+		MaximumCycleRatio ratio = new MaximumCycleRatio(graph, runtimes);
+		ratio.solve();
+		recMII = ratio.getRecMII();
+		List<Integer> actors = ratio.getCriticalCycle();
+		criticalCycle = actors.isEmpty() ? null : new Cycle(app.getActors().get(actors.get(0)), actors);
+	}
+
 	// l
 	// key -> actor id
 	// value -> scheduled step
@@ -46,27 +46,21 @@ import multitile.architecture.Memory;
 import multitile.mapping.Binding;
 import multitile.mapping.Bindings;
 import multitile.application.CompositeFifo;
+import multitile.IdContext;
 
 public class FifoManagement{
-  private static int fifoIdCounter;
-  private static int compositeCounter;
-
-  static{
-    fifoIdCounter=1;
-    compositeCounter = 0;
-  }
+  // the ids come from the id context of the calling thread
 
   public static void resetCounters(){
-    fifoIdCounter=1;
-    compositeCounter = 0;
+    IdContext.getCurrent().resetFifoCounters();
   }
 
   public static int getCompositeCounter(){
-    return compositeCounter++;
+    return IdContext.getCurrent().getCompositeCounter();
   }
 
   public static int getFifoId(){
-    return fifoIdCounter++;
+    return IdContext.getCurrent().getFifoId();
   }
 
   public static CompositeFifo createCompositeChannel(Fifo writer,List<Fifo> readerFifos, Actor multicastActor,Bindings bindings){
@@ -0,0 +1,288 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Maximum cycle ratio of an application graph (Howard's policy iteration).
+     The ratio of a cycle is the sum of the runtimes of its actors over the
+     iterations of delay given by the initial tokens of its fifos, its ceiling
+     is the recurrence bound of the period (RecMII).
+--------------------------------------------------------------------------
+*/
+package multitile.application;
+
+import java.util.*;
+
+public class MaximumCycleRatio{
+	private ApplicationGraph graph;
+	// runtime of each actor, indexed as in the graph
+	private int[] runtime;
+	// sum of runtimes and delays of the critical cycle
+	private long cycleRuntime;
+	private long cycleDistance;
+	private List<Integer> criticalCycle;
+	private boolean deadlock;
+	private int iterations;
+
+	// used by the policy iteration
+	private int[] component;
+	private int[] policy;
+	private double[] eta;
+	private double[] x;
+
+	public MaximumCycleRatio(ApplicationGraph graph, int[] runtime){
+		this.graph = graph;
+		this.runtime = runtime;
+		this.criticalCycle = new ArrayList<>();
+	}
+
+	public void solve(){
+		int n = graph.getNumberOfActors();
+		cycleRuntime = 0;
+		cycleDistance = 1;
+		criticalCycle = new ArrayList<>();
+		deadlock = false;
+		iterations = 0;
+		component = new int[n];
+		Arrays.fill(component, -1);
+		ArrayList<Integer> nodes = new ArrayList<>();
+		ArrayList<int[]> components = graph.getStronglyConnectedComponents();
+		for(int c = 0; c < components.size(); c++){
+			if (!graph.hasCycles(components.get(c)))
+				continue;
+			for(int v : components.get(c)){
+				component[v] = c;
+				nodes.add(v);
+			}
+		}
+		if (nodes.isEmpty())
+			return;
+		// a cycle without initial tokens can not be executed at any period
+		List<Integer> blockedCycle = findCycleWithoutDelay(nodes);
+		if (blockedCycle != null){
+			deadlock = true;
+			for(int v : blockedCycle)
+				criticalCycle.add(graph.getActorId(v));
+			return;
+		}
+		// start with the edge with the smallest delay inside the component
+		policy = new int[n];
+		eta = new double[n];
+		x = new double[n];
+		long totalRuntime = 0;
+		for(int u : nodes){
+			totalRuntime += runtime[u];
+			int[] succ = graph.getSuccessors(u);
+			int[] distance = graph.getDistances(u);
+			policy[u] = -1;
+			for(int j = 0; j < succ.length; j++)
+				if (component[succ[j]] == component[u] && (policy[u] == -1 || distance[j] < distance[policy[u]]))
+					policy[u] = j;
+		}
+		double eps = 1e-9 * (1 + totalRuntime);
+		int[] state = new int[n];
+		int[] walk = new int[n];
+		while(true){
+			iterations++;
+			evaluatePolicy(nodes, state, walk);
+			// first look for an edge that reaches a cycle with a greater ratio
+			boolean changed = false;
+			for(int u : nodes){
+				int[] succ = graph.getSuccessors(u);
+				double best = eta[u];
+				for(int j = 0; j < succ.length; j++){
+					if (component[succ[j]] == component[u] && eta[succ[j]] > best + eps){
+						best = eta[succ[j]];
+						policy[u] = j;
+						changed = true;
+					}
+				}
+			}
+			if (changed)
+				continue;
+			// then for an edge that increases the value of the node with the same ratio
+			for(int u : nodes){
+				int[] succ = graph.getSuccessors(u);
+				int[] distance = graph.getDistances(u);
+				double best = x[u];
+				for(int j = 0; j < succ.length; j++){
+					int v = succ[j];
+					if (component[v] != component[u] || Math.abs(eta[v] - eta[u]) > eps)
+						continue;
+					double value = runtime[u] - eta[u] * distance[j] + x[v];
+					if (value > best + eps){
+						best = value;
+						policy[u] = j;
+						changed = true;
+					}
+				}
+			}
+			if (!changed)
+				break;
+		}
+	}
+
+	// ratio of the cycle reached by each node following the policy and the value of each node
+	// relative to its cycle, the cycle with the greatest ratio is kept as critical cycle
+	private void evaluatePolicy(ArrayList<Integer> nodes, int[] state, int[] walk){
+		// 0: not visited, 1: in the current walk, 2: evaluated
+		for(int u : nodes)
+			state[u] = 0;
+		criticalCycle = new ArrayList<>();
+		cycleRuntime = 0;
+		cycleDistance = 1;
+		for(int u : nodes){
+			if (state[u] != 0)
+				continue;
+			int length = 0;
+			int v = u;
+			while(state[v] == 0){
+				state[v] = 1;
+				walk[length++] = v;
+				v = next(v);
+			}
+			if (state[v] == 1){
+				// the walk closed a new cycle that starts at v
+				int p = length - 1;
+				while(walk[p] != v)
+					p--;
+				long sumRuntime = 0;
+				long sumDistance = 0;
+				for(int i = p; i < length; i++){
+					sumRuntime += runtime[walk[i]];
+					sumDistance += graph.getDistances(walk[i])[policy[walk[i]]];
+				}
+				double ratio = (double)sumRuntime / (double)sumDistance;
+				if (criticalCycle.isEmpty() || sumRuntime * cycleDistance > cycleRuntime * sumDistance){
+					cycleRuntime = sumRuntime;
+					cycleDistance = sumDistance;
+					criticalCycle = new ArrayList<>();
+					for(int i = p; i < length; i++)
+						criticalCycle.add(graph.getActorId(walk[i]));
+				}
+				eta[v] = ratio;
+				x[v] = 0;
+				state[v] = 2;
+				for(int i = length - 1; i > p; i--)
+					evaluateNode(walk[i], state);
+				length = p;
+			}
+			// the rest of the walk leads to a cycle already evaluated
+			for(int i = length - 1; i >= 0; i--)
+				evaluateNode(walk[i], state);
+		}
+	}
+
+	private void evaluateNode(int u, int[] state){
+		int v = next(u);
+		eta[u] = eta[v];
+		x[u] = runtime[u] - eta[u] * graph.getDistances(u)[policy[u]] + x[v];
+		state[u] = 2;
+	}
+
+	private int next(int u){
+		return graph.getSuccessors(u)[policy[u]];
+	}
+
+	// depth first search over the edges without delay
+	private List<Integer> findCycleWithoutDelay(ArrayList<Integer> nodes){
+		int n = graph.getNumberOfActors();
+		// 0: not visited, 1: in the current path, 2: finished
+		int[] color = new int[n];
+		int[] pathActor = new int[n];
+		int[] pathEdge = new int[n];
+		for(int root : nodes){
+			if (color[root] != 0)
+				continue;
+			int depth = 0;
+			pathActor[0] = root;
+			pathEdge[0] = 0;
+			color[root] = 1;
+			while(depth >= 0){
+				int v = pathActor[depth];
+				int[] succ = graph.getSuccessors(v);
+				int[] distance = graph.getDistances(v);
+				if (pathEdge[depth] == succ.length){
+					color[v] = 2;
+					depth--;
+					continue;
+				}
+				int j = pathEdge[depth]++;
+				int w = succ[j];
+				if (distance[j] != 0 || component[w] != component[v])
+					continue;
+				if (color[w] == 1){
+					List<Integer> cycle = new ArrayList<>();
+					int i = depth;
+					while(pathActor[i] != w)
+						i--;
+					for(; i <= depth; i++)
+						cycle.add(pathActor[i]);
+					return cycle;
+				}
+				if (color[w] == 0){
+					color[w] = 1;
+					depth++;
+					pathActor[depth] = w;
+					pathEdge[depth] = 0;
+				}
+			}
+		}
+		return null;
+	}
+
+	// greatest ratio among the cycles, infinite if there is a cycle without initial tokens
+	// and zero if the application has no cycles
+	public double getRatio(){
+		if (deadlock)
+			return Double.POSITIVE_INFINITY;
+		return (double)cycleRuntime / (double)cycleDistance;
+	}
+
+	// smallest integer period that is not below the ratio of any cycle
+	public int getRecMII(){
+		if (deadlock)
+			return Integer.MAX_VALUE;
+		return (int)((cycleRuntime + cycleDistance - 1) / cycleDistance);
+	}
+
+	// ids of the actors of the cycle with the greatest ratio, following the edges
+	public List<Integer> getCriticalCycle(){
+		return criticalCycle;
+	}
+
+	public boolean isDeadlocked(){
+		return deadlock;
+	}
+
+	public int getIterations(){
+		return iterations;
+	}
+}
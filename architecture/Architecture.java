@@ -52,6 +52,8 @@ public class Architecture{
   private HashMap<Integer,Tile> tiles;
   private NoC noc;
   private GlobalMemory globalMemory;
+  // when set, the schedule is recorded in streaming mode and flushed to the sink
+  private ScheduleSink scheduleSink;
   
   public Architecture(String name){
     this.name = name;
@@ -77,6 +79,20 @@ public class Architecture{
     globalMemory = new GlobalMemory("GLOBAL_MEMORY");
   }
 
+  // multitile architecture with the tiles placed row by row in a columns x rows mesh NoC
+  public Architecture(String name, int columns, int rows, int nProcPerTile, double BWCrossbars, int channelsCrossbar, double linkBandwidth, int channelsPerLink){
+    this.name = name;
+    tiles = new HashMap<>(); 
+    MeshNoC mesh = new MeshNoC("NoC", columns, rows, linkBandwidth, channelsPerLink);
+    for(int i=0; i < columns*rows; i++){
+      Tile t = new Tile("Tile"+(i+1), nProcPerTile, BWCrossbars, channelsCrossbar);
+      tiles.put(t.getId(),t);
+      mesh.placeTile(t, i % columns, i / columns);
+    }
+    noc = mesh;
+    globalMemory = new GlobalMemory("GLOBAL_MEMORY");
+  }
+
   public Architecture(String name, String nameTile, int nProcPerTile, double BWCrossbars, int channelsCrossbar){
     // for test purposes, single tile with name tile
     this.name = name;
@@ -119,7 +135,7 @@ public class Architecture{
 		  tiles.put(clonedTile.getId(), clonedTile);
 	  }
 	  
-	  this.noc = new NoC(another.getNoC());
+	  this.noc = cloneNoC(another.getNoC());
 	  this.globalMemory = new GlobalMemory(another.getGlobalMemory()); 
   }
   
@@ -190,7 +206,7 @@ public class Architecture{
 		  tiles.get(entry.getKey()).getProcessors().remove(entry.getValue());
 	  }
 	  
-	  this.noc = new NoC(another.getNoC());
+	  this.noc = cloneNoC(another.getNoC());
 	  this.globalMemory = new GlobalMemory(another.getGlobalMemory());
   }
   
@@ -209,6 +225,44 @@ public class Architecture{
     return endTime;
   }
 
+  public ScheduleSink getScheduleSink(){
+    return this.scheduleSink;
+  }
+
+  public void setScheduleSink(ScheduleSink scheduleSink){
+    this.scheduleSink = scheduleSink;
+  }
+
+  // earliest last event among the processors that already executed an action, no
+  // action, transfer or memory point before it can be changed by the scheduler anymore
+  public double getScheduleHorizon(){
+    double horizon = Double.POSITIVE_INFINITY;
+    for(Map.Entry<Integer,Tile> t : tiles.entrySet()){
+      for(Map.Entry<Integer,Processor> p : t.getValue().getProcessors().entrySet()){
+        Scheduler scheduler = p.getValue().getScheduler();
+        if(scheduler.getScheduledActions().size() > 0 && scheduler.getLastEventinProcessor() < horizon)
+          horizon = scheduler.getLastEventinProcessor();
+      }
+    }
+    return horizon == Double.POSITIVE_INFINITY ? 0.0 : horizon;
+  }
+
+  // moves the part of the schedule before the horizon to the schedule sink, the
+  // utilization of each resource still accounts the flushed part
+  public void flushSchedule(double horizon){
+    assert scheduleSink != null : "the architecture has no schedule sink";
+    for(Map.Entry<Integer,Tile> t : tiles.entrySet()){
+      for(Map.Entry<Integer,Processor> p : t.getValue().getProcessors().entrySet()){
+        p.getValue().getScheduler().flushScheduledActions(horizon, scheduleSink);
+        p.getValue().getLocalMemory().flushMemoryUtilization(horizon, scheduleSink);
+      }
+      t.getValue().getCrossbar().flushScheduledTransfers(horizon, scheduleSink);
+      t.getValue().getTileLocalMemory().flushMemoryUtilization(horizon, scheduleSink);
+    }
+    this.globalMemory.flushMemoryUtilization(horizon, scheduleSink);
+    this.noc.flushScheduledTransfers(horizon, scheduleSink);
+  }
+
   public Crossbar getCrossbar(int crossbarId){
     for(Map.Entry<Integer,Tile> entry : this.tiles.entrySet()){
       if (entry.getValue().getCrossbar().getId() == crossbarId)
@@ -220,6 +274,16 @@ public class Architecture{
   public NoC getNoC(){
     return this.noc;
   }
+
+  public void setNoC(NoC noc){
+    this.noc = noc;
+  }
+
+  private static NoC cloneNoC(NoC noc){
+    if (noc instanceof MeshNoC)
+      return new MeshNoC((MeshNoC)noc);
+    return new NoC(noc);
+  }
  
   public String getName(){
   	return this.name;
@@ -417,6 +481,8 @@ public class Architecture{
 	  NoC noc = null;
 	  if (this.noc.getId() == resourceId)
 		  return this.noc;
+	  if (this.noc instanceof MeshNoC)
+		  return ((MeshNoC)this.noc).isLink(resourceId);
 	  return noc;
   }
   
@@ -43,22 +43,9 @@ import java.util.Map;
 import multitile.application.Fifo;
 import multitile.mapping.Bindings;
 import multitile.Action;
+import multitile.IdContext;
 
 public class ArchitectureManagement{
-  private static int processorIdCounter;
-  private static int memoryIdCounter;
-  private static int crossbarIdCounter;  
-  private static int tileIdCounter;
-  private static int nocIdCounter;  
-
-  static{
-    processorIdCounter = 0;
-    memoryIdCounter = -700;
-    crossbarIdCounter = -100;
-    tileIdCounter = 0;
-    nocIdCounter = -200;
-  }
-
   public static Architecture cloneArchitecture(Architecture arch) {
 	  Architecture clonedArchitecture = new Architecture(arch);
 	  return clonedArchitecture;
@@ -124,31 +111,32 @@ public class ArchitectureManagement{
   }
   
 
+  // the ids come from the id context of the calling thread
   public static void resetCounters(){
-    processorIdCounter = 0;
-    memoryIdCounter = -700;
-    crossbarIdCounter = -100;
-    tileIdCounter = 0;
-    nocIdCounter = -200;
+    IdContext.getCurrent().resetArchitectureCounters();
   }
 
   public static int getTileId(){
-    return tileIdCounter++;
+    return IdContext.getCurrent().getTileId();
   }
 
   public static int getProcessorId(){
-    return processorIdCounter++;
+    return IdContext.getCurrent().getProcessorId();
   }
 
   public static int getMemoryId(){
-    return memoryIdCounter++;
+    return IdContext.getCurrent().getMemoryId();
   }
 
   public static int getCrossbarId(){
-    return crossbarIdCounter++;
+    return IdContext.getCurrent().getCrossbarId();
   }
 
   public static int getNoCId(){
-    return nocIdCounter++;
+    return IdContext.getCurrent().getNoCId();
+  }
+
+  public static int getNoCLinkId(){
+    return IdContext.getCurrent().getNoCLinkId();
   }
 }
@@ -0,0 +1,143 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Schedule sink that writes the flushed schedule to a binary trace. The file starts
+     with the magic number and the version, then follows a sequence of records, each
+     one starting with its tag:
+       NAME:     int id, UTF name (resources and actors are referred by these ids)
+       ACTION:   int resource, int actor, int iteration, double start, double due
+       TRANSFER: int resource, int channel, int actor, byte type, double start, double due, int bytes
+       MEMORY:   int resource, double when, double bytes
+--------------------------------------------------------------------------
+*/
+package multitile.architecture;
+
+import multitile.Action;
+import multitile.Transfer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BinaryTraceSink implements ScheduleSink{
+  public static final int MAGIC = 0x4d545452;
+  public static final int VERSION = 1;
+
+  public static final byte NAME = 0;
+  public static final byte ACTION = 1;
+  public static final byte TRANSFER = 2;
+  public static final byte MEMORY = 3;
+
+  private DataOutputStream out;
+  private Map<String,Integer> names;
+
+  public BinaryTraceSink(String path) throws IOException{
+    this(new FileOutputStream(path));
+  }
+
+  public BinaryTraceSink(OutputStream stream) throws IOException{
+    this.out = new DataOutputStream(new BufferedOutputStream(stream));
+    this.names = new HashMap<>();
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+  }
+
+  public void recordAction(String resource, Action action){
+    try{
+      int resourceId = nameId(resource);
+      int actorId = nameId(action.getActor().getName());
+      out.writeByte(ACTION);
+      out.writeInt(resourceId);
+      out.writeInt(actorId);
+      out.writeInt(action.getIteration());
+      out.writeDouble(action.getStart_time());
+      out.writeDouble(action.getDue_time());
+    }catch(IOException e){
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public void recordTransfer(String resource, int channel, Transfer transfer){
+    try{
+      int resourceId = nameId(resource);
+      int actorId = nameId(transfer.getActor().getName());
+      out.writeByte(TRANSFER);
+      out.writeInt(resourceId);
+      out.writeInt(channel);
+      out.writeInt(actorId);
+      out.writeByte(transfer.getType().ordinal());
+      out.writeDouble(transfer.getStart_time());
+      out.writeDouble(transfer.getDue_time());
+      out.writeInt(transfer.getBytes());
+    }catch(IOException e){
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public void recordMemory(String resource, double when, double bytes){
+    try{
+      int resourceId = nameId(resource);
+      out.writeByte(MEMORY);
+      out.writeInt(resourceId);
+      out.writeDouble(when);
+      out.writeDouble(bytes);
+    }catch(IOException e){
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public void close(){
+    try{
+      out.close();
+    }catch(IOException e){
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // the first time a name appears, its id is written to the trace
+  private int nameId(String name) throws IOException{
+    Integer id = names.get(name);
+    if (id == null){
+      id = names.size();
+      names.put(name, id);
+      out.writeByte(NAME);
+      out.writeInt(id);
+      out.writeUTF(name);
+    }
+    return id;
+  }
+}
@@ -0,0 +1,165 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Selects the channel of a crossbar or a NoC where the next transfer is placed.
+     The free time and the number of transfers of each channel are kept in arrays,
+     and the channels in a min-heap ordered by the arbitration policy, so the
+     selection and the update after a transfer cost O(log channels).
+       - LEAST_LOADED: channel with the fewest transfers (default)
+       - EARLIEST_AVAILABLE: channel that becomes free first
+       - ROUND_ROBIN: channels are taken in turns
+--------------------------------------------------------------------------
+*/
+package multitile.architecture;
+
+public class ChannelArbiter{
+  private ARBITRATION_POLICY policy;
+  private int numberOfChannels;
+  private double[] timeEachChannel;
+  private int[] transfersEachChannel;
+  // heap of channels and the position of each channel in it
+  private int[] heap;
+  private int[] position;
+  private int lastChannel;
+
+  public static enum ARBITRATION_POLICY {
+    LEAST_LOADED,
+    EARLIEST_AVAILABLE,
+    ROUND_ROBIN
+  }
+
+  public ChannelArbiter(int numberOfChannels, ARBITRATION_POLICY policy){
+    assert numberOfChannels > 0;
+    this.numberOfChannels = numberOfChannels;
+    this.policy = policy;
+    this.timeEachChannel = new double[numberOfChannels];
+    this.transfersEachChannel = new int[numberOfChannels];
+    this.heap = new int[numberOfChannels];
+    this.position = new int[numberOfChannels];
+    this.reset();
+  }
+
+  public void reset(){
+    for(int i=0; i<numberOfChannels; i++){
+      timeEachChannel[i] = 0.0;
+      transfersEachChannel[i] = 0;
+      heap[i] = i;
+      position[i] = i;
+    }
+    lastChannel = numberOfChannels-1;
+  }
+
+  public ARBITRATION_POLICY getPolicy(){
+    return this.policy;
+  }
+
+  // changing the policy keeps the state of the channels
+  public void setPolicy(ARBITRATION_POLICY policy){
+    this.policy = policy;
+    for(int i=numberOfChannels/2-1; i>=0; i--)
+      siftDown(i);
+  }
+
+  public int getNumberOfChannels(){
+    return this.numberOfChannels;
+  }
+
+  public double getTimeChannel(int channel){
+    return this.timeEachChannel[channel];
+  }
+
+  public int getTransfersChannel(int channel){
+    return this.transfersEachChannel[channel];
+  }
+
+  // channel for the next transfer
+  public int getAvailableChannel(){
+    if (policy == ARBITRATION_POLICY.ROUND_ROBIN)
+      return (lastChannel+1) % numberOfChannels;
+    return heap[0];
+  }
+
+  // a transfer that ends at endTime has been placed in the channel
+  public void commit(int channel, double endTime){
+    timeEachChannel[channel] = endTime;
+    transfersEachChannel[channel]++;
+    lastChannel = channel;
+    siftUp(position[channel]);
+    siftDown(position[channel]);
+  }
+
+  // ties are broken by the lowest channel index
+  private boolean before(int c1, int c2){
+    if (policy == ARBITRATION_POLICY.EARLIEST_AVAILABLE){
+      if (timeEachChannel[c1] != timeEachChannel[c2])
+        return timeEachChannel[c1] < timeEachChannel[c2];
+    }else{
+      if (transfersEachChannel[c1] != transfersEachChannel[c2])
+        return transfersEachChannel[c1] < transfersEachChannel[c2];
+    }
+    return c1 < c2;
+  }
+
+  private void siftUp(int i){
+    while(i > 0){
+      int parent = (i-1)/2;
+      if (!before(heap[i], heap[parent]))
+        break;
+      swap(i, parent);
+      i = parent;
+    }
+  }
+
+  private void siftDown(int i){
+    while(true){
+      int smallest = i;
+      int l = 2*i+1;
+      int r = l+1;
+      if (l < numberOfChannels && before(heap[l], heap[smallest]))
+        smallest = l;
+      if (r < numberOfChannels && before(heap[r], heap[smallest]))
+        smallest = r;
+      if (smallest == i)
+        break;
+      swap(i, smallest);
+      i = smallest;
+    }
+  }
+
+  private void swap(int i, int j){
+    int c = heap[i];
+    heap[i] = heap[j];
+    heap[j] = c;
+    position[heap[i]] = i;
+    position[heap[j]] = j;
+  }
+}
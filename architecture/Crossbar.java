@@ -61,13 +61,17 @@ public class Crossbar{
   private List<LinkedList<Transfer>> scheduledActions;
   private Map<Actor,List<Transfer>> scheduledReadTransfers;
   private Map<Actor,List<Transfer>> scheduledWriteTransfers;
-  private List<Double> timeEachChannel;
+  private ChannelArbiter arbiter;
+  // busy time per channel of the transfers already flushed to a schedule sink
+  private double[] flushedBusyTime;
   private int numberofParallelChannels;
   private double bandwidth;  // each crossbar has a bandwidht in Gbps
   private double bandwidthPerChannel;
 
   private boolean scale = false;
   private double scaleFactor = 1;
+  // latency of the header of a transfer crossing the crossbar in cut-through mode
+  private double headerLatency = 0;
 
   // initializing empty crossbar
   public Crossbar() {
@@ -76,12 +80,10 @@ public class Crossbar{
     this.queueTransfers = new ArrayList<>();
     this.numberofParallelChannels = 1; // as a regular bus
     this.scheduledActions = new ArrayList<>();
-    this.timeEachChannel  = new ArrayList<>();
     LinkedList<Transfer> schedActions =  new LinkedList<Transfer>();
     this.scheduledReadTransfers = new HashMap<>();
     this.scheduledWriteTransfers = new HashMap<>();
     this.scheduledActions.add(schedActions);
-    this.timeEachChannel.add(0.0);
     this.setBandwidth(1,16);
   }
    // cloning crossbar
@@ -92,16 +94,16 @@ public class Crossbar{
     this.scheduledActions = new ArrayList<>(other.getScheduledActions());
     this.scheduledReadTransfers = new HashMap<>();
     this.scheduledWriteTransfers = new HashMap<>();
-    this.timeEachChannel  = new ArrayList<>();
     this.numberofParallelChannels = other.getNumberofParallelChannels();
     for(int i = 0; i<numberofParallelChannels;i++){
         LinkedList<Transfer> schedActions =  new LinkedList<Transfer>();
         this.scheduledActions.add(schedActions);
-        this.timeEachChannel.add(0.0);
     }
     this.setBandwidth(other.getNumberofParallelChannels(),other.getBandwidth());
+    this.setArbitrationPolicy(other.getArbitrationPolicy());
     this.setScale(other.isScale());
     this.setScaleFactor(other.getScaleFactor());
+    this.setHeaderLatency(other.getHeaderLatency());
   }
   // creating crossbar from given parameters
   public Crossbar(String name, double bandwidth, int numberofParallelChannels){
@@ -110,11 +112,9 @@ public class Crossbar{
     this.numberofParallelChannels = numberofParallelChannels;
     this.queueTransfers = new ArrayList<>();
     this.scheduledActions = new ArrayList<>();
-    this.timeEachChannel  = new ArrayList<>();
     for(int i = 0; i<numberofParallelChannels;i++){
       LinkedList<Transfer> schedActions =  new LinkedList<Transfer>();
       this.scheduledActions.add(schedActions);
-      this.timeEachChannel.add(0.0);
     }
     this.setBandwidth(numberofParallelChannels,bandwidth);
     this.scheduledReadTransfers = new HashMap<>();
@@ -125,7 +125,7 @@ public class Crossbar{
   public double calculateCrossbarOverallUtilization(double endTime){
     ArrayList<Double> utilization = new ArrayList<>();
     for(int i=0; i<this.numberofParallelChannels;i++){
-      utilization.add(0.0);
+      utilization.add(getFlushedBusyTime(i));
     }
     // now proceed to count the utilization of each channel
     for(int i=0; i<this.numberofParallelChannels;i++){
@@ -150,14 +150,35 @@ public class Crossbar{
   public void restartCrossbar(){
     this.queueTransfers.clear();
     this.scheduledActions.clear();
-    this.timeEachChannel.clear();
+    this.arbiter.reset();
     for(int i = 0; i<numberofParallelChannels;i++){
       LinkedList<Transfer> schedActions =  new LinkedList<Transfer>();
       this.scheduledActions.add(schedActions);
-      this.timeEachChannel.add(0.0);
     }
     this.scheduledReadTransfers.clear();
     this.scheduledWriteTransfers.clear();
+    this.flushedBusyTime = null;
+  }
+
+  public double getFlushedBusyTime(int channel){
+    if (flushedBusyTime == null || channel >= flushedBusyTime.length)
+      return 0.0;
+    return flushedBusyTime[channel];
+  }
+
+  // moves the transfers that finish before the horizon to the sink, the last transfer
+  // of each channel is kept because the channel continues from it
+  public void flushScheduledTransfers(double horizon, ScheduleSink sink){
+    for(int i=0; i<scheduledActions.size();i++){
+      LinkedList<Transfer> channel = scheduledActions.get(i);
+      while(channel.size() > 1 && channel.getFirst().getDue_time() <= horizon){
+        Transfer transfer = channel.removeFirst();
+        if (flushedBusyTime == null)
+          flushedBusyTime = new double[scheduledActions.size()];
+        flushedBusyTime[i] += transfer.getDue_time() - transfer.getStart_time();
+        sink.recordTransfer(this.getName(), i, transfer);
+      }
+    }
   }
 
   public int getId() {
@@ -214,6 +235,8 @@ public class Crossbar{
     this.bandwidth = bandwidth;
     this.numberofParallelChannels = numberOfParallelChannels;
     this.bandwidthPerChannel = bandwidth/(double)numberOfParallelChannels;
+    if (this.arbiter == null || this.arbiter.getNumberOfChannels() != numberOfParallelChannels)
+      this.arbiter = new ChannelArbiter(numberOfParallelChannels,getArbitrationPolicy());
   }
 
   public double calculateTransferTime(Transfer transfer){
@@ -296,15 +319,35 @@ public class Crossbar{
     }
   }
 
+  public double calculateScaledTransferTime(Transfer transfer){
+    double transferTime = this.calculateTransferTime(transfer);
+    if (this.isScale())
+      transferTime = Math.ceil(transferTime/this.getScaleFactor());
+    return transferTime;
+  }
+
+  // earliest time that a transfer ready at startTime gets a channel
+  public double getEarliestStartTime(double startTime){
+    return Math.max(startTime, this.arbiter.getTimeChannel(getAvailableChannel()));
+  }
+
+  // commits the transfer in the next channel during the given interval, used by cut-through transfers
+  public Transfer reserveTransferInCrossbar(Transfer t, double startTime, double endTime){
+    Transfer commitTransfer   = new Transfer(t);
+    int availChannelIndex     = getAvailableChannel();
+    assert this.arbiter.getTimeChannel(availChannelIndex) <= startTime : "Channel busy at "+startTime;
+    commitTransfer.setStart_time(startTime);
+    commitTransfer.setDue_time(endTime);
+    this.arbiter.commit(availChannelIndex,endTime);
+    scheduledActions.get(availChannelIndex).addLast(commitTransfer);
+    return commitTransfer;
+  }
+
   public Transfer putTransferInCrossbar(Transfer t){
     Transfer commitTransfer   = new Transfer(t);
     int availChannelIndex     = getAvailableChannel();
-    double timeLastAction     = this.timeEachChannel.get(availChannelIndex);
-    double transferTime       = this.calculateTransferTime(commitTransfer);
-    
-    if (this.isScale()) {
-    	transferTime = Math.ceil(transferTime/this.getScaleFactor());
-    }
+    double timeLastAction     = this.arbiter.getTimeChannel(availChannelIndex);
+    double transferTime       = this.calculateScaledTransferTime(commitTransfer);
     
     double startTime          = (commitTransfer.getStart_time() > timeLastAction) ? commitTransfer.getStart_time() : timeLastAction;
     double endTime            = startTime + transferTime;
@@ -313,7 +356,7 @@ public class Crossbar{
     commitTransfer.setStart_time(startTime);
     commitTransfer.setDue_time(endTime);
     // update the channel time 
-    this.timeEachChannel.set(availChannelIndex,endTime);
+    this.arbiter.commit(availChannelIndex,endTime);
     // commit transfer
     scheduledActions.get(availChannelIndex).addLast(commitTransfer);
     return commitTransfer;
@@ -327,7 +370,7 @@ public class Crossbar{
       Transfer commitTransfer = queueTransfers.remove(0);
       int availChannelIndex = getAvailableChannel();
       //System.out.println("avail index "+availChannelIndex);
-      double timeLastAction = this.timeEachChannel.get(availChannelIndex);
+      double timeLastAction = this.arbiter.getTimeChannel(availChannelIndex);
       double transferTime = this.calculateTransferTime(commitTransfer);
       double startTime = (commitTransfer.getStart_time() > timeLastAction) ? commitTransfer.getStart_time() : timeLastAction;
       double endTime  = startTime + transferTime;
@@ -346,7 +389,7 @@ public class Crossbar{
       commitTransfer.setStart_time(startTime);
       commitTransfer.setDue_time(endTime);
       // update the channel time 
-      this.timeEachChannel.set(availChannelIndex,endTime);
+      this.arbiter.commit(availChannelIndex,endTime);
       commitTransfer.setEndOverall(commitTransfer.getDue_time()); 
       // commit transfer
       scheduledActions.get(availChannelIndex).addLast(commitTransfer);
@@ -356,16 +399,15 @@ public class Crossbar{
   }
   
   public int getAvailableChannel(){
-    int availChannelIndex = 0;
-    int numberScheduledActions = Integer.MAX_VALUE;
-    for (int i=0; i<this.numberofParallelChannels;i++){
-      //System.out.println("SIZE CHANNEL:"+scheduledActions.get(i).size()+ " CROSSBAR "+this.getName());
-      if (scheduledActions.get(i).size() < numberScheduledActions){
-        availChannelIndex = i;
-        numberScheduledActions  = scheduledActions.get(i).size(); 
-      }
-    }
-    return availChannelIndex;
+    return this.arbiter.getAvailableChannel();
+  }
+
+  public ChannelArbiter.ARBITRATION_POLICY getArbitrationPolicy(){
+    return this.arbiter == null ? ChannelArbiter.ARBITRATION_POLICY.LEAST_LOADED : this.arbiter.getPolicy();
+  }
+
+  public void setArbitrationPolicy(ChannelArbiter.ARBITRATION_POLICY policy){
+    this.arbiter.setPolicy(policy);
   }
 
   // DUMPING the crossbar utilzation locally
@@ -416,5 +458,11 @@ public double getScaleFactor() {
 public void setScaleFactor(double scaleFactor) {
 	this.scaleFactor = scaleFactor;
 }
+public double getHeaderLatency() {
+	return headerLatency;
+}
+public void setHeaderLatency(double headerLatency) {
+	this.headerLatency = headerLatency;
+}
 
 }
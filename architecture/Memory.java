@@ -46,8 +46,6 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.TreeMap;
 import java.util.List;
 import java.util.Map;
 
@@ -55,7 +53,9 @@ public class Memory{
   private int id;
   private String name;
   private double capacity;
-  private Map<Double,Double> memoryUtilization = new TreeMap<Double, Double>();
+  private OccupancyTimeline memoryUtilization = new OccupancyTimeline();
+  // integral of the stored bytes over the time points already flushed to a schedule sink
+  private double flushedUtilization;
   private MEMORY_TYPE type;
   private Processor embeddedToProcessor;
   
@@ -153,13 +153,45 @@ public class Memory{
   public void resetMemoryUtilization() {
     // KEY is when and Value is the current utilization
     memoryUtilization.clear();
-    this.memoryUtilization.put(0.0, 0.0);
+    this.memoryUtilization.add(0.0, 0.0);
+    this.flushedUtilization = 0.0;
   }
 
+  // moves the time points before the horizon to the sink, the occupancy at the last
+  // point before the horizon is kept as the first point of the timeline
+  public void flushMemoryUtilization(double horizon, ScheduleSink sink){
+    double base = this.memoryUtilization.getFloorTime(horizon);
+    if (Double.isNaN(base) || base == this.memoryUtilization.getFirstTime())
+      return;
+    this.flushedUtilization = this.memoryUtilization.accumulateArea(this.flushedUtilization, base);
+    this.memoryUtilization.forEachPoint(base, (when, bytes) -> sink.recordMemory(this.getName(), when, bytes));
+    this.memoryUtilization.retainFrom(base);
+  }
+
+  // materialized copy of the timeline, changes are not reflected in the memory
   public Map<Double,Double> getMemoryUtilization() {
+    return this.memoryUtilization.toMap();
+  }
+
+  public OccupancyTimeline getOccupancyTimeline() {
     return this.memoryUtilization;
   }
 
+  // peak amount of bytes stored between t1 and t2
+  public double getPeakAmountofBytes(double t1, double t2) {
+    return this.memoryUtilization.getMaximum(t1, t2);
+  }
+
+  // first time the stored bytes exceed the capacity, NaN if the memory never overflows
+  public double getFirstOverflowTime() {
+    return this.memoryUtilization.getFirstTimeAbove(0.0, this.capacity);
+  }
+
+  // amount of bytes stored at when
+  public double getAmountofBytes(double when) {
+    return this.memoryUtilization.getValue(when);
+  }
+
   public Processor getEmbeddedToProcessor(){
     return this.embeddedToProcessor;
   }
@@ -170,14 +202,9 @@ public class Memory{
 
   // methods for memory managing
   public double getUtilization(double endTime){
-    List<Double> listKeys = new ArrayList<>(memoryUtilization.keySet());
-    Collections.sort(listKeys);
     double maxUtilization = endTime * capacity;
 
-    double util = 0;
-    for (int i=0;i<listKeys.size()-1;i++) {
-      util += (listKeys.get(i+1) - listKeys.get(i)) * memoryUtilization.get(listKeys.get(i));
-    }
+    double util = this.memoryUtilization.accumulateArea(flushedUtilization, this.memoryUtilization.getLastTime());
 //    System.out.println("maxUtilization "+maxUtilization);
 //    System.out.println("util "+util);
     return 1 - (maxUtilization - util)/maxUtilization;
@@ -193,67 +220,23 @@ public class Memory{
   }
 
   public void writeDataInMemory(int amountBytes, double when) {
-    List<Double> listKeys = new ArrayList<>(memoryUtilization.keySet());
-    double last_inserted_key = listKeys.get(listKeys.size()-1);
     // get current amount of bytes
-    double currentBytes = memoryUtilization.get(last_inserted_key);
-    //System.err.println("Last inserted key "+last_inserted_key);
+    double currentBytes = memoryUtilization.getLastValue();
     if (this.verboseDebug)
     	System.err.println("Writing memory "+this.getName()+ " storing "+currentBytes+" writing "+amountBytes+" at "+when);
     assert this.getCapacity() >= currentBytes+amountBytes;
-    if(last_inserted_key >= when){
-     double lastValidValue = 0;
-     //double whenlv =0.0;
-     for(Map.Entry<Double,Double> m : memoryUtilization.entrySet()){
-       if(m.getKey() <= when){
-        lastValidValue = m.getValue();
-        //whenlv = m.getKey();
-       }
-       else
-         break;
-     }
-     //System.out.println("lastValidValue "+lastValidValue+" at "+whenlv+" amount bytes "+amountBytes);
-     memoryUtilization.put(when,lastValidValue+amountBytes);
-     for(Map.Entry<Double,Double> m : memoryUtilization.entrySet()){
-       if(m.getKey() > when){
-          memoryUtilization.put(m.getKey(),(m.getValue()-lastValidValue)+amountBytes+lastValidValue);
-       }
-     } 
-    }else
-      //assert last_inserted_key <= when;
-      memoryUtilization.put(when, currentBytes+amountBytes);
+    // insertions in the past shift all the later time points in O(log n)
+    memoryUtilization.add(when, amountBytes);
   }
 
   public void readDataInMemory(double amountBytes, double when) {
-    List<Double> listKeys = new ArrayList<>(memoryUtilization.keySet());
-    double last_inserted_key = listKeys.get(listKeys.size()-1);
     // get current amount of bytes
-    double currentBytes = memoryUtilization.get(last_inserted_key);
+    double currentBytes = memoryUtilization.getLastValue();
     if (this.verboseDebug)
     	System.err.println("Reading memory "+this.getName()+ " storing "+currentBytes+" reading "+amountBytes+" at "+when);
     assert currentBytes-amountBytes >= 0;
-    if(last_inserted_key >= when){
-      double lastValidValue = 0.0;
-      for(Map.Entry<Double,Double> m : memoryUtilization.entrySet()){
-        if(m.getKey() <= when){
-          lastValidValue = m.getValue();
-        }else
-          break;
-      }
-      assert lastValidValue - amountBytes >= 0;
-      memoryUtilization.put(when,lastValidValue - amountBytes);
-      for(Map.Entry<Double,Double> m: memoryUtilization.entrySet()){
-        if(m.getKey() > when){
-          double newAmount = m.getValue() - amountBytes;
-          assert newAmount >= 0;
-          memoryUtilization.put(m.getKey(), newAmount  );
-        }
-      }
-    }else
-    // I can only insert events from the last insert element, no insertions in the past
-    //System.out.println("Last inserted key "+last_inserted_key);
-    //assert last_inserted_key <= when: "READING IN THE PAST";
-      memoryUtilization.put(when, currentBytes-amountBytes);
+    assert memoryUtilization.getLastTime() < when || memoryUtilization.getMinimum(when, memoryUtilization.getLastTime()) - amountBytes >= 0;
+    memoryUtilization.add(when, -amountBytes);
   }
 
   public boolean canRemoveDataFromMemory(int amountBytes){
@@ -264,10 +247,8 @@ public class Memory{
   }
 
   public boolean canPutDataInMemory(int amountBytes) {
-    List<Double> listKeys = new ArrayList<>(memoryUtilization.keySet());
-    double last_inserted_key = listKeys.get(listKeys.size()-1);
     // get current amount of bytes
-    double currentBytes = memoryUtilization.get(last_inserted_key);
+    double currentBytes = memoryUtilization.getLastValue();
     //System.err.println("Storing "+currentBytes+" amount bytes "+amountBytes);
     if (currentBytes + amountBytes <= this.getCapacity())
       return true;
@@ -275,10 +256,8 @@ public class Memory{
   }
 
   public double getCurrentAmountofBytes(){
-    List<Double> listKeys = new ArrayList<>(memoryUtilization.keySet());
-    double last_inserted_key = listKeys.get(listKeys.size()-1);
     // get current amount of bytes
-    return memoryUtilization.get(last_inserted_key);
+    return memoryUtilization.getLastValue();
   }
 
   // DUMPING the memory utilzation locally
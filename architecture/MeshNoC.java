@@ -0,0 +1,277 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     This class describes a 2D-mesh Network-on-Chip. Each tile is placed at the
+     router (x,y) of a grid of columns x rows routers, neighbor routers are joined
+     by one link per direction. Each router also has an injection and an ejection
+     link to the tile or global memory attached to it. Each link is a NoC with its
+     own bandwidth, channels and occupancy, so only the transfers that share a link
+     contend. Transfers enter through the injection link of the source router,
+     follow deterministic XY routing (first along x, then along y) and leave through
+     the ejection link of the destination router, so transfers between endpoints
+     of the same router also use the NoC.
+             - Parameters:
+     	- columns, rows: size of the mesh
+     	- linkBandwidth: bandwidth of each link
+     	- channelsPerLink: parallel transfers in each link
+--------------------------------------------------------------------------
+*/
+package multitile.architecture;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MeshNoC extends NoC{
+  private int columns;
+  private int rows;
+  // key is the tile id and value the router index y*columns+x
+  private Map<Integer,Integer> tileRouters;
+  // router where the global memory is attached
+  private int globalMemoryRouter;
+  // links of each router, the index is router*DIRECTIONS+direction, null at the borders
+  private NoC[] links;
+  private static final int DIRECTIONS = DIRECTION.values().length;
+  // key is the link id
+  private Map<Integer,NoC> linksById;
+
+  // INJECTION and EJECTION are the links between the router and its tile or global memory
+  public static enum DIRECTION {
+    EAST,
+    WEST,
+    NORTH,
+    SOUTH,
+    INJECTION,
+    EJECTION
+  }
+
+  public MeshNoC(String name, int columns, int rows, double linkBandwidth, int channelsPerLink){
+    super(ArchitectureManagement.getNoCId(), name, linkBandwidth, channelsPerLink);
+    assert columns > 0 && rows > 0;
+    this.columns = columns;
+    this.rows = rows;
+    this.tileRouters = new HashMap<>();
+    this.globalMemoryRouter = 0;
+    this.links = new NoC[DIRECTIONS*columns*rows];
+    this.linksById = new HashMap<>();
+    for(int y=0; y<rows; y++){
+      for(int x=0; x<columns; x++){
+        for(DIRECTION d : DIRECTION.values()){
+          int nx = x + dx(d);
+          int ny = y + dy(d);
+          if (nx < 0 || nx >= columns || ny < 0 || ny >= rows)
+            continue;
+          NoC link = new NoC(ArchitectureManagement.getNoCLinkId(), name+"_"+x+"_"+y+"_"+d, linkBandwidth, channelsPerLink);
+          links[getRouter(x,y)*DIRECTIONS+d.ordinal()] = link;
+          linksById.put(link.getId(), link);
+        }
+      }
+    }
+  }
+
+  public MeshNoC(MeshNoC other){
+    super(other);
+    this.columns = other.getColumns();
+    this.rows = other.getRows();
+    this.tileRouters = new HashMap<>(other.tileRouters);
+    this.globalMemoryRouter = other.getGlobalMemoryRouter();
+    this.links = new NoC[other.links.length];
+    this.linksById = new HashMap<>();
+    for(int i=0; i<links.length; i++){
+      if (other.links[i] == null)
+        continue;
+      links[i] = new NoC(other.links[i]);
+      linksById.put(links[i].getId(), links[i]);
+    }
+  }
+
+  private static int dx(DIRECTION d){
+    if (d == DIRECTION.EAST)
+      return 1;
+    if (d == DIRECTION.WEST)
+      return -1;
+    return 0;
+  }
+
+  private static int dy(DIRECTION d){
+    if (d == DIRECTION.NORTH)
+      return 1;
+    if (d == DIRECTION.SOUTH)
+      return -1;
+    return 0;
+  }
+
+  public int getColumns(){
+    return this.columns;
+  }
+
+  public int getRows(){
+    return this.rows;
+  }
+
+  public int getRouter(int x, int y){
+    assert x >= 0 && x < columns && y >= 0 && y < rows : "Router ("+x+","+y+") out of the mesh";
+    return y*columns + x;
+  }
+
+  public void placeTile(Tile tile, int x, int y){
+    tileRouters.put(tile.getId(), getRouter(x,y));
+  }
+
+  // router of a tile, the global memory is addressed with null
+  public int getRouter(Tile tile){
+    if (tile == null)
+      return globalMemoryRouter;
+    assert tileRouters.containsKey(tile.getId()) : "Tile "+tile.getName()+" is not placed in the mesh";
+    return tileRouters.get(tile.getId());
+  }
+
+  public int getGlobalMemoryRouter(){
+    return this.globalMemoryRouter;
+  }
+
+  public void setGlobalMemoryRouter(int x, int y){
+    this.globalMemoryRouter = getRouter(x,y);
+  }
+
+  public NoC getLink(int router, DIRECTION direction){
+    return links[router*DIRECTIONS+direction.ordinal()];
+  }
+
+  public List<NoC> getLinks(){
+    List<NoC> allLinks = new ArrayList<>();
+    for(NoC link : links){
+      if (link != null)
+        allLinks.add(link);
+    }
+    return allLinks;
+  }
+
+  // returns the link with the given id or null
+  public NoC isLink(int resourceId){
+    return linksById.get(resourceId);
+  }
+
+  // links traversed from source to destination, null is the global memory
+  public List<NoC> getRoute(Tile source, Tile destination){
+    return getRoute(getRouter(source), getRouter(destination));
+  }
+
+  public List<NoC> getRoute(int sourceRouter, int destinationRouter){
+    List<NoC> route = new ArrayList<>();
+    route.add(getLink(sourceRouter,DIRECTION.INJECTION));
+    int x = sourceRouter % columns;
+    int y = sourceRouter / columns;
+    int dstX = destinationRouter % columns;
+    int dstY = destinationRouter / columns;
+    while(x != dstX){
+      DIRECTION d = (dstX > x) ? DIRECTION.EAST : DIRECTION.WEST;
+      route.add(getLink(getRouter(x,y),d));
+      x += dx(d);
+    }
+    while(y != dstY){
+      DIRECTION d = (dstY > y) ? DIRECTION.NORTH : DIRECTION.SOUTH;
+      route.add(getLink(getRouter(x,y),d));
+      y += dy(d);
+    }
+    route.add(getLink(destinationRouter,DIRECTION.EJECTION));
+    return route;
+  }
+
+  // links between routers in the route
+  public int getHops(Tile source, Tile destination){
+    int s = getRouter(source);
+    int d = getRouter(destination);
+    return Math.abs(s % columns - d % columns) + Math.abs(s / columns - d / columns);
+  }
+
+  @Override
+  public void restartNoC(){
+    super.restartNoC();
+    for(NoC link : links){
+      if (link != null)
+        link.restartNoC();
+    }
+  }
+
+  @Override
+  public void flushScheduledTransfers(double horizon, ScheduleSink sink){
+    super.flushScheduledTransfers(horizon, sink);
+    for(NoC link : links){
+      if (link != null)
+        link.flushScheduledTransfers(horizon, sink);
+    }
+  }
+
+  @Override
+  public void setArbitrationPolicy(ChannelArbiter.ARBITRATION_POLICY policy){
+    super.setArbitrationPolicy(policy);
+    if (links == null)
+      return;
+    for(NoC link : links){
+      if (link != null)
+        link.setArbitrationPolicy(policy);
+    }
+  }
+
+  @Override
+  public void setHeaderLatency(double headerLatency){
+    super.setHeaderLatency(headerLatency);
+    if (links == null)
+      return;
+    for(NoC link : links){
+      if (link != null)
+        link.setHeaderLatency(headerLatency);
+    }
+  }
+
+  // average utilization of the links
+  @Override
+  public double calculateNoCOverallUtilization(double endTime){
+    List<NoC> allLinks = getLinks();
+    if (allLinks.size() == 0)
+      return 0.0;
+    double utilization = 0.0;
+    for(NoC link : allLinks)
+      utilization += link.calculateNoCOverallUtilization(endTime);
+    return utilization/allLinks.size();
+  }
+
+  @Override
+  public void saveNoCUtilizationStats(FileWriter myWriter) throws IOException{
+    for(NoC link : getLinks())
+      link.saveNoCUtilizationStats(myWriter);
+  }
+}
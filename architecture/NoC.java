@@ -56,13 +56,17 @@ public class NoC{
   private String name;
   private List<LinkedList<Transfer>> channels;
   private List<Transfer> queueTransfers;
-  private List<Double> timeEachChannel;
+  private ChannelArbiter arbiter;
+  // busy time per channel of the transfers already flushed to a schedule sink
+  private double[] flushedBusyTime;
   private int numberofParallelChannels=4;
   private double bandwidth;  
   private double bandwidthPerChannel;
   
   private boolean scale = false;
   private double scaleFactor = 1;
+  // latency of the header of a transfer crossing the NoC (or the link) in cut-through mode
+  private double headerLatency = 0;
   
   public NoC(){
     this.id = ArchitectureManagement.getNoCId();
@@ -71,13 +75,24 @@ public class NoC{
     this.numberofParallelChannels = 4; // 4 as default
     this.setBandwidth(4,10);
 
-    this.timeEachChannel  = new ArrayList<>();
     this.channels = new ArrayList<>();
  
     for(int i=0;i<numberofParallelChannels;i++){
       LinkedList<Transfer> schedActions =  new LinkedList<Transfer>();
       this.channels.add(schedActions);
-      this.timeEachChannel.add(0.0);
+    }
+  }
+
+  // a NoC or a link of a mesh NoC with the given id
+  public NoC(int id, String name, double bandwidth, int numberofParallelChannels){
+    this.id = id;
+    this.name = name;
+    this.queueTransfers = new ArrayList<>();
+    this.setBandwidth(numberofParallelChannels,bandwidth);
+    this.channels = new ArrayList<>();
+    for(int i=0;i<numberofParallelChannels;i++){
+      LinkedList<Transfer> schedActions =  new LinkedList<Transfer>();
+      this.channels.add(schedActions);
     }
   }
 
@@ -88,31 +103,52 @@ public class NoC{
     this.queueTransfers = new ArrayList<>(); 
     this.numberofParallelChannels = other.getNumberOfParallelChannels();
     this.setBandwidth(other.getNumberOfParallelChannels(),other.getBandwidth());
-    this.timeEachChannel = new ArrayList<Double>();
+    this.setArbitrationPolicy(other.getArbitrationPolicy());
     for(int i = 0; i<numberofParallelChannels;i++){
         LinkedList<Transfer> schedActions =  new LinkedList<Transfer>();
         this.channels.add(schedActions);
-        this.timeEachChannel.add(0.0);
     }
     this.setScale(other.isScale());
     this.setScaleFactor(other.getScaleFactor());
+    this.setHeaderLatency(other.getHeaderLatency());
   }
 
   public void restartNoC(){
     this.channels.clear();
     this.queueTransfers.clear();
-    this.timeEachChannel.clear(); 
+    this.arbiter.reset();
     for(int i = 0; i<numberofParallelChannels;i++){
       LinkedList<Transfer> schedActions =  new LinkedList<Transfer>();
       this.channels.add(schedActions);
-      this.timeEachChannel.add(0.0);
+    }
+    this.flushedBusyTime = null;
+  }
+
+  public double getFlushedBusyTime(int channel){
+    if (flushedBusyTime == null || channel >= flushedBusyTime.length)
+      return 0.0;
+    return flushedBusyTime[channel];
+  }
+
+  // moves the transfers that finish before the horizon to the sink, the last transfer
+  // of each channel is kept because the channel continues from it
+  public void flushScheduledTransfers(double horizon, ScheduleSink sink){
+    for(int i=0; i<channels.size();i++){
+      LinkedList<Transfer> channel = channels.get(i);
+      while(channel.size() > 1 && channel.getFirst().getDue_time() <= horizon){
+        Transfer transfer = channel.removeFirst();
+        if (flushedBusyTime == null)
+          flushedBusyTime = new double[channels.size()];
+        flushedBusyTime[i] += transfer.getDue_time() - transfer.getStart_time();
+        sink.recordTransfer(this.getName(), i, transfer);
+      }
     }
   }
 
   public double calculateNoCOverallUtilization(double endTime){
     ArrayList<Double> utilization = new ArrayList<>();
     for(int i=0; i<this.numberofParallelChannels;i++){
-      utilization.add(0.0);
+      utilization.add(getFlushedBusyTime(i));
     }
     // now proceed to count the utilization of each channel
     for(int i=0; i<this.numberofParallelChannels;i++){
@@ -147,7 +183,10 @@ public class NoC{
   }
 
   public List<Double> getTimeEachChannel(){
-    return this.timeEachChannel;  
+    List<Double> timeEachChannel = new ArrayList<>();
+    for(int i=0;i<arbiter.getNumberOfChannels();i++)
+      timeEachChannel.add(arbiter.getTimeChannel(i));
+    return timeEachChannel;  
   }
 
   public List<LinkedList<Transfer>> getScheduledTransfersChannels(){
@@ -182,6 +221,8 @@ public class NoC{
     this.bandwidth = BW;
     this.numberofParallelChannels = numberofParallelChannels;
     this.bandwidthPerChannel = BW/(double)numberofParallelChannels;
+    if (this.arbiter == null || this.arbiter.getNumberOfChannels() != numberofParallelChannels)
+      this.arbiter = new ChannelArbiter(numberofParallelChannels,getArbitrationPolicy());
   } 
 
   // methods for managing the NoC
@@ -233,37 +274,57 @@ public class NoC{
   }
 
  // functions to manage the crossbar
+  public double calculateScaledTransferTime(Transfer transfer){
+    double transferTime = this.calculateTransferTime(transfer);
+    if (this.isScale())
+      transferTime = Math.ceil(transferTime/this.getScaleFactor());
+    return transferTime;
+  }
+
+  // earliest time that a transfer ready at startTime gets a channel
+  public double getEarliestStartTime(double startTime){
+    return Math.max(startTime, this.arbiter.getTimeChannel(getAvailableChannel()));
+  }
+
+  // commits the transfer in the next channel during the given interval, used by cut-through transfers
+  public Transfer reserveTransferInNoC(Transfer t, double startTime, double endTime){
+    Transfer commitTransfer = new Transfer(t);
+    int availChannelIndex = getAvailableChannel();
+    assert this.arbiter.getTimeChannel(availChannelIndex) <= startTime : "Channel busy at "+startTime;
+    commitTransfer.setStart_time(startTime);
+    commitTransfer.setDue_time(endTime);
+    this.arbiter.commit(availChannelIndex,endTime);
+    channels.get(availChannelIndex).addLast(commitTransfer);
+    return commitTransfer;
+  }
+
   public Transfer putTransferInNoC(Transfer t){
     Transfer commitTransfer = new Transfer(t);
     int availChannelIndex = getAvailableChannel();  
-    double timeLastAction = this.timeEachChannel.get(availChannelIndex);
-    double transferTime = this.calculateTransferTime(commitTransfer);
-    
-    if (this.isScale()) {
-    	transferTime = Math.ceil(transferTime/this.getScaleFactor());
-    }
+    double timeLastAction = this.arbiter.getTimeChannel(availChannelIndex);
+    double transferTime = this.calculateScaledTransferTime(commitTransfer);
     
     double startTime = (commitTransfer.getStart_time() > timeLastAction) ? commitTransfer.getStart_time() : timeLastAction;
     double endTime  = startTime + transferTime;
     commitTransfer.setStart_time(startTime);
     commitTransfer.setDue_time(endTime);
     // update the channel time
-    this.timeEachChannel.set(availChannelIndex,endTime);
+    this.arbiter.commit(availChannelIndex,endTime);
     // commit transfer in NoC
     channels.get(availChannelIndex).addLast(commitTransfer);
     return commitTransfer; 
    }
   
   public int getAvailableChannel(){
-    int availChannelIndex = 0;
-    int numberScheduledActions = Integer.MAX_VALUE;
-    for (int i=0; i<this.numberofParallelChannels;i++){
-      if (channels.get(i).size() < numberScheduledActions){
-        availChannelIndex = i;
-        numberScheduledActions  = channels.get(i).size(); 
-      }
-    }
-    return availChannelIndex;
+    return this.arbiter.getAvailableChannel();
+  }
+
+  public ChannelArbiter.ARBITRATION_POLICY getArbitrationPolicy(){
+    return this.arbiter == null ? ChannelArbiter.ARBITRATION_POLICY.LEAST_LOADED : this.arbiter.getPolicy();
+  }
+
+  public void setArbitrationPolicy(ChannelArbiter.ARBITRATION_POLICY policy){
+    this.arbiter.setPolicy(policy);
   }
   
   public double calculateTransferTime(Transfer transfer){
@@ -296,5 +357,13 @@ public void setScaleFactor(double scaleFactor) {
 	this.scaleFactor = scaleFactor;
 }
 
+public double getHeaderLatency() {
+	return headerLatency;
+}
+
+public void setHeaderLatency(double headerLatency) {
+	this.headerLatency = headerLatency;
+}
+
 }
 
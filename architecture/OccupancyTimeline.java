@@ -0,0 +1,394 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Occupancy of a memory (or tokens of a FIFO) over time. Each event adds or removes bytes at a time
+     point, the occupancy at time t is the sum of the events up to t. The points are
+     kept in a treap with the sum and the maximum and minimum prefix of each subtree,
+     so inserting an event (also in the past) and asking for the peak occupancy in
+     an interval cost O(log n).
+--------------------------------------------------------------------------
+*/
+package multitile.architecture;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class OccupancyTimeline{
+  // nodes of the treap, -1 is the empty subtree
+  private double[] time;
+  private double[] delta;
+  private int[] priority;
+  private int[] left;
+  private int[] right;
+  // aggregates of each subtree
+  private double[] sum;
+  private double[] maxPrefix;
+  private double[] minPrefix;
+  private double[] first;
+  private double[] last;
+  private int[] count;
+  private int root;
+  // nodes in the arrays, the dropped subtrees are reused before new nodes are taken
+  private int allocated;
+  private int[] droppedSubtrees;
+  private int nDroppedSubtrees;
+  private Random random;
+  // results of split
+  private int splitLeft;
+  private int splitRight;
+
+  // receives the time points of the timeline in order of time
+  public interface PointVisitor{
+    void visit(double time, double value);
+  }
+
+  public OccupancyTimeline(){
+    time = new double[16];
+    delta = new double[16];
+    priority = new int[16];
+    left = new int[16];
+    right = new int[16];
+    sum = new double[16];
+    maxPrefix = new double[16];
+    minPrefix = new double[16];
+    first = new double[16];
+    last = new double[16];
+    count = new int[16];
+    droppedSubtrees = new int[16];
+    random = new Random(0);
+    clear();
+  }
+
+  public void clear(){
+    root = -1;
+    allocated = 0;
+    nDroppedSubtrees = 0;
+  }
+
+  public boolean isEmpty(){
+    return root == -1;
+  }
+
+  // number of time points
+  public int size(){
+    return root == -1 ? 0 : count[root];
+  }
+
+  // adds bytes (or removes them if amount is negative) from time on
+  public void add(double when, double amount){
+    root = insert(root, when, amount);
+  }
+
+  // occupancy after all the events
+  public double getLastValue(){
+    return root == -1 ? 0 : sum[root];
+  }
+
+  public double getLastTime(){
+    assert root != -1;
+    return last[root];
+  }
+
+  public double getFirstTime(){
+    assert root != -1;
+    return first[root];
+  }
+
+  // greatest time point at or before when, NaN if there is none
+  public double getFloorTime(double when){
+    double floor = Double.NaN;
+    int n = root;
+    while(n != -1){
+      if (time[n] <= when){
+        floor = time[n];
+        n = right[n];
+      }else
+        n = left[n];
+    }
+    return floor;
+  }
+
+  // occupancy at when, including the events at when
+  public double getValue(double when){
+    double value = 0;
+    int n = root;
+    while(n != -1){
+      if (time[n] <= when){
+        value += sumOf(left[n]) + delta[n];
+        n = right[n];
+      }else
+        n = left[n];
+    }
+    return value;
+  }
+
+  // greatest occupancy over all the time points
+  public double getMaximum(){
+    return root == -1 ? 0 : maxPrefix[root];
+  }
+
+  // smallest occupancy over all the time points
+  public double getMinimum(){
+    return root == -1 ? 0 : minPrefix[root];
+  }
+
+  // greatest occupancy between from and to
+  public double getMaximum(double from, double to){
+    return Math.max(getValue(from), queryMax(root, from, to, 0));
+  }
+
+  // smallest occupancy between from and to
+  public double getMinimum(double from, double to){
+    return Math.min(getValue(from), queryMin(root, from, to, 0));
+  }
+
+  // first time after from where the occupancy is above limit, NaN if there is none
+  public double getFirstTimeAbove(double from, double limit){
+    if (getValue(from) > limit)
+      return from;
+    return findAbove(root, from, limit, 0);
+  }
+
+  // drops the time points before from, the occupancy at from is kept as its first point.
+  // The treap is split at from, the nodes of the dropped part are reused by later insertions
+  public void retainFrom(double from){
+    split(root, from);
+    int dropped = splitLeft;
+    root = insert(splitRight, from, sumOf(dropped));
+    drop(dropped);
+  }
+
+  // visits the time points before to with the occupancy from each one
+  public void forEachPoint(double to, PointVisitor visitor){
+    visit(root, to, 0, visitor);
+  }
+
+  // adds to area the occupancy integrated between the first time point and to, to must not be
+  // before the first time point
+  public double accumulateArea(double area, double to){
+    double[] previous = {Double.NaN, 0};
+    double[] result = {area};
+    forEachPoint(to, (when, value) -> {
+      if (!Double.isNaN(previous[0]))
+        result[0] += (when - previous[0]) * previous[1];
+      previous[0] = when;
+      previous[1] = value;
+    });
+    if (!Double.isNaN(previous[0]))
+      result[0] += (to - previous[0]) * previous[1];
+    return result[0];
+  }
+
+  // key -> time point
+  // value -> occupancy from that time point
+  public Map<Double,Double> toMap(){
+    TreeMap<Double,Double> points = new TreeMap<>();
+    forEachPoint(Double.POSITIVE_INFINITY, points::put);
+    return points;
+  }
+
+  // offset is the occupancy before the first time point of the subtree
+  private double visit(int n, double to, double offset, PointVisitor visitor){
+    if (n == -1)
+      return offset;
+    double value = visit(left[n], to, offset, visitor) + delta[n];
+    if (time[n] >= to)
+      return value;
+    visitor.visit(time[n], value);
+    return visit(right[n], to, value, visitor);
+  }
+
+  // splits the subtree n in the time points before when, splitLeft, and the others, splitRight
+  private void split(int n, double when){
+    if (n == -1){
+      splitLeft = -1;
+      splitRight = -1;
+      return;
+    }
+    if (time[n] < when){
+      split(right[n], when);
+      right[n] = splitLeft;
+      update(n);
+      splitLeft = n;
+    }else{
+      split(left[n], when);
+      left[n] = splitRight;
+      update(n);
+      splitRight = n;
+    }
+  }
+
+  private int insert(int n, double when, double amount){
+    if (n == -1)
+      return newNode(when, amount);
+    if (when == time[n]){
+      delta[n] += amount;
+    }else if (when < time[n]){
+      // the arrays may grow in insert, so the child is stored afterwards
+      int child = insert(left[n], when, amount);
+      left[n] = child;
+      if (priority[left[n]] > priority[n])
+        n = rotateRight(n);
+    }else{
+      int child = insert(right[n], when, amount);
+      right[n] = child;
+      if (priority[right[n]] > priority[n])
+        n = rotateLeft(n);
+    }
+    update(n);
+    return n;
+  }
+
+  private int newNode(double when, double amount){
+    int n;
+    if (nDroppedSubtrees > 0){
+      // the children of a reused node are dropped subtrees too
+      n = droppedSubtrees[--nDroppedSubtrees];
+      drop(left[n]);
+      drop(right[n]);
+    }else{
+      if (allocated == time.length)
+        grow(2 * allocated);
+      n = allocated++;
+    }
+    time[n] = when;
+    delta[n] = amount;
+    priority[n] = random.nextInt();
+    left[n] = -1;
+    right[n] = -1;
+    update(n);
+    return n;
+  }
+
+  private void grow(int capacity){
+    time = Arrays.copyOf(time, capacity);
+    delta = Arrays.copyOf(delta, capacity);
+    priority = Arrays.copyOf(priority, capacity);
+    left = Arrays.copyOf(left, capacity);
+    right = Arrays.copyOf(right, capacity);
+    sum = Arrays.copyOf(sum, capacity);
+    maxPrefix = Arrays.copyOf(maxPrefix, capacity);
+    minPrefix = Arrays.copyOf(minPrefix, capacity);
+    first = Arrays.copyOf(first, capacity);
+    last = Arrays.copyOf(last, capacity);
+    count = Arrays.copyOf(count, capacity);
+  }
+
+  // the nodes of a dropped subtree are taken one by one when new nodes are needed
+  private void drop(int n){
+    if (n == -1)
+      return;
+    if (nDroppedSubtrees == droppedSubtrees.length)
+      droppedSubtrees = Arrays.copyOf(droppedSubtrees, 2 * nDroppedSubtrees);
+    droppedSubtrees[nDroppedSubtrees++] = n;
+  }
+
+  private int rotateRight(int n){
+    int l = left[n];
+    left[n] = right[l];
+    right[l] = n;
+    update(n);
+    return l;
+  }
+
+  private int rotateLeft(int n){
+    int r = right[n];
+    right[n] = left[r];
+    left[r] = n;
+    update(n);
+    return r;
+  }
+
+  private double sumOf(int n){
+    return n == -1 ? 0 : sum[n];
+  }
+
+  private void update(int n){
+    int l = left[n];
+    int r = right[n];
+    double atNode = sumOf(l) + delta[n];
+    sum[n] = atNode + sumOf(r);
+    maxPrefix[n] = atNode;
+    minPrefix[n] = atNode;
+    if (l != -1){
+      maxPrefix[n] = Math.max(maxPrefix[n], maxPrefix[l]);
+      minPrefix[n] = Math.min(minPrefix[n], minPrefix[l]);
+    }
+    if (r != -1){
+      maxPrefix[n] = Math.max(maxPrefix[n], atNode + maxPrefix[r]);
+      minPrefix[n] = Math.min(minPrefix[n], atNode + minPrefix[r]);
+    }
+    first[n] = l == -1 ? time[n] : first[l];
+    last[n] = r == -1 ? time[n] : last[r];
+    count[n] = 1 + (l == -1 ? 0 : count[l]) + (r == -1 ? 0 : count[r]);
+  }
+
+  // offset is the occupancy before the first time point of the subtree
+  private double queryMax(int n, double from, double to, double offset){
+    if (n == -1 || last[n] < from || first[n] > to)
+      return Double.NEGATIVE_INFINITY;
+    if (from <= first[n] && last[n] <= to)
+      return offset + maxPrefix[n];
+    double result = queryMax(left[n], from, to, offset);
+    double atNode = offset + sumOf(left[n]) + delta[n];
+    if (from <= time[n] && time[n] <= to)
+      result = Math.max(result, atNode);
+    return Math.max(result, queryMax(right[n], from, to, atNode));
+  }
+
+  private double queryMin(int n, double from, double to, double offset){
+    if (n == -1 || last[n] < from || first[n] > to)
+      return Double.POSITIVE_INFINITY;
+    if (from <= first[n] && last[n] <= to)
+      return offset + minPrefix[n];
+    double result = queryMin(left[n], from, to, offset);
+    double atNode = offset + sumOf(left[n]) + delta[n];
+    if (from <= time[n] && time[n] <= to)
+      result = Math.min(result, atNode);
+    return Math.min(result, queryMin(right[n], from, to, atNode));
+  }
+
+  // the leftmost time point at or after from whose occupancy is above limit
+  private double findAbove(int n, double from, double limit, double offset){
+    if (n == -1 || last[n] < from || offset + maxPrefix[n] <= limit)
+      return Double.NaN;
+    double found = findAbove(left[n], from, limit, offset);
+    if (!Double.isNaN(found))
+      return found;
+    double atNode = offset + sumOf(left[n]) + delta[n];
+    if (time[n] >= from && atNode > limit)
+      return time[n];
+    return findAbove(right[n], from, limit, atNode);
+  }
+}
@@ -72,7 +72,7 @@ public class Processor {
   }
 
   public double calculateOverallProcessorUtilization(double endTime){
-    double processorUtilization = 0.0;
+    double processorUtilization = this.scheduler.getFlushedBusyTime();
     for(Action action : this.scheduler.getScheduledActions()){
       processorUtilization += action.getDue_time() - action.getStart_time(); 
     }
@@ -83,6 +83,8 @@ public class Scheduler{
 
   private double lastEventinProcessor;
   private double lastReadToken;
+  // busy time of the actions already flushed to a schedule sink
+  private double flushedBusyTime;
 
   private int numberIterations;
   private int runIterations;
@@ -112,6 +114,7 @@ public class Scheduler{
     this.lastEventinProcessor = 0.0;
     this.runIterations = 0;
     this.lastReadToken = 0.0;
+    this.flushedBusyTime = 0.0;
     this.readTransfersToMemory.clear();
     this.writeTransfersToMemory.clear();
     this.transfersToMemory.clear();
@@ -166,6 +169,20 @@ public class Scheduler{
     return this.scheduledActions;
   }
 
+  public double getFlushedBusyTime(){
+    return this.flushedBusyTime;
+  }
+
+  // moves the actions that finish before the horizon to the sink, the last action is
+  // always kept because the scheduler continues from it
+  public void flushScheduledActions(double horizon, ScheduleSink sink){
+    while(scheduledActions.size() > 1 && scheduledActions.getFirst().getDue_time() <= horizon){
+      Action action = scheduledActions.removeFirst();
+      flushedBusyTime += action.getDue_time() - action.getStart_time();
+      sink.recordAction(this.getName(), action);
+    }
+  }
+
   public void setQueueActions(Queue<Action> queueActions) {
     this.queueActions = queueActions;
   }
@@ -0,0 +1,116 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Schedule sink that only keeps rolling aggregates per resource: the busy time and
+     number of actions or transfers, the last due time, and for memories the integral
+     and the peak of the stored bytes.
+--------------------------------------------------------------------------
+*/
+package multitile.architecture;
+
+import multitile.Action;
+import multitile.Transfer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class UtilizationSink implements ScheduleSink{
+  // key -> resource name
+  private Map<String,Double> busyTime;
+  private Map<String,Integer> count;
+  private Map<String,Double> lastDueTime;
+  // memory name -> {time of the last point, bytes of the last point, integral, peak}
+  private Map<String,double[]> memories;
+
+  public UtilizationSink(){
+    this.busyTime = new HashMap<>();
+    this.count = new HashMap<>();
+    this.lastDueTime = new HashMap<>();
+    this.memories = new HashMap<>();
+  }
+
+  public void recordAction(String resource, Action action){
+    record(resource,action.getStart_time(),action.getDue_time());
+  }
+
+  public void recordTransfer(String resource, int channel, Transfer transfer){
+    record(resource,transfer.getStart_time(),transfer.getDue_time());
+  }
+
+  private void record(String resource, double start, double due){
+    busyTime.merge(resource, due - start, Double::sum);
+    count.merge(resource, 1, Integer::sum);
+    lastDueTime.merge(resource, due, Math::max);
+  }
+
+  public void recordMemory(String resource, double when, double bytes){
+    double[] memory = memories.get(resource);
+    if (memory == null){
+      memories.put(resource, new double[]{when, bytes, 0, bytes});
+      return;
+    }
+    memory[2] += (when - memory[0]) * memory[1];
+    memory[0] = when;
+    memory[1] = bytes;
+    memory[3] = Math.max(memory[3], bytes);
+  }
+
+  public void close(){
+  }
+
+  public double getBusyTime(String resource){
+    return busyTime.getOrDefault(resource, 0.0);
+  }
+
+  public int getCount(String resource){
+    return count.getOrDefault(resource, 0);
+  }
+
+  public double getLastDueTime(String resource){
+    return lastDueTime.getOrDefault(resource, 0.0);
+  }
+
+  public double getUtilization(String resource, double endTime){
+    return getBusyTime(resource)/endTime;
+  }
+
+  // integral of the stored bytes up to the last recorded point
+  public double getMemoryIntegral(String resource){
+    double[] memory = memories.get(resource);
+    return memory == null ? 0 : memory[2];
+  }
+
+  public double getPeakAmountofBytes(String resource){
+    double[] memory = memories.get(resource);
+    return memory == null ? 0 : memory[3];
+  }
+}
@@ -47,12 +47,18 @@ import multitile.architecture.ArchitectureManagement;
 import multitile.architecture.LocalMemory;
 import multitile.architecture.Memory;
 import multitile.architecture.TileLocalMemory;
+import multitile.architecture.Crossbar;
+import multitile.architecture.MeshNoC;
+import multitile.architecture.NoC;
 import multitile.mapping.Binding;
 import multitile.mapping.Bindings;
 import multitile.application.Application;
 import multitile.application.ApplicationManagement;
+import multitile.application.CommunicationTask;
 import multitile.application.CompositeFifo;
 import multitile.application.Fifo;
+import multitile.application.Actor;
+import multitile.application.Actor.ACTOR_TYPE;
 
 import java.util.*;
 
@@ -65,12 +71,45 @@ public class BaseScheduler{
   public Architecture architecture;
   public Application application;
   public Queue<Action> queueActions;
+  private TRANSFER_TIMING transferTiming = TRANSFER_TIMING.HOP_BY_HOP;
+  private RouteCache routeCache = new RouteCache();
+  // if true, the readers of an MRB bound to the same tile share the traversal of the tokens over the NoC
+  private boolean multicastTransfers = false;
+  private MulticastTraversals multicastTraversals = new MulticastTraversals();
+
+  // HOP_BY_HOP: each pass of a transfer is scheduled in its interconnect after the previous one
+  // CUT_THROUGH: all the passes are reserved at once, the latency is the one of the slowest
+  //              pass plus the header latency of each pass
+  public static enum TRANSFER_TIMING {
+    HOP_BY_HOP,
+    CUT_THROUGH
+  }
 
   public BaseScheduler(){
     this.queueActions = new LinkedList<>();
     this.scheduledStepActions = new HashMap<>();
   }
 
+  public TRANSFER_TIMING getTransferTiming(){
+    return this.transferTiming;
+  }
+
+  public void setTransferTiming(TRANSFER_TIMING transferTiming){
+    this.transferTiming = transferTiming;
+  }
+
+  public boolean isMulticastTransfers(){
+    return this.multicastTransfers;
+  }
+
+  public void setMulticastTransfers(boolean multicastTransfers){
+    this.multicastTransfers = multicastTransfers;
+  }
+
+  public void resetMulticastTransfers(){
+    this.multicastTraversals.reset();
+  }
+
   public HashMap<Integer,List<Action>> getScheduledStepActions(){
     return this.scheduledStepActions;
   }
@@ -93,6 +132,11 @@ public class BaseScheduler{
 
   public void setArchitecture(Architecture architecture){
     this.architecture = architecture; //new Architecture(architecture);
+    this.routeCache.invalidate();
+  }
+
+  public RouteCache getRouteCache(){
+    return this.routeCache;
   }
   
   public Architecture getArchitecture(){
@@ -111,7 +155,7 @@ public class BaseScheduler{
     Transfer schedTransfer = null;
     if (routing.getType() == PassTransferOverArchitecture.PASS_TYPE.NOC)
       // schedule transfer in the NoC
-      schedTransfer = architecture.getNoC().putTransferInNoC(t);
+      schedTransfer = routing.getNoC().putTransferInNoC(t);
     else if(routing.getType() == PassTransferOverArchitecture.PASS_TYPE.CROSSBAR)
       // schedule transfer in the crossbar
       schedTransfer = architecture.getCrossbar(routing.getCrossbar().getId()).putTransferInCrossbar(t);
@@ -119,6 +163,178 @@ public class BaseScheduler{
     return schedTransfer;
   }
 
+  // schedules all the passes of a transfer concurrently, returns null if no interconnect is used
+  public Transfer scheduleCutThroughTransfer(Transfer transfer, PassTransferOverArchitecture[] routings, boolean withNoC){
+    List<PassTransferOverArchitecture> passes = new ArrayList<>();
+    for(PassTransferOverArchitecture routing : routings){
+      if (routing.getType() != PassTransferOverArchitecture.PASS_TYPE.SCRATCHPAD)
+        passes.add(routing);
+    }
+    if (passes.size() == 0)
+      return null;
+    Transfer temporalTransfer = new Transfer(transfer);
+    if (withNoC)
+      temporalTransfer.setTransferWithNoC(architecture.getNoC());
+    double startTime = temporalTransfer.getStart_time();
+    double bottleneck = 0;
+    double headers = 0;
+    for(PassTransferOverArchitecture routing : passes){
+      if (routing.getType() == PassTransferOverArchitecture.PASS_TYPE.NOC){
+        NoC noc = routing.getNoC();
+        startTime = noc.getEarliestStartTime(startTime);
+        bottleneck = Math.max(bottleneck, noc.calculateScaledTransferTime(temporalTransfer));
+        headers += noc.getHeaderLatency();
+      }else{
+        Crossbar crossbar = architecture.getCrossbar(routing.getCrossbar().getId());
+        startTime = crossbar.getEarliestStartTime(startTime);
+        bottleneck = Math.max(bottleneck, crossbar.calculateScaledTransferTime(temporalTransfer));
+        headers += crossbar.getHeaderLatency();
+      }
+    }
+    double endTime = startTime + bottleneck + headers;
+    Transfer scheduledTransfer = null;
+    for(PassTransferOverArchitecture routing : passes){
+      if (routing.getType() == PassTransferOverArchitecture.PASS_TYPE.NOC)
+        scheduledTransfer = routing.getNoC().reserveTransferInNoC(temporalTransfer, startTime, endTime);
+      else
+        scheduledTransfer = architecture.getCrossbar(routing.getCrossbar().getId()).reserveTransferInCrossbar(temporalTransfer, startTime, endTime);
+    }
+    return scheduledTransfer;
+  }
+
+  // schedules the passes of a transfer one after the other, each pass starts with the previous one or,
+  // if afterPreviousPass, when the previous one finishes. Returns null if no interconnect is used
+  public Transfer schedulePassesOfTransfer(Transfer transfer, PassTransferOverArchitecture[] routings, boolean withNoC, boolean afterPreviousPass){
+    if (transferTiming == TRANSFER_TIMING.CUT_THROUGH)
+      return scheduleCutThroughTransfer(transfer, routings, withNoC);
+    Transfer scheduledTransfer = null;
+    Transfer temporalTransfer = new Transfer(transfer);
+    for(PassTransferOverArchitecture routing : routings){
+      if (withNoC)
+        temporalTransfer.setTransferWithNoC(architecture.getNoC());
+      scheduledTransfer = schedulePassOfTransfer(temporalTransfer,routing);
+      temporalTransfer = new Transfer(scheduledTransfer);
+      temporalTransfer.setStart_time(afterPreviousPass ? scheduledTransfer.getDue_time() : scheduledTransfer.getStart_time());
+    }
+    return scheduledTransfer;
+  }
+
+  // a read of an MRB that crosses the NoC, the last pass is the crossbar of the tile of the reader
+  public boolean isMulticastRead(Transfer transfer, PassTransferOverArchitecture[] routings){
+    if (transfer.getType() != Transfer.TRANSFER_TYPE.READ || !transfer.getFifo().isCompositeChannel() || routings.length < 2)
+      return false;
+    for(PassTransferOverArchitecture routing : routings)
+      if (routing.getType() == PassTransferOverArchitecture.PASS_TYPE.NOC)
+        return true;
+    return false;
+  }
+
+  // the first reader of a token in a tile transfers it over the NoC, the readers of the same tile
+  // only copy it over the crossbar of the tile once it arrived
+  public Transfer scheduleMulticastRead(Transfer transfer, PassTransferOverArchitecture[] routings, Bindings bindings, boolean withNoC, boolean afterPreviousPass){
+    int mrbId = transfer.getFifo().getId();
+    int tileId = bindings.getActorTileBindings().get(transfer.getActor().getId()).getTarget().getId();
+    int token = multicastTraversals.nextRead(mrbId, transfer.getActor().getId());
+    PassTransferOverArchitecture[] fanOut = { routings[routings.length-1] };
+    Transfer traversal = multicastTraversals.takeTraversal(mrbId, tileId, token);
+    Transfer temporalTransfer;
+    if (traversal == null){
+      traversal = schedulePassesOfTransfer(transfer, Arrays.copyOfRange(routings, 0, routings.length-1), withNoC, afterPreviousPass);
+      multicastTraversals.addTraversal(mrbId, tileId, token, traversal, countReadersInTile((CompositeFifo)transfer.getFifo(), tileId, bindings));
+      temporalTransfer = new Transfer(traversal);
+    }else{
+      temporalTransfer = new Transfer(transfer);
+      withNoC = false;
+    }
+    double arrival = afterPreviousPass ? traversal.getDue_time() : traversal.getStart_time();
+    temporalTransfer.setStart_time(Math.max(transfer.getStart_time(), arrival));
+    return schedulePassesOfTransfer(temporalTransfer, fanOut, withNoC, afterPreviousPass);
+  }
+
+  // number of readers of the MRB bound to the tile
+  private int countReadersInTile(CompositeFifo mrb, int tileId, Bindings bindings){
+    int readers = 0;
+    for(int actorId : mrb.getReaders().keySet())
+      if (bindings.getActorTileBindings().get(actorId).getTarget().getId() == tileId)
+        readers++;
+    return readers;
+  }
+
+  // readers of the same MRB bound to the same remote tile share the traversal of the tokens over the NoC: only the
+  // first read task of each tile uses the whole route, the others use the crossbar of the tile during the same time.
+  // The other read tasks are followers of the first one, the heuristics order them after it as the simulation
+  // (scheduleMulticastRead) orders each copy after the traversal of its token
+  public void setMulticastInterconnects(Collection<CommunicationTask> tasks, Bindings bindings, double scaleFactor){
+    setMulticastInterconnects(tasks, bindings, scaleFactor, (o1,o2)->Integer.compare(o1.getId(), o2.getId()));
+  }
+
+  // the first read task of each tile in the given order is the one that transfers the tokens over the NoC
+  public void setMulticastInterconnects(Collection<CommunicationTask> tasks, Bindings bindings, double scaleFactor, Comparator<CommunicationTask> order){
+    List<CommunicationTask> reads = new ArrayList<>();
+    for(CommunicationTask c : tasks)
+      if (c.getType() == ACTOR_TYPE.READ_COMMUNICATION_TASK)
+        reads.add(c);
+    reads.sort(order);
+    // key is the mrb id, value is a map with key the tile id and the first read task of the tile
+    Map<Integer,Map<Integer,CommunicationTask>> leaders = new HashMap<>();
+    for(CommunicationTask c : reads){
+      c.setMulticastLeader(null);
+      PassTransferOverArchitecture[] routings = c.getUsedInterconnects().toArray(new PassTransferOverArchitecture[0]);
+      if (!isMulticastRead(c.getTransfer(), routings))
+        continue;
+      int tileId = bindings.getActorTileBindings().get(c.getTransfer().getActor().getId()).getTarget().getId();
+      Map<Integer,CommunicationTask> leadersMRB = leaders.computeIfAbsent(c.getTransfer().getFifo().getId(), k -> new HashMap<>());
+      CommunicationTask leader = leadersMRB.get(tileId);
+      if (leader == null){
+        leadersMRB.put(tileId, c);
+        continue;
+      }
+      Queue<PassTransferOverArchitecture> fanOut = new LinkedList<>();
+      fanOut.add(routings[routings.length-1]);
+      c.setUsedInterconnects(fanOut);
+      c.setRuntimeFromInterconnects(scaleFactor);
+      c.setRuntime(leader.getRuntime());
+      c.setDiscretizedRuntime(leader.getDiscretizedRuntime());
+      c.setMulticastLeader(leader);
+    }
+  }
+
+  // key is the id of the read task that transfers the tokens of an MRB over the NoC, value are the read tasks that
+  // copy them in the same tile once they arrived. Empty if the multicast transfers are disabled
+  public Map<Integer,List<CommunicationTask>> getMulticastFollowers(Collection<? extends Actor> tasks){
+    Map<Integer,List<CommunicationTask>> followers = new HashMap<>();
+    if (!multicastTransfers)
+      return followers;
+    for(Actor a : tasks){
+      if (a.getType() != ACTOR_TYPE.READ_COMMUNICATION_TASK)
+        continue;
+      CommunicationTask leader = ((CommunicationTask)a).getMulticastLeader();
+      if (leader != null)
+        followers.computeIfAbsent(leader.getId(), k -> new ArrayList<>()).add((CommunicationTask)a);
+    }
+    return followers;
+  }
+
+  // adds the NoC between two tiles, null is the global memory. In a mesh NoC one pass per traversed link
+  private void addPassesOverNoC(Queue<PassTransferOverArchitecture> sequence, Tile source, Tile destination){
+    NoC noc = architecture.getNoC();
+    if (noc instanceof MeshNoC){
+      for(NoC link : ((MeshNoC)noc).getRoute(source, destination))
+        sequence.add(new PassTransferOverArchitecture(link));
+    }else
+      sequence.add(new PassTransferOverArchitecture(noc));
+  }
+
+  // returns the passes of the transfer from the route cache, the returned array is shared and must not be modified
+  public PassTransferOverArchitecture[] getRouteOfTransfer(Transfer transfer,Bindings bindings){
+    PassTransferOverArchitecture[] route = routeCache.getRoute(transfer, bindings);
+    if (route == null){
+      route = calculatePathOfTransfer(transfer, bindings).toArray(new PassTransferOverArchitecture[0]);
+      routeCache.putRoute(transfer, bindings, route);
+    }
+    return route;
+  }
+
   public Queue<PassTransferOverArchitecture> calculatePathOfTransfer(Transfer transfer,Bindings bindings){
     // this function returns a list of interconnect sequences
     Queue<PassTransferOverArchitecture> sequence = new LinkedList<>();
@@ -133,7 +349,7 @@ public class BaseScheduler{
       switch(source.getType()){
         case GLOBAL_MEM:
           // this is the easiest case, the sequence es GlobalMemory -> NoC -> Tile local crossbar -> processor
-          sequence.add(new PassTransferOverArchitecture(architecture.getNoC()));
+          addPassesOverNoC(sequence, null, destinationTile);
           PassTransferOverArchitecture crossbarOverNoC = new PassTransferOverArchitecture(destinationTile.getCrossbar());
           crossbarOverNoC.setNoC(architecture.getNoC());
           sequence.add( crossbarOverNoC );
@@ -148,7 +364,7 @@ public class BaseScheduler{
           }else{
           // if source and destination are not in the same tile
           // TILE_LOCAL_MEM_T1 -> CROSSBAR T1 -> NoC -> CROSSBAR T2 -> processor
-        	sequence.add(new PassTransferOverArchitecture(architecture.getNoC()));
+        	addPassesOverNoC(sequence, sourceTile, destinationTile);
         	PassTransferOverArchitecture srcCrossbarOverNoC = new PassTransferOverArchitecture(sourceTile.getCrossbar());
             PassTransferOverArchitecture dstDrossbarOverNoC = new PassTransferOverArchitecture(destinationTile.getCrossbar());
             srcCrossbarOverNoC.setNoC(architecture.getNoC());
@@ -167,7 +383,7 @@ public class BaseScheduler{
             sequence.add(new PassTransferOverArchitecture(destinationTile.getCrossbar()));
           }else if(!localMemOwner.equals(destination) && !destinationTile.equals(tileSource)){
             // the sequence must be MEM_SOURCE -> CROSSBAR_SOURCE -> NoC -> CROSSBAR_DEST -> processor
-        	sequence.add(new PassTransferOverArchitecture(architecture.getNoC()));
+        	addPassesOverNoC(sequence, tileSource, destinationTile);
         	PassTransferOverArchitecture srcCrossbarOverNoC = new PassTransferOverArchitecture(tileSource.getCrossbar());
             PassTransferOverArchitecture dstDrossbarOverNoC = new PassTransferOverArchitecture(destinationTile.getCrossbar());
             srcCrossbarOverNoC.setNoC(architecture.getNoC());
@@ -193,7 +409,7 @@ public class BaseScheduler{
       switch(destination.getType()){
         case GLOBAL_MEM:
           // SOURCE_CROSSBAR -> Noc -> GLOBAL MEMORY
-          sequence.add(new PassTransferOverArchitecture(architecture.getNoC()) );
+          addPassesOverNoC(sequence, sourceTile, null);
           PassTransferOverArchitecture crossbarOverNoC = new PassTransferOverArchitecture(sourceTile.getCrossbar());
           crossbarOverNoC.setNoC(architecture.getNoC());
           sequence.add( crossbarOverNoC );
@@ -208,7 +424,7 @@ public class BaseScheduler{
           }else{
             // if source and destination are not in the same tile
             // processor -> CROSSBAR SOURCE -> NoC -> CROSSBAR DESTINATION -> TILE_LOCAL_MEM
-        	sequence.add(new PassTransferOverArchitecture(architecture.getNoC()));
+        	addPassesOverNoC(sequence, sourceTile, destinationTile);
         	PassTransferOverArchitecture srcCrossbarOverNoC = new PassTransferOverArchitecture(sourceTile.getCrossbar());
             PassTransferOverArchitecture dstDrossbarOverNoC = new PassTransferOverArchitecture(destinationTile.getCrossbar());
             srcCrossbarOverNoC.setNoC(architecture.getNoC());
@@ -227,7 +443,7 @@ public class BaseScheduler{
             sequence.add(new PassTransferOverArchitecture(destinationTile.getCrossbar()));
           }else if(!localMemOwner.equals(source) && !destinationTile.equals(sourceTile)){
             // the sequence must be MEM_SOURCE -> CROSSBAR_SOURCE -> NoC -> CROSSBAR_DEST -> processor
-        	sequence.add(new PassTransferOverArchitecture(architecture.getNoC()));
+        	addPassesOverNoC(sequence, sourceTile, destinationTile);
         	PassTransferOverArchitecture srcCrossbarOverNoC = new PassTransferOverArchitecture(sourceTile.getCrossbar());
             PassTransferOverArchitecture dstDrossbarOverNoC = new PassTransferOverArchitecture(destinationTile.getCrossbar());
             srcCrossbarOverNoC.setNoC(architecture.getNoC());
@@ -404,20 +620,14 @@ public class BaseScheduler{
 	    //    other example es when the transfer source is a local memory of other processor placed in a different tile
 	    //    Processor1 -> Tile local Crossbar of Processor 1 -> NoC -> TileLocal Crossbar of Processor 2 -> Processor 2  
 	    for(Transfer transfer : transfers){
-	  	  Queue<PassTransferOverArchitecture> routings = calculatePathOfTransfer(transfer,bindings);
-	  	  int routingsLength = routings.size();
+	  	  PassTransferOverArchitecture[] routings = getRouteOfTransfer(transfer,bindings);
 	  	  Transfer scheduledTransfer = null;
-	  	  Transfer temporalTransfer = new Transfer(transfer);
 	  	  
-	  	  for(int m=0; m<routingsLength;m++){
-	  		  if (routingsLength > 1)
-	  			  temporalTransfer.setTransferWithNoC(architecture.getNoC());
-	  		  // proceed to schedule the routing passes
-	  		  PassTransferOverArchitecture routing = routings.remove();
-	  		  scheduledTransfer = schedulePassOfTransfer(temporalTransfer,routing);
-	  		  temporalTransfer = new Transfer(scheduledTransfer);
-	  		  temporalTransfer.setStart_time(scheduledTransfer.getStart_time());
-	  	  }
+	  	  // proceed to schedule the routing passes
+	  	  if (multicastTransfers && isMulticastRead(transfer,routings))
+	  		  scheduledTransfer = scheduleMulticastRead(transfer,routings,bindings,routings.length > 1,false);
+	  	  else
+	  		  scheduledTransfer = schedulePassesOfTransfer(transfer,routings,routings.length > 1,false);
 
 	  	  if(scheduledTransfer == null){
 	  		  // if we reach this part, means that the transfer does not cost and is a writing to processor local memory
@@ -0,0 +1,199 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Resources bound to each actor and communication task for a given Bindings.
+     The heuristic modulo schedulers compute it once per Bindings and share it
+     among all the probed periods, it can be reused for other bindings with the same routing.
+--------------------------------------------------------------------------
+*/
+package multitile.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import multitile.application.CommunicationTask;
+import multitile.architecture.Crossbar;
+import multitile.architecture.NoC;
+import multitile.architecture.Processor;
+import multitile.mapping.Binding;
+import multitile.mapping.Bindings;
+
+public class BindingResources {
+	// key: id of the actor or the communication task
+	private HashMap<Integer,int[]> resources;
+	// same resources as lists, as used by the utilization table
+	private HashMap<Integer,ArrayList<Integer>> resourceLists;
+	private HashMap<Integer,Integer> discreteRuntimes;
+	// key: id of the actor in the schedule
+	// value: id of the actor in the bindings
+	private HashMap<Integer,Integer> boundActors;
+	private HashMap<Integer,CommunicationTask> communicationTasks;
+	// reads and writes of each actor, sorted by the priority of the interconnects
+	private HashMap<Integer,CommunicationTask[]> reads;
+	private HashMap<Integer,CommunicationTask[]> writes;
+	// intervals that must be free to start each actor with its reads and writes
+	private HashMap<Integer,ArrayList<ArrayList<Integer>>> groupResources;
+	private HashMap<Integer,int[]> groupOffsets;
+	private HashMap<Integer,int[]> groupLengths;
+	
+	public BindingResources() {
+		resources = new HashMap<>();
+		resourceLists = new HashMap<>();
+		discreteRuntimes = new HashMap<>();
+		boundActors = new HashMap<>();
+		communicationTasks = new HashMap<>();
+		reads = new HashMap<>();
+		writes = new HashMap<>();
+		groupResources = new HashMap<>();
+		groupOffsets = new HashMap<>();
+		groupLengths = new HashMap<>();
+	}
+	
+	// actor whose binding is found in the bindings with the id boundActorId
+	public void addActor(int actorId, int boundActorId, int discreteRuntime, ArrayList<Integer> boundResources) {
+		addTask(actorId, discreteRuntime, boundResources);
+		boundActors.put(actorId, boundActorId);
+	}
+	
+	public void addCommunicationTask(CommunicationTask c, ArrayList<Integer> boundResources) {
+		addTask(c.getId(), c.getDiscretizedRuntime(), boundResources);
+		communicationTasks.put(c.getId(), c);
+	}
+	
+	// tasks that are neither bound to a core nor to an interconnect
+	public void addTask(int taskId, int discreteRuntime, ArrayList<Integer> boundResources) {
+		int[] ids = new int[boundResources.size()];
+		for(int i = 0; i < ids.length; i++)
+			ids[i] = boundResources.get(i);
+		resources.put(taskId, ids);
+		resourceLists.put(taskId, new ArrayList<>(boundResources));
+		discreteRuntimes.put(taskId, discreteRuntime);
+	}
+	
+	// the reads and writes must be already sorted and added to this
+	public void setCommunications(int actorId, ArrayList<CommunicationTask> actorReads, ArrayList<CommunicationTask> actorWrites) {
+		reads.put(actorId, actorReads.toArray(new CommunicationTask[0]));
+		writes.put(actorId, actorWrites.toArray(new CommunicationTask[0]));
+		// the whole execution on the core, then each read and write at its offset on its interconnects,
+		// the actor runs between the reads and the writes
+		int n = actorReads.size() + actorWrites.size();
+		ArrayList<ArrayList<Integer>> group = new ArrayList<>();
+		int[] offsets = new int[n+1];
+		int[] lengths = new int[n+1];
+		group.add(resourceLists.get(actorId));
+		int offset = 0;
+		for(int j = 0; j < n; j++) {
+			if (j == actorReads.size())
+				offset += discreteRuntimes.get(actorId);
+			CommunicationTask c = j < actorReads.size() ? actorReads.get(j) : actorWrites.get(j - actorReads.size());
+			group.add(resourceLists.get(c.getId()));
+			offsets[j+1] = offset;
+			lengths[j+1] = discreteRuntimes.get(c.getId());
+			offset += lengths[j+1];
+			lengths[0] += lengths[j+1];
+		}
+		lengths[0] += discreteRuntimes.get(actorId);
+		groupResources.put(actorId, group);
+		groupOffsets.put(actorId, offsets);
+		groupLengths.put(actorId, lengths);
+	}
+	
+	// true if the actors are bound to the same cores with the same runtimes and
+	// the communication tasks are routed over the same interconnects
+	public boolean sharesRouting(Bindings bindings, Collection<CommunicationTask> tasks) {
+		for(Map.Entry<Integer,Integer> a : boundActors.entrySet()) {
+			Binding<Processor> binding = bindings.getActorProcessorBindings().get(a.getValue());
+			if (binding == null || binding.getTarget().getId() != resources.get(a.getKey())[0])
+				return false;
+			if ((int)binding.getProperties().get("discrete-runtime") != discreteRuntimes.get(a.getKey()))
+				return false;
+		}
+		if (tasks.size() != communicationTasks.size())
+			return false;
+		for(CommunicationTask c : tasks) {
+			if (communicationTasks.get(c.getId()) != c || c.getDiscretizedRuntime() != discreteRuntimes.get(c.getId()))
+				return false;
+			int[] ids = resources.get(c.getId());
+			int i = 0;
+			for(NoC noc : c.getUsedNoCs())
+				if (i >= ids.length || ids[i++] != noc.getId())
+					return false;
+			for(Crossbar crossbar : c.getUsedCrossbars())
+				if (i >= ids.length || ids[i++] != crossbar.getId())
+					return false;
+			if (c.getUsedLocalMemory() != null && (i >= ids.length || ids[i++] != c.getUsedLocalMemory().getId()))
+				return false;
+			// the last resource is the core triggering the transfer, already checked with the actors
+			if (i != ids.length - 1)
+				return false;
+		}
+		return true;
+	}
+	
+	public boolean contains(int taskId) {
+		return resources.containsKey(taskId);
+	}
+	
+	public int[] getResources(int taskId) {
+		return resources.get(taskId);
+	}
+	
+	public ArrayList<Integer> getResourceList(int taskId) {
+		return resourceLists.get(taskId);
+	}
+	
+	public int getDiscreteRuntime(int taskId) {
+		return discreteRuntimes.get(taskId);
+	}
+	
+	public CommunicationTask[] getReads(int actorId) {
+		return reads.get(actorId);
+	}
+	
+	public CommunicationTask[] getWrites(int actorId) {
+		return writes.get(actorId);
+	}
+	
+	public ArrayList<ArrayList<Integer>> getGroupResources(int actorId) {
+		return groupResources.get(actorId);
+	}
+	
+	public int[] getGroupOffsets(int actorId) {
+		return groupOffsets.get(actorId);
+	}
+	
+	public int[] getGroupLengths(int actorId) {
+		return groupLengths.get(actorId);
+	}
+}
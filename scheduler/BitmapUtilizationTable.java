@@ -0,0 +1,121 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Modulo reservation table whose intersection, fit and wrap-around checks
+     are word-parallel operations over the occupation bitmaps (long[]) kept
+     by UtilizationTable for each resource, the lists of time slots are only
+     kept for printing and for exporting the kernel to csv files.
+--------------------------------------------------------------------------
+*/
+package multitile.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.ListIterator;
+
+public class BitmapUtilizationTable extends UtilizationTable {
+	
+	public BitmapUtilizationTable(HashMap<Integer,Integer> countCoresPerType, int P) {
+		super(countCoresPerType, P);
+	}
+	
+	@Override
+	boolean canInsertInCore(int coreType, int core, TimeSlot t) {
+		int r = getResourceIndex(coreType, core);
+		int P = getPeriod();
+		
+		if (countSlots[r] == 0 && t.getLength() <= P)
+			return true;
+		
+		if(!(t.getStartTime() >= 0 && t.getEndTime() <= P))
+			return false;
+		
+		return canInsertInResource(r, t.getStartTime(), t.getEndTime());
+	}
+	
+	boolean canInsertInResource(int r, int startTime, int endTime) {
+		if (startTime == endTime) {
+			// a slot of length zero only collides with a slot that strictly contains it
+			if (startTime == 0)
+				return true;
+			return !(isSet(busy[r], startTime - 1) && isSet(busy[r], startTime) && !isSet(starts[r], startTime));
+		}
+		// the occupied steps must not intersect and no slot of length zero can lie strictly inside
+		return !anySet(busy[r], startTime, endTime) && !anySet(points[r], startTime + 1, endTime);
+	}
+	
+	@Override
+	protected void addTimeSlot(int coreType, int core, TimeSlot t) {
+		// keep the list sorted while inserting, it is only used for printing and exporting
+		LinkedList<TimeSlot> timeSlots = getUtilizationTable().get(coreType).get(core);
+		ListIterator<TimeSlot> it = timeSlots.listIterator(timeSlots.size());
+		while(it.hasPrevious()) {
+			TimeSlot prev = it.previous();
+			if (prev.getStartTime() < t.getStartTime() || (prev.getStartTime() == t.getStartTime() && prev.getLength() <= t.getLength())) {
+				it.next();
+				break;
+			}
+		}
+		it.add(t);
+	}
+	
+	// same check as canInsertIntervalUtilizationTable, without creating time slots
+	@Override
+	boolean canInsertInResources(ArrayList<Integer> resourceTypes, int startTime, int length) {
+		int P = getPeriod();
+		if (length > P)
+			return false;
+		startTime = startTime % P;
+		int endTime = (startTime + length) % P;
+		if (endTime == 0)
+			endTime = P;
+		boolean single = endTime > startTime || length == 0;
+		for(int t = 0; t < resourceTypes.size(); t++) {
+			for(int r : getResourcesOfType(resourceTypes.get(t))) {
+				if (countSlots[r] == 0)
+					continue;
+				if (single) {
+					if (!canInsertInResource(r, startTime, endTime))
+						return false;
+				}else if (!canInsertInResource(r, startTime, P) || !canInsertInResource(r, 0, endTime))
+					return false;
+			}
+		}
+		return true;
+	}
+	
+	@Override
+	protected LinkedList<TimeSlot> getSortedTimeSlots(int coreType, int core){
+		return getUtilizationTable().get(coreType).get(core);
+	}
+}
@@ -0,0 +1,86 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Overflow of a memory found by the MemoryCapacityChecker: the first time the
+     memory stores more bytes than its capacity and the FIFOs that do not fit.
+--------------------------------------------------------------------------
+*/
+package multitile.scheduler;
+
+import java.util.List;
+
+import multitile.application.Fifo;
+import multitile.architecture.Memory;
+
+public class CapacityViolation{
+	private Memory memory;
+	private double time;
+	private double occupancy;
+	private List<Fifo> fifos;
+
+	public CapacityViolation(Memory memory, double time, double occupancy, List<Fifo> fifos) {
+		this.memory = memory;
+		this.time = time;
+		this.occupancy = occupancy;
+		this.fifos = fifos;
+	}
+
+	public Memory getMemory() {
+		return memory;
+	}
+
+	// first time the capacity is exceeded
+	public double getTime() {
+		return time;
+	}
+
+	// bytes stored at that time
+	public double getOccupancy() {
+		return occupancy;
+	}
+
+	// the fifos that must leave the memory to fit in it at that time
+	public List<Fifo> getFifos() {
+		return fifos;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder fifoNames = new StringBuilder();
+		for(Fifo f : fifos) {
+			if (fifoNames.length() > 0)
+				fifoNames.append(", ");
+			fifoNames.append(f.getName());
+		}
+		return "Memory "+memory.getName()+" stores "+occupancy+" of "+memory.getCapacity()+" at "+time+" due to ["+fifoNames+"]";
+	}
+}
@@ -0,0 +1,294 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Evaluation of candidate decisions of a design space exploration on a ForkJoinPool.
+     Each candidate is built into its own application, architecture and bindings by the
+     model builder, in a fresh id context, so the evaluations are isolated and run in
+     parallel. Each one runs the constrained heuristic modulo scheduler and the FIFO
+     capacity analysis, and its period, latency, memory footprint and processor
+     utilization are collected into a table of results, in the order of the candidates.
+--------------------------------------------------------------------------
+*/
+package multitile.scheduler;
+
+import multitile.IdContext;
+import multitile.application.Application;
+import multitile.application.ApplicationManagement;
+import multitile.architecture.Architecture;
+import multitile.architecture.Tile;
+import multitile.mapping.Bindings;
+import multitile.scheduler.UtilizationTable.TimeSlot;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class DesignSpaceExploration<D> {
+	
+	public interface ModelBuilder<D> {
+		// builds the model of the decision, e.g., binding the actors to processors and the fifos
+		// with ApplicationManagement.setFifosToDecision. The ids of the model are allocated in
+		// the id context of the evaluation
+		Model build(D decision);
+	}
+	
+	public static enum CAPACITY_ANALYSIS {
+		UNROLLED,
+		STEADY_STATE
+	}
+	
+	public static class Model {
+		private Architecture architecture;
+		private Application application;
+		private Bindings bindings;
+		private ArrayList<String> coreTypes;
+		private double scaleFactor;
+		
+		public Model(Architecture architecture, Application application, Bindings bindings, ArrayList<String> coreTypes, double scaleFactor) {
+			this.architecture = architecture;
+			this.application = application;
+			this.bindings = bindings;
+			this.coreTypes = coreTypes;
+			this.scaleFactor = scaleFactor;
+		}
+		
+		public Architecture getArchitecture() {
+			return architecture;
+		}
+		
+		public Application getApplication() {
+			return application;
+		}
+		
+		public Bindings getBindings() {
+			return bindings;
+		}
+		
+		public ArrayList<String> getCoreTypes() {
+			return coreTypes;
+		}
+		
+		public double getScaleFactor() {
+			return scaleFactor;
+		}
+	}
+	
+	public static class Result<D> {
+		private int index;
+		private D decision;
+		private int period;
+		private int latency;
+		private double memoryFootprint;
+		private double utilization;
+		// message of the error if the evaluation failed, null otherwise
+		private String error;
+		
+		public int getIndex() {
+			return index;
+		}
+		
+		public D getDecision() {
+			return decision;
+		}
+		
+		public int getPeriod() {
+			return period;
+		}
+		
+		public int getLatency() {
+			return latency;
+		}
+		
+		public double getMemoryFootprint() {
+			return memoryFootprint;
+		}
+		
+		// mean utilization of the processors in the kernel of the schedule
+		public double getUtilization() {
+			return utilization;
+		}
+		
+		public String getError() {
+			return error;
+		}
+		
+		public boolean isEvaluated() {
+			return error == null;
+		}
+	}
+	
+	private ForkJoinPool pool;
+	private ModelBuilder<D> builder;
+	private CAPACITY_ANALYSIS capacityAnalysis = CAPACITY_ANALYSIS.UNROLLED;
+	// the candidates found in the cache are not scheduled again
+	private EvaluationCache evaluationCache = null;
+	// candidates submitted to the pool and not joined yet
+	private int tasksInFlight;
+	
+	public DesignSpaceExploration(ForkJoinPool pool, ModelBuilder<D> builder) {
+		this.pool = pool;
+		this.builder = builder;
+		this.tasksInFlight = 2 * pool.getParallelism();
+	}
+	
+	public int getTasksInFlight() {
+		return tasksInFlight;
+	}
+	
+	public void setTasksInFlight(int tasksInFlight) {
+		assert tasksInFlight > 0 : "At least one task must be in flight";
+		this.tasksInFlight = tasksInFlight;
+	}
+	
+	public CAPACITY_ANALYSIS getCapacityAnalysis() {
+		return capacityAnalysis;
+	}
+	
+	public void setCapacityAnalysis(CAPACITY_ANALYSIS capacityAnalysis) {
+		this.capacityAnalysis = capacityAnalysis;
+	}
+	
+	public EvaluationCache getEvaluationCache() {
+		return evaluationCache;
+	}
+	
+	public void setEvaluationCache(EvaluationCache evaluationCache) {
+		this.evaluationCache = evaluationCache;
+	}
+	
+	// evaluates the candidates in parallel, the results are in the order of the candidates
+	public List<Result<D>> evaluate(Stream<D> candidates) {
+		List<Result<D>> results = new ArrayList<>();
+		evaluate(candidates, results::add);
+		return results;
+	}
+	
+	// evaluates the candidates in parallel and passes the results to the consumer in the order of the candidates.
+	// At most tasksInFlight candidates are submitted and not joined, so the stream can be arbitrarily long
+	public void evaluate(Stream<D> candidates, Consumer<Result<D>> consumer) {
+		ArrayDeque<ForkJoinTask<Result<D>>> tasks = new ArrayDeque<>();
+		Iterator<D> it = candidates.iterator();
+		int index = 0;
+		while(it.hasNext()) {
+			if (tasks.size() == tasksInFlight)
+				consumer.accept(tasks.poll().join());
+			int i = index++;
+			D decision = it.next();
+			tasks.add(pool.submit(() -> evaluate(i, decision)));
+		}
+		while(!tasks.isEmpty())
+			consumer.accept(tasks.poll().join());
+	}
+	
+	// evaluates one candidate in its own id context
+	public Result<D> evaluate(int index, D decision) {
+		Result<D> result = new Result<>();
+		result.index = index;
+		result.decision = decision;
+		try {
+			IdContext.runWith(new IdContext(), () -> {
+				Model model = builder.build(decision);
+				String signature = null;
+				if (evaluationCache != null) {
+					signature = EvaluationCache.getSignature(capacityAnalysis.name()+" "+model.getCoreTypes()+" "+model.getScaleFactor(), model.getArchitecture(), model.getApplication(), model.getBindings());
+					EvaluationCache.Entry entry = evaluationCache.get(signature);
+					if (entry != null) {
+						entry.setCapacities(model.getApplication());
+						result.period = entry.getPeriod();
+						result.latency = entry.getLatency();
+						result.memoryFootprint = ApplicationManagement.calculateMemoryFootprint(model.getApplication());
+						result.utilization = entry.getUtilization();
+						return;
+					}
+				}
+				HeuristicModuloSchedulerConstrained heuristic = new HeuristicModuloSchedulerConstrained(model.getArchitecture(), model.getApplication(), model.getCoreTypes(), model.getScaleFactor());
+				heuristic.setApplicationWithMessages();
+				heuristic.setInterconnects(model.getBindings());
+				heuristic.tryToSchedule(model.getBindings(), ".");
+				SimulateModuloScheduler simulation = new SimulateModuloScheduler(model.getArchitecture(), model.getApplication(), heuristic);
+				if (capacityAnalysis == CAPACITY_ANALYSIS.UNROLLED)
+					simulation.createScheduleForAnalysis(model.getScaleFactor());
+				else
+					simulation.setSteadyStateCapacities();
+				result.period = heuristic.getPeriod();
+				result.latency = heuristic.getLantency();
+				result.memoryFootprint = ApplicationManagement.calculateMemoryFootprint(model.getApplication());
+				result.utilization = calculateUtilization(model, heuristic);
+				if (evaluationCache != null)
+					evaluationCache.put(signature, new EvaluationCache.Entry(result.period, result.latency, result.utilization, model.getApplication()));
+			});
+		}catch(RuntimeException | AssertionError e) {
+			result.error = e.toString();
+		}
+		return result;
+	}
+	
+	private double calculateUtilization(Model model, HeuristicModuloSchedulerConstrained heuristic) {
+		int nProcessors = 0;
+		for(Map.Entry<Integer, Tile> t : model.getArchitecture().getTiles().entrySet())
+			nProcessors += t.getValue().getProcessors().size();
+		double busy = 0;
+		for(Map.Entry<Integer, TimeSlot> t : heuristic.getTimeInfoActors().entrySet()) {
+			if (model.getApplication().getActors().containsKey(t.getKey()))
+				busy += t.getValue().getLength();
+		}
+		return busy/((double)heuristic.getPeriod()*nProcessors);
+	}
+	
+	public static <D> void saveResults(List<Result<D>> results, String path) throws IOException{
+		try{
+			File resultsFile = new File(path+"/dse-results.csv");
+			if (resultsFile.createNewFile()) {
+				System.out.println("File created: " + resultsFile.getName());
+			} else {
+				System.out.println("File already exists.");
+			}
+		}catch (IOException e) {
+			System.out.println("An error occurred.");
+			e.printStackTrace();
+		}
+		FileWriter myWriter = new FileWriter(path+"/dse-results.csv");
+		myWriter.write("Candidate\tPeriod\tLatency\tMemoryFootprint\tUtilization\tError\n");
+		for(Result<D> r : results)
+			myWriter.write(r.getIndex()+"\t"+r.getPeriod()+"\t"+r.getLatency()+"\t"+r.getMemoryFootprint()+"\t"+r.getUtilization()+"\t"+(r.isEvaluated() ? "" : r.getError())+"\n");
+		myWriter.close();
+	}
+}
@@ -0,0 +1,315 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Cache of the evaluations of a design space exploration. A design point is identified
+     by the signature of its bindings, fifo mappings and mergeable multicast actors. The
+     processors of the same type and local memory capacity in a tile are interchangeable,
+     so they are renamed in order of first use before hashing, and symmetric design points
+     share their entry. The entries keep the period, latency, utilization and fifo
+     capacities, the least recently used one is evicted when the cache is full. The
+     signature also hashes the parameters of the application and the architecture, so
+     the entries of a cache saved to a file are only found again for the same model.
+--------------------------------------------------------------------------
+*/
+package multitile.scheduler;
+
+import multitile.application.Actor;
+import multitile.application.Application;
+import multitile.application.Fifo;
+import multitile.architecture.Architecture;
+import multitile.architecture.LocalMemory;
+import multitile.architecture.Memory;
+import multitile.architecture.MeshNoC;
+import multitile.architecture.NoC;
+import multitile.architecture.Processor;
+import multitile.architecture.Tile;
+import multitile.mapping.Binding;
+import multitile.mapping.Bindings;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class EvaluationCache {
+	
+	public static class Entry {
+		private int period;
+		private int latency;
+		private double utilization;
+		// capacities of the fifos in order of their ids
+		private int[] capacities;
+		
+		public Entry(int period, int latency, double utilization, int[] capacities) {
+			this.period = period;
+			this.latency = latency;
+			this.utilization = utilization;
+			this.capacities = capacities;
+		}
+		
+		public Entry(int period, int latency, double utilization, Application application) {
+			this(period, latency, utilization, new int[application.getFifos().size()]);
+			int i = 0;
+			for(Fifo f : new TreeMap<>(application.getFifos()).values())
+				capacities[i++] = f.get_capacity();
+		}
+		
+		public int getPeriod() {
+			return period;
+		}
+		
+		public int getLatency() {
+			return latency;
+		}
+		
+		public double getUtilization() {
+			return utilization;
+		}
+		
+		public int[] getCapacities() {
+			return capacities;
+		}
+		
+		// sets the cached capacities to the fifos of the application
+		public void setCapacities(Application application) {
+			assert application.getFifos().size() == capacities.length : "The cached entry belongs to another application";
+			int i = 0;
+			for(Fifo f : new TreeMap<>(application.getFifos()).values())
+				f.set_capacity(capacities[i++]);
+		}
+	}
+	
+	private LinkedHashMap<String,Entry> entries;
+	private int maxEntries;
+	private long hits;
+	private long misses;
+	
+	public EvaluationCache(int maxEntries) {
+		assert maxEntries > 0 : "The cache must have room for one entry at least";
+		this.maxEntries = maxEntries;
+		// in access order, the eldest entry is the least recently used one
+		this.entries = new LinkedHashMap<String,Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String,Entry> eldest) {
+				return size() > EvaluationCache.this.maxEntries;
+			}
+		};
+		this.hits = 0;
+		this.misses = 0;
+	}
+	
+	// returns the cached entry or null if the design point has to be evaluated
+	public synchronized Entry get(String signature) {
+		Entry entry = entries.get(signature);
+		if (entry == null)
+			misses++;
+		else
+			hits++;
+		return entry;
+	}
+	
+	public synchronized void put(String signature, Entry entry) {
+		entries.put(signature, entry);
+	}
+	
+	public synchronized int size() {
+		return entries.size();
+	}
+	
+	public synchronized long getHits() {
+		return hits;
+	}
+	
+	public synchronized long getMisses() {
+		return misses;
+	}
+	
+	// signature of the design point, variant distinguishes evaluations of the same point that
+	// give different results, e.g., different capacity analyses
+	public static String getSignature(String variant, Architecture architecture, Application application, Bindings bindings) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeUTF(variant);
+			writeModel(out, architecture, application);
+			// name of each processor after renaming the interchangeable ones
+			HashMap<Processor,Integer> names = new HashMap<>();
+			// key: class of interchangeable processors, value: processors already renamed
+			HashMap<String,Integer> renamed = new HashMap<>();
+			for(Actor a : new TreeMap<>(application.getActors()).values()) {
+				out.writeInt(a.getId());
+				Binding<Processor> binding = bindings.getActorProcessorBindings().get(a.getId());
+				if (binding == null) {
+					out.writeInt(-1);
+					continue;
+				}
+				writeProcessor(out, binding.getTarget(), names, renamed);
+				out.writeUTF(String.valueOf(binding.getProperties().get("discrete-runtime")));
+				out.writeBoolean(a.isMergeMulticast());
+			}
+			for(Fifo f : new TreeMap<>(application.getFifos()).values()) {
+				out.writeInt(f.getId());
+				out.writeInt(f.getMappingType() == null ? -1 : f.getMappingType().ordinal());
+				Binding<Memory> binding = bindings.getFifoMemoryBindings().get(f.getId());
+				if (binding == null) {
+					out.writeInt(-1);
+					continue;
+				}
+				Memory memory = binding.getTarget();
+				// local memories are identified by their processor
+				if (memory instanceof LocalMemory && memory.getEmbeddedToProcessor() != null)
+					writeProcessor(out, memory.getEmbeddedToProcessor(), names, renamed);
+				else
+					out.writeInt(memory.getId());
+			}
+			out.close();
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes.toByteArray());
+			StringBuilder signature = new StringBuilder();
+			// the first 128 bits are enough to identify the design points
+			for(int i = 0; i < 16; i++)
+				signature.append(String.format("%02x", digest[i]));
+			return signature.toString();
+		}catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}catch(NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	// parameters of the architecture and the application that the evaluation depends on
+	private static void writeModel(DataOutputStream out, Architecture architecture, Application application) throws IOException {
+		out.writeUTF(architecture.getName());
+		out.writeDouble(architecture.getGlobalMemory().getCapacity());
+		NoC noc = architecture.getNoC();
+		out.writeUTF(noc.getClass().getSimpleName());
+		out.writeDouble(noc.getBandwidth());
+		out.writeInt(noc.getNumberOfParallelChannels());
+		out.writeDouble(noc.getHeaderLatency());
+		if (noc instanceof MeshNoC) {
+			MeshNoC mesh = (MeshNoC)noc;
+			out.writeInt(mesh.getColumns());
+			out.writeInt(mesh.getRows());
+			out.writeInt(mesh.getGlobalMemoryRouter());
+		}
+		for(Tile t : new TreeMap<>(architecture.getTiles()).values()) {
+			out.writeInt(t.getId());
+			out.writeUTF(t.getName());
+			out.writeDouble(t.getCrossbar().getBandwidth());
+			out.writeInt(t.getCrossbar().getNumberofParallelChannels());
+			out.writeDouble(t.getCrossbar().getHeaderLatency());
+			out.writeDouble(t.getTileLocalMemory().getCapacity());
+			if (noc instanceof MeshNoC)
+				out.writeInt(((MeshNoC)noc).getRouter(t));
+			for(Processor p : new TreeMap<>(t.getProcessors()).values()) {
+				out.writeInt(p.getId());
+				out.writeUTF(p.getName());
+				out.writeUTF(String.valueOf(p.getProcesorType()));
+				out.writeDouble(p.getLocalMemory().getCapacity());
+			}
+		}
+		for(Actor a : new TreeMap<>(application.getActors()).values()) {
+			out.writeInt(a.getId());
+			out.writeUTF(a.getName());
+		}
+		for(Fifo f : new TreeMap<>(application.getFifos()).values()) {
+			out.writeInt(f.getId());
+			out.writeUTF(f.getName());
+			out.writeInt(f.getSource().getId());
+			out.writeInt(f.getDestination().getId());
+			out.writeInt(f.getProdRate());
+			out.writeInt(f.getConsRate());
+			out.writeInt(f.getTokenSize());
+			out.writeInt(f.getInitialTokens());
+		}
+	}
+	
+	// a processor is written as its tile, its class and its name within the class, the name
+	// is given in order of first use
+	private static void writeProcessor(DataOutputStream out, Processor processor, HashMap<Processor,Integer> names, HashMap<String,Integer> renamed) throws IOException {
+		String processorClass = processor.getOwnerTile().getId()+"/"+processor.getProcesorType()+"/"+processor.getLocalMemory().getCapacity();
+		Integer name = names.get(processor);
+		if (name == null) {
+			name = renamed.getOrDefault(processorClass, 0);
+			renamed.put(processorClass, name + 1);
+			names.put(processor, name);
+		}
+		out.writeUTF(processorClass);
+		out.writeInt(name);
+	}
+	
+	// each line is: signature, period, latency, utilization and capacities separated by tabs, the
+	// capacities are separated by commas
+	public synchronized void save(String path) throws IOException {
+		FileWriter myWriter = new FileWriter(path);
+		for(Map.Entry<String,Entry> e : entries.entrySet()) {
+			Entry entry = e.getValue();
+			StringBuilder capacities = new StringBuilder();
+			for(int i = 0; i < entry.capacities.length; i++) {
+				if (i > 0)
+					capacities.append(",");
+				capacities.append(entry.capacities[i]);
+			}
+			myWriter.write(e.getKey()+"\t"+entry.period+"\t"+entry.latency+"\t"+entry.utilization+"\t"+capacities+"\n");
+		}
+		myWriter.close();
+	}
+	
+	// adds the entries saved in path, nothing is loaded if the file does not exist
+	public synchronized void load(String path) throws IOException {
+		if (!new File(path).exists())
+			return;
+		try(BufferedReader reader = new BufferedReader(new FileReader(path))) {
+			String line;
+			while((line = reader.readLine()) != null) {
+				String[] fields = line.split("\t", -1);
+				assert fields.length == 5 : "Wrong line in the evaluation cache: "+line;
+				String[] capacityFields = fields[4].isEmpty() ? new String[0] : fields[4].split(",");
+				int[] capacities = new int[capacityFields.length];
+				for(int i = 0; i < capacities.length; i++)
+					capacities[i] = Integer.parseInt(capacityFields[i]);
+				entries.put(fields[0], new Entry(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]), Double.parseDouble(fields[3]), capacities));
+			}
+		}
+	}
+}
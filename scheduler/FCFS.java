@@ -49,15 +49,16 @@ import multitile.application.Application;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.Queue;
 import java.util.ArrayList; 
-import java.util.LinkedList;
 import java.util.Collections;  
 
 public class FCFS extends BaseScheduler implements Schedule{
 
-  private Queue<Integer> schedulableActors;
+  private ReadyActors schedulableActors;
   private Map<Integer,Integer> countActorFirings;
+  // minimum number of firings of an actor and number of actors that fired that many times
+  private int minActorFirings;
+  private int countActorsMinFirings;
   public FCFS(Architecture architecture, Application application){
     super();
     this.setMaxIterations(1); 
@@ -74,11 +75,22 @@ public class FCFS extends BaseScheduler implements Schedule{
     for(Map.Entry<Integer,Actor> a : application.getActors().entrySet()){
       countActorFirings.put( a.getKey(), 0);
     }
+    minActorFirings = 0;
+    countActorsMinFirings = countActorFirings.size();
+  }
+
+  public void countActorFiring(int actorId){
+    int firings = countActorFirings.get(actorId);
+    countActorFirings.put(actorId, firings + 1);
+    if (firings == minActorFirings && --countActorsMinFirings == 0){
+      // all the actors fired at least once more, it happens once per iteration
+      minActorFirings = Collections.min(countActorFirings.values());
+      countActorsMinFirings = Collections.frequency(countActorFirings.values(), minActorFirings);
+    }
   }
 
   public int getNumberCurrentIterations(){
-     ArrayList<Integer> valueList = new ArrayList<Integer>(countActorFirings.values());
-     return Collections.min(valueList);
+     return minActorFirings;
   }
 
 
@@ -95,16 +107,16 @@ public class FCFS extends BaseScheduler implements Schedule{
     resetCountActorFirings();
     application.resetApplication();
     architecture.resetArchitecture();
+    resetMulticastTransfers();
 
-    this.schedulableActors = new LinkedList<>();
+    this.schedulableActors = new ReadyActors(application);
+    this.schedulableActors.reset();
     Map<Actor,List<Transfer>> processorReadTransfers = new HashMap<>();
     Map<Actor,List<Transfer>> processorWriteTransfers = new HashMap<>();
     
     //application.printFifosState();
 
     while(getNumberCurrentIterations() < this.getMaxIterations()){
-      // get schedulable actions in all the processors in all the tiles
-      this.getSchedulableActors();
       // pop the next actor to be scheduled
       assert this.schedulableActors.size() > 0 : "THIS SHOULD NO HAPPEN!!!";
       int actorId = this.schedulableActors.remove();
@@ -156,9 +168,15 @@ public class FCFS extends BaseScheduler implements Schedule{
       // fire and update the state of the fifos
       //p.getScheduler().fireCommitedActions(application.getFifos());
       application.getActors().get(actorId).fire( application.getFifos() );
+      // only the actors connected to the fifos of the fired actor can become schedulable
+      this.schedulableActors.fired(actorId);
       
 
-      countActorFirings.put( actorId, countActorFirings.get(actorId) + 1   );
+      int previousIterations = getNumberCurrentIterations();
+      countActorFiring(actorId);
+      // in streaming mode, the schedule before the horizon is flushed once per iteration
+      if (getNumberCurrentIterations() > previousIterations && architecture.getScheduleSink() != null)
+        architecture.flushSchedule(architecture.getScheduleHorizon());
 
       //application.printFifosState();
 //      break; 
@@ -167,19 +185,9 @@ public class FCFS extends BaseScheduler implements Schedule{
 
 
 
+  // examines all the actors, during the schedule only the actors connected to the fired one are examined
   public void getSchedulableActors(){
-    //for(Actor actor: this.application.getListActors()){
-    for(Map.Entry<Integer,Actor> actor : this.application.getActors().entrySet()) {	
-      	if(this.application.getActors().get(actor.getKey()).canFire(application.getFifos())){
-          if (schedulableActors.contains(actor.getKey()) == false) {
-        	  //System.out.println("Can fire: "+actor.getValue().getName());
-        	  schedulableActors.add(actor.getKey());
-          }/*else
-        	  System.out.println("IS ALREADY IN LIST: "+actor.getValue().getName());*/
-      	}/*else {
-      		System.out.println("Can NOT fire: "+actor.getValue().getName());
-      	}*/
-    }
+    this.schedulableActors.rescan();
   }
 
 
@@ -191,17 +199,13 @@ public class FCFS extends BaseScheduler implements Schedule{
     //    other example es when the transfer source is a local memory of other processor placed in a different tile
     //    Processor1 -> Tile local Crossbar of Processor 1 -> NoC -> TileLocal Crossbar of Processor 2 -> Processor 2  
     for(Transfer transfer : transfers){
-  	  Queue<PassTransferOverArchitecture> routings = calculatePathOfTransfer(transfer,bindings);
-  	  int routingsLength = routings.size();
+  	  PassTransferOverArchitecture[] routings = getRouteOfTransfer(transfer,bindings);
   	  Transfer scheduledTransfer = null;
-  	  Transfer temporalTransfer = new Transfer(transfer);
-  	  for(int m=0; m<routingsLength;m++){
-  		  // proceed to schedule the routing passes
-  		  PassTransferOverArchitecture routing = routings.remove();
-  		  scheduledTransfer = schedulePassOfTransfer(temporalTransfer,routing);
-  		  temporalTransfer = new Transfer(scheduledTransfer);
-  		  temporalTransfer.setStart_time(scheduledTransfer.getDue_time());
-  	  }
+  	  // proceed to schedule the routing passes, each one after the previous one
+  	  if (isMulticastTransfers() && isMulticastRead(transfer,routings))
+  		  scheduledTransfer = scheduleMulticastRead(transfer,routings,bindings,false,true);
+  	  else
+  		  scheduledTransfer = schedulePassesOfTransfer(transfer,routings,false,true);
   	  if(scheduledTransfer == null){
   		  // if we reach this part, means that the transfer does not cost and is a writing to processor local memory
   		  scheduledTransfer = new Transfer(transfer);
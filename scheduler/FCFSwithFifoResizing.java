@@ -39,7 +39,9 @@ package multitile.scheduler;
 import multitile.Action;
 import multitile.Transfer;
 //import multitile.architecture.Tile;
+import multitile.mapping.Binding;
 import multitile.mapping.Bindings;
+import multitile.architecture.Memory;
 import multitile.architecture.Processor;
 import multitile.architecture.Tile;
 import multitile.architecture.Architecture;
@@ -68,6 +70,9 @@ public class FCFSwithFifoResizing extends BaseScheduler implements Schedule{
   // key actor, value list of keys of predecessors
   private Map<Integer,ArrayList<Integer>> predecessors;
   
+  // occupancy of the memories along the schedule
+  private MemoryCapacityChecker capacityChecker;
+  
   
   public FCFSwithFifoResizing(Architecture architecture, Application application){
     super();
@@ -75,6 +80,16 @@ public class FCFSwithFifoResizing extends BaseScheduler implements Schedule{
     this.setApplication(application);
     this.setArchitecture(architecture);
     this.setPredecessors();
+    this.capacityChecker = new MemoryCapacityChecker(application);
+  }
+  
+  public MemoryCapacityChecker getCapacityChecker() {
+	  return this.capacityChecker;
+  }
+  
+  // overflows of the last schedule, empty if all the memories fit
+  public List<CapacityViolation> getCapacityViolations() {
+	  return this.capacityChecker.getViolations();
   }
 
   public void schedule(Bindings bindings){
@@ -141,6 +156,10 @@ public class FCFSwithFifoResizing extends BaseScheduler implements Schedule{
      return Collections.min(valueList);
   }
 
+  // the schedule is restarted from time zero after each re-map: a FIFO keeps its
+  // memory during the whole schedule, so moving it changes the route and duration of
+  // every transfer of the FIFO, also the ones before the first violation. Each FIFO can
+  // only move towards the global memory, hence the number of restarts is bounded
   public void schedule(Bindings bindings, boolean boundedMemory){
      while(!scheduleFCFS(bindings,boundedMemory));   
   }
@@ -152,15 +171,13 @@ public class FCFSwithFifoResizing extends BaseScheduler implements Schedule{
   
   public boolean upperBound(Bindings bindings,boolean boundedMemory){
 	  
-	 // do the re-map of the FIFOs in case to be required
-    if (boundedMemory)
-      checkAndReMapMemories(bindings);
-    
     resetCountActorFirings();
     resetFifoCapacities();
     application.resetApplication();
     architecture.resetArchitecture();
+    resetMulticastTransfers();
     updateFifoCapacitiesFromStateOfApplication();
+    capacityChecker.reset();
 
     this.schedulableActors = new ArrayList<>();
     this.nextSchedulableActors = new HashMap<>();
@@ -240,18 +257,18 @@ public class FCFSwithFifoResizing extends BaseScheduler implements Schedule{
     		      p.getScheduler().produceTokensinFifo(action,application.getFifos());
     		      // update the state of the application
     		      application.getActors().get(action.getActor().getId()).fire( application.getFifos() );
-    		      boolean isChange = updateFifoCapacitiesFromStateOfApplication();
-    		      // here check if I have to remap       
-    		      if (isChange == true && boundedMemory){
-    		    	  boolean remap = checkAndReMapMemories(bindings);
-    		          if (remap == true)
-    		        	  return false;
-    		        	}
+    		      updateFifoCapacitiesFromStateOfApplication();
+    		      // record the tokens consumed and produced by the action in the timeline
+    		      recordFifoStates(processorReadTransfers.get(action.getActor()));
+    		      recordFifoStates(processorWriteTransfers.get(action.getActor()));
     		      countActorFirings.put( action.getActor().getId(), countActorFirings.get(action.getActor().getId()) + 1   );
     		  }
     	  }
       }
     }
+    // do the re-map of the FIFOs that overflowed a memory, then the schedule is repeated
+    if (boundedMemory)
+      return !reMapOverflowingFifos(bindings);
     return true;
   }
   
@@ -259,15 +276,13 @@ public class FCFSwithFifoResizing extends BaseScheduler implements Schedule{
   
   public boolean scheduleFCFS(Bindings bindings,boolean boundedMemory){
 	  
-	 // do the re-map of the FIFOs in case to be required
-    if (boundedMemory)
-      checkAndReMapMemories(bindings);
-    
     resetCountActorFirings();
     resetFifoCapacities();
     application.resetApplication();
     architecture.resetArchitecture();
+    resetMulticastTransfers();
     updateFifoCapacitiesFromStateOfApplication();
+    capacityChecker.reset();
 
     this.schedulableActors = new ArrayList<>();
     this.nextSchedulableActors = new HashMap<>();
@@ -347,21 +362,44 @@ public class FCFSwithFifoResizing extends BaseScheduler implements Schedule{
     		      p.getScheduler().produceTokensinFifo(action,application.getFifos());
     		      // update the state of the application
     		      application.getActors().get(action.getActor().getId()).fire( application.getFifos() );
-    		      boolean isChange = updateFifoCapacitiesFromStateOfApplication();
-    		      // here check if I have to remap       
-    		      if (isChange == true && boundedMemory){
-    		    	  boolean remap = checkAndReMapMemories(bindings);
-    		          if (remap == true)
-    		        	  return false;
-    		        	}
+    		      updateFifoCapacitiesFromStateOfApplication();
+    		      // record the tokens consumed and produced by the action in the timeline
+    		      recordFifoStates(processorReadTransfers.get(action.getActor()));
+    		      recordFifoStates(processorWriteTransfers.get(action.getActor()));
     		      countActorFirings.put( action.getActor().getId(), countActorFirings.get(action.getActor().getId()) + 1   );
     		  }
     	  }
       }
     }
+    // do the re-map of the FIFOs that overflowed a memory, then the schedule is repeated
+    if (boundedMemory)
+      return !reMapOverflowingFifos(bindings);
     return true;
   }
 
+  public void recordFifoStates(List<Transfer> transfers){
+	  if (transfers == null)
+		  return;
+	  for(Transfer t : transfers) {
+		  capacityChecker.recordFifoState(application.getFifos().get(t.getFifo().getId()), t.getDue_time());
+	  }
+  }
+  
+  // remaps only the fifos responsible of each overflow, returns true if a binding changed
+  public boolean reMapOverflowingFifos(Bindings bindings){
+	  boolean remap = false;
+	  for(CapacityViolation violation : capacityChecker.check(bindings)) {
+		  for(Fifo f : violation.getFifos()) {
+			  Memory reMappingMemory = this.getMemoryToBeRelocated(f,bindings);
+			  if (reMappingMemory.getId() == violation.getMemory().getId())
+				  continue;
+			  bindings.getFifoMemoryBindings().put(f.getId(), new Binding<Memory>(reMappingMemory));
+			  remap = true;
+		  }
+	  }
+	  return remap;
+  }
+
   public void getSchedulableActors(Bindings bindings){
     schedulableActors.clear();
     nextSchedulableActors.clear();
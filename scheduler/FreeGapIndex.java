@@ -0,0 +1,232 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Index over the free gaps of one resource of a modulo reservation table.
+     It is a segment tree whose leaves are the 64-bit words of the occupation
+     bitmap, each node keeps the longest free prefix, free suffix and free gap
+     of its steps. It answers "first gap >= length at or after t, modulo P"
+     in logarithmic time and it is updated when slots are committed.
+--------------------------------------------------------------------------
+*/
+package multitile.scheduler;
+
+public class FreeGapIndex {
+	// occupation bitmap of the resource, shared with the reservation table
+	private long[] bits;
+	private int P;
+	private int nWords;
+	// longest free prefix, free suffix and free gap of each node
+	private int[] pre;
+	private int[] suf;
+	private int[] best;
+	// free steps carried from the nodes on the left during a search
+	private int carry;
+	
+	public FreeGapIndex(long[] bits, int P) {
+		this.bits = bits;
+		this.P = P;
+		this.nWords = (P + 63) >> 6;
+		int size = 1;
+		while(size < nWords)
+			size <<= 1;
+		pre  = new int[2*size];
+		suf  = new int[2*size];
+		best = new int[2*size];
+		if (nWords > 0)
+			build(1, 0, nWords);
+	}
+	
+	// must be called after the steps in [from,to) changed in the bitmap
+	public void update(int from, int to) {
+		if (from >= to)
+			return;
+		update(1, 0, nWords, from >> 6, ((to - 1) >> 6) + 1);
+	}
+	
+	public int getLongestGap() {
+		return nWords > 0 ? best[1] : 0;
+	}
+	
+	// returns the first step s, starting from "from" and wrapping around P, such that
+	// the steps [s, s+length) modulo P are free. Returns -1 if there is no such step
+	public int firstFit(int from, int length) {
+		if (length > P || nWords == 0)
+			return -1;
+		if (length <= 0)
+			return from;
+		// gap that does not cross the border of the period
+		carry = 0;
+		int s = find(1, 0, nWords, from, length);
+		if (s >= 0)
+			return s;
+		// gap that crosses the border and starts in [from, P)
+		int wrapStart = P - suf[1];
+		int candidate = Math.max(from, wrapStart);
+		if (candidate < P && (P - candidate) + pre[1] >= length)
+			return candidate;
+		// gaps that start in [0, from)
+		carry = 0;
+		s = find(1, 0, nWords, 0, length);
+		int result = (s >= 0 && s < from) ? s : -1;
+		if (suf[1] > 0 && wrapStart < from && (P - wrapStart) + pre[1] >= length && (result < 0 || wrapStart < result))
+			result = wrapStart;
+		return result;
+	}
+	
+	private int stepsOf(int l, int r) {
+		return Math.min(r << 6, P) - (l << 6);
+	}
+	
+	private void build(int node, int l, int r) {
+		if (r - l == 1) {
+			setLeaf(node, l);
+			return;
+		}
+		int m = (l + r) >>> 1;
+		build(2*node, l, m);
+		build(2*node+1, m, r);
+		pull(node, l, m, r);
+	}
+	
+	private void update(int node, int l, int r, int a, int b) {
+		if (b <= l || r <= a)
+			return;
+		if (r - l == 1) {
+			setLeaf(node, l);
+			return;
+		}
+		int m = (l + r) >>> 1;
+		update(2*node, l, m, a, b);
+		update(2*node+1, m, r, a, b);
+		pull(node, l, m, r);
+	}
+	
+	private void pull(int node, int l, int m, int r) {
+		int left = 2*node, right = 2*node+1;
+		int lenLeft  = stepsOf(l, m);
+		int lenRight = stepsOf(m, r);
+		pre[node]  = pre[left] == lenLeft ? lenLeft + pre[right] : pre[left];
+		suf[node]  = suf[right] == lenRight ? lenRight + suf[left] : suf[right];
+		best[node] = Math.max(Math.max(best[left], best[right]), suf[left] + pre[right]);
+	}
+	
+	private void setLeaf(int node, int word) {
+		int length = stepsOf(word, word + 1);
+		long free = freeMask(word, 0);
+		pre[node]  = Math.min(Long.numberOfTrailingZeros(~free), length);
+		suf[node]  = Math.min(Long.numberOfLeadingZeros(~(free << (64 - length))), length);
+		best[node] = longestRun(free);
+	}
+	
+	// free steps of the word, the steps below "from" are considered occupied
+	private long freeMask(int word, int from) {
+		int length = stepsOf(word, word + 1);
+		long valid = -1L >>> (64 - length);
+		long free = ~bits[word] & valid;
+		if (from > (word << 6))
+			free &= -1L << (from - (word << 6));
+		return free;
+	}
+	
+	private static int longestRun(long x) {
+		int count = 0;
+		while(x != 0) {
+			x &= x << 1;
+			count++;
+		}
+		return count;
+	}
+	
+	// first position in the word where "length" consecutive free steps start, -1 otherwise
+	private static int firstRun(long free, int length) {
+		long m = free;
+		int k = 1;
+		while(k < length && m != 0) {
+			int shift = Math.min(k, length - k);
+			m &= m >>> shift;
+			k += shift;
+		}
+		return m == 0 ? -1 : Long.numberOfTrailingZeros(m);
+	}
+	
+	// first start >= from, scanning the words left to right and carrying the free steps
+	private int find(int node, int l, int r, int from, int length) {
+		if ((r << 6) <= from)
+			return -1;
+		if (r - l == 1)
+			return findInLeaf(l, from, length);
+		if ((l << 6) >= from) {
+			int steps = stepsOf(l, r);
+			if (carry + pre[node] >= length)
+				return (l << 6) - carry;
+			if (best[node] >= length)
+				return descend(node, l, r, length);
+			carry = pre[node] == steps ? carry + steps : suf[node];
+			return -1;
+		}
+		int m = (l + r) >>> 1;
+		int s = find(2*node, l, m, from, length);
+		if (s >= 0)
+			return s;
+		return find(2*node+1, m, r, from, length);
+	}
+	
+	private int descend(int node, int l, int r, int length) {
+		if (r - l == 1)
+			return findInLeaf(l, l << 6, length);
+		if (carry + pre[node] >= length)
+			return (l << 6) - carry;
+		int m = (l + r) >>> 1;
+		int left = 2*node;
+		if (carry + pre[left] >= length || best[left] >= length)
+			return descend(left, l, m, length);
+		int steps = stepsOf(l, m);
+		carry = pre[left] == steps ? carry + steps : suf[left];
+		return descend(left + 1, m, r, length);
+	}
+	
+	private int findInLeaf(int word, int from, int length) {
+		int steps = stepsOf(word, word + 1);
+		long free = freeMask(word, from);
+		int prefix = Math.min(Long.numberOfTrailingZeros(~free), steps);
+		if (carry + prefix >= length)
+			return (word << 6) - carry;
+		if (length <= 64) {
+			int s = firstRun(free, length);
+			if (s >= 0)
+				return (word << 6) + s;
+		}
+		int suffix = Math.min(Long.numberOfLeadingZeros(~(free << (64 - steps))), steps);
+		carry = prefix == steps ? carry + steps : suffix;
+		return -1;
+	}
+}
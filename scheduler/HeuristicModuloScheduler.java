@@ -54,6 +54,8 @@ import multitile.application.Actor;
 import multitile.application.Application;
 import multitile.application.Fifo;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class HeuristicModuloScheduler extends BaseScheduler implements Schedule{
   private HashMap<Integer,TimeSlot> timeInfoActors;
@@ -68,6 +70,14 @@ public class HeuristicModuloScheduler extends BaseScheduler implements Schedule{
   private ArrayList<String> coreTypes;
   private HashMap<Integer,Integer> actorIdToIndex;
   private UtilizationTable U;
+  // implementation of the reservation table used when probing a period
+  private UtilizationTable.RESERVATION_TYPE reservationType = UtilizationTable.RESERVATION_TYPE.LINKED_LIST;
+  // placements that can be undone while testing a single P, 0 disables the backtracking
+  private int maxBacktracks = 0;
+  // pool used to probe the candidate periods in parallel, null keeps the sequential search
+  private ForkJoinPool searchPool = null;
+  // set in the probes of the parallel search when their result is no longer needed
+  private AtomicBoolean cancelled = null;
   
   private Stack<Integer> topologicalOrder;
   
@@ -95,6 +105,22 @@ public class HeuristicModuloScheduler extends BaseScheduler implements Schedule{
 
   }
   
+  // probe of a single period in the parallel search, it shares the application and the architecture with the scheduler
+  private HeuristicModuloScheduler(HeuristicModuloScheduler other, int P, AtomicBoolean cancelled){
+	  super();
+	  this.setApplication(other.application);
+	  this.setArchitecture(other.architecture);
+	  this.countCoresPerType = other.countCoresPerType;
+	  this.actorToCoreTypeMapping = other.actorToCoreTypeMapping;
+	  this.coreTypes = other.coreTypes;
+	  this.actorIdToIndex = other.actorIdToIndex;
+	  this.reservationType = other.reservationType;
+	  this.maxBacktracks = other.maxBacktracks;
+	  this.MII = other.MII;
+	  this.P = P;
+	  this.cancelled = cancelled;
+  }
+  
   public int getPeriod() {
 	  return this.P;
   }
@@ -136,6 +162,10 @@ public class HeuristicModuloScheduler extends BaseScheduler implements Schedule{
   public void tryToSchedule(Mappings mappings) {
 	  // calculate the MII
 	  calculateMII(mappings);
+	  if (searchPool != null) {
+		  tryToScheduleInParallel(mappings);
+		  return;
+	  }
 	  // set the initial P as MII
 	  this.P = this.MII;
 	  /**
@@ -191,6 +221,21 @@ public class HeuristicModuloScheduler extends BaseScheduler implements Schedule{
 	  //this.printTopologicalOrder();
   }
   
+  // same search of P as tryToSchedule, each candidate period is probed in its own copy of the scheduler
+  private void tryToScheduleInParallel(Mappings mappings) {
+	  PeriodSearch<HeuristicModuloScheduler> search = new PeriodSearch<>(searchPool, (P, cancelled) -> {
+		  HeuristicModuloScheduler probe = new HeuristicModuloScheduler(this, P, cancelled);
+		  return probe.placeActors(mappings) ? probe : null;
+	  });
+	  HeuristicModuloScheduler best = search.search(this.MII);
+	  this.P = best.P;
+	  this.U = best.U;
+	  this.timeInfoActors = best.timeInfoActors;
+	  this.topologicalOrder = best.topologicalOrder;
+	  // the probes do not modify the actors, assing the topological order of the selected schedule
+	  this.assingTopoligalOrder();
+  }
+  
   public void printTimeInfoActors() {
 	  for(Map.Entry<Integer,TimeSlot> t : timeInfoActors.entrySet()) {
 		  System.out.println("Actor "+application.getActors().get(t.getValue().getActorId()).getName()+" STARTS AT "+t.getValue().getStartTime()+" ENDS AT "+t.getValue().getEndTime());
@@ -199,17 +244,30 @@ public class HeuristicModuloScheduler extends BaseScheduler implements Schedule{
   
   // method to initialize the initial startTimes, endTimes and lengthTimes
   public boolean calculateStartTimes(Mappings mappings) {
+	  if (!placeActors(mappings))
+		  return false;
+	  // assing the topological order
+	  this.assingTopoligalOrder();
+	  return true;
+  }
+  
+  // places the actors in the utilization table for the current P
+  private boolean placeActors(Mappings mappings) {
 	  HashMap<Integer,HashMap<String,Integer>> runtimePerType 	=  mappings.getDiscreteRuntimeFromType();
 	  timeInfoActors											= new HashMap<>();
 
 	  topologicalOrder = new Stack<Integer>();
 	  
-	  HashMap<Integer,Integer> startTime = new HashMap<>();
-	  List<Integer> V = new ArrayList<>();
-	  for(Map.Entry<Integer,Actor> v : application.getActors().entrySet()){
-		  V.add(v.getKey());
-		  startTime.put(v.getKey(), 0);
+	  // the actors are indexed in the order they are visited by each pass over V
+	  ArrayList<Actor> V = new ArrayList<>(application.getActors().values());
+	  int nActors = V.size();
+	  int[] actorIds = new int[nActors];
+	  HashMap<Integer,Integer> actorIndex = new HashMap<>();
+	  for(int i=0; i < nActors; i++){
+		  actorIds[i] = V.get(i).getId();
+		  actorIndex.put(actorIds[i], i);
 	  }
+	  int[] startTime = new int[nActors];
 	  
 	  // [Modulo schedule the loop]
 	  // 		a) [Schedule operations in G(V, E) taking only intra-iteration dependences into account]
@@ -217,61 +275,108 @@ public class HeuristicModuloScheduler extends BaseScheduler implements Schedule{
 	  //             In this implementation, U(i, j) denote the usage of the i-th tile class in control step j
 	  //             i and j are stored in a list which serves as key in a map
 	  // key core type - step
-	  U = new UtilizationTable(countCoresPerType,P);
+	  U = UtilizationTable.createUtilizationTable(reservationType,countCoresPerType,P);
 	  // compute PCOUNT and SUCC
 	  // PCOUNT: is the number of immediate predecessors of v not yet scheduled  
 	  // SUCC: is the set of all immediate successors of v
-	  // Map<ActorId, Value>
+	  // indexed by the index of the actor
 	  //predecessor count
-	  HashMap<Integer,Integer> PCOUNT	= new HashMap<>();
+	  int[] PCOUNT	= new int[nActors];
 	  // succesors
-	  HashMap<Integer,Set<Integer>> SUCC 	= new HashMap<>();
-	  for(Map.Entry<Integer, Actor> actor : application.getActors().entrySet()) {
-		  PCOUNT.put(actor.getKey(), getPCOUNT(actor.getValue()));
-		  SUCC.put(actor.getKey(), getSUCC(actor.getValue()));
+	  int[][] SUCC 	= new int[nActors][];
+	  for(int i=0; i < nActors; i++) {
+		  PCOUNT[i] = getPCOUNT(V.get(i));
+		  Set<Integer> successors = getSUCC(V.get(i));
+		  SUCC[i] = new int[successors.size()];
+		  int j = 0;
+		  for(int w : successors)
+			  SUCC[i][j++] = actorIndex.get(w);
 	  }
 	  
-	  while(!V.isEmpty()) {
-		  List<Integer> removeV = new ArrayList<>();
-		  for (int k = 0 ; k < V.size();k++) {
-			  int v = V.get(k);
-			  int vIndex = actorIdToIndex.get(v);
-			  int coreTypeBinding = actorToCoreTypeMapping.get(vIndex);
-			  int discreteRuntime =  runtimePerType.get(v).get(coreTypes.get(coreTypeBinding));
-			  
-			  /* Check whether data dependences are satisfied */
-			  if (PCOUNT.get(v) == 0) {
-					/* Check that no more than num(r(v)) operations are scheduled on the
-           			resources corresponding to *R(r(v)) at the same time modulo MII */
-				  int start = startTime.get(v);
-				  //int upperBound = (Math.floorDiv(start,this.P) + 1) * P; 
-				  int upperBound = start % this.P;
-				  
-				  //System.out.println("actor "+application.getActors().get(v).getName()+ " lenght "+discreteRuntime);
-				  while(!U.insertIntervalUtilizationTable(v, coreTypeBinding, startTime.get(v), startTime.get(v)+discreteRuntime ,discreteRuntime)) {
-					  //System.out.println("Trying to insert"+application.getActors().get(v).getName()+" at "+startTime.get(v)+" to "+((startTime.get(v) + discreteRuntime) % this.P ));
-					  startTime.put(v, startTime.get(v)+1 );
-					  if (upperBound == startTime.get(v) % P ) {
-						  // if it not possible to schedule with this P, you have to increase P
-						  return false;
-						  //System.exit(1);  // here I have to increase the MII
-					  }  
-				  }
-				  
-				  //U.printUtilizationTable(application.getActors(), coreTypes);
-				  timeInfoActors.put(v, new TimeSlot(v, startTime.get(v),startTime.get(v) + discreteRuntime ));
-				  topologicalOrder.push(v);
-				  for (int w : SUCC.get(v)) {
-					  PCOUNT.put(w, PCOUNT.get(w) -1 );
-					  //int maxVal = startTime.get(w) > (startTime.get(v)+ discreteRuntime) % this.P   ? startTime.get(w) : (startTime.get(v)+discreteRuntime) % this.P;
-					  int maxVal = startTime.get(w) > (startTime.get(v)+ discreteRuntime)  ? startTime.get(w) : (startTime.get(v)+discreteRuntime);
-					  startTime.put(w,maxVal);
-				  }
-				  
-				  removeV.add(v);
+	  // placements done so far, and the first start time to try for the actors whose placement was undone
+	  Stack<Placement> placements = new Stack<>();
+	  int[] retryFrom = new int[nActors];
+	  Arrays.fill(retryFrom, -1);
+	  int backtracks = 0;
+	  
+	  // actors whose data dependences are satisfied. The actors are scheduled in passes over V, the
+	  // key is (pass, index): an actor that becomes ready after its index was visited waits for the next pass
+	  ReadyQueue ready = new ReadyQueue(nActors);
+	  boolean[] scheduled = new boolean[nActors];
+	  for(int i=0; i < nActors; i++)
+		  if (PCOUNT[i] == 0)
+			  ready.push(i, i);
+	  int remaining = nActors;
+	  while(remaining > 0) {
+		  if (cancelled != null && cancelled.get())
+			  return false;
+		  int k = ready.poll();
+		  if (k < 0)
+			  return false;
+		  // the entry is stale if the actor was scheduled again or its predecessors were undone
+		  if (scheduled[k] || PCOUNT[k] != 0)
+			  continue;
+		  long pass = ready.getKey(k) / nActors;
+		  int v = actorIds[k];
+		  int vIndex = actorIdToIndex.get(v);
+		  int coreTypeBinding = actorToCoreTypeMapping.get(vIndex);
+		  int discreteRuntime =  runtimePerType.get(v).get(coreTypes.get(coreTypeBinding));
+		  
+			/* Check that no more than num(r(v)) operations are scheduled on the
+   			resources corresponding to *R(r(v)) at the same time modulo MII */
+		  int start = startTime[k];
+		  //int upperBound = (Math.floorDiv(start,this.P) + 1) * P; 
+		  int upperBound = start % this.P;
+		  int startT = retryFrom[k] >= 0 ? retryFrom[k] : start;
+		  retryFrom[k] = -1;
+		  int mark = U.mark();
+		  boolean state = startT < start + this.P;
+		  
+		  //System.out.println("actor "+application.getActors().get(v).getName()+ " lenght "+discreteRuntime);
+		  while(state && !U.insertIntervalUtilizationTable(v, coreTypeBinding, startT, startT+discreteRuntime ,discreteRuntime)) {
+			  //System.out.println("Trying to insert"+application.getActors().get(v).getName()+" at "+startT+" to "+((startT + discreteRuntime) % this.P ));
+			  startT++;
+			  if (upperBound == startT % P ) {
+				  // if it not possible to schedule with this P, you have to increase P
+				  state = false;
+				  //System.exit(1);  // here I have to increase the MII
+			  }  
+		  }
+		  if (!state) {
+			  if (backtracks < maxBacktracks && !placements.isEmpty()) {
+				  // undo the last placement and try it again at a later start time, then start a new pass over V
+				  backtracks++;
+				  Placement last = placements.pop();
+				  undoPlacement(last, startTime, PCOUNT, SUCC);
+				  scheduled[last.getActor()] = false;
+				  remaining++;
+				  retryFrom[last.getActor()] = last.getPlacedStart() + 1;
+				  ready.clear();
+				  for(int i=0; i < nActors; i++)
+					  if (!scheduled[i] && PCOUNT[i] == 0)
+						  ready.push(i, (pass + 1) * nActors + i);
+				  continue;
 			  }
+			  return false;
+		  }
+		  startTime[k] = startT;
+		  Placement placement = new Placement(k, mark, start, startT, SUCC[k].length);
+		  
+		  //U.printUtilizationTable(application.getActors(), coreTypes);
+		  timeInfoActors.put(v, new TimeSlot(v, startTime[k],startTime[k] + discreteRuntime ));
+		  topologicalOrder.push(v);
+		  for (int j = 0; j < SUCC[k].length; j++) {
+			  int w = SUCC[k][j];
+			  placement.getSuccessorStarts()[j] = startTime[w];
+			  PCOUNT[w]--;
+			  //int maxVal = startTime.get(w) > (startTime.get(v)+ discreteRuntime) % this.P   ? startTime.get(w) : (startTime.get(v)+discreteRuntime) % this.P;
+			  startTime[w] = startTime[w] > (startTime[k]+ discreteRuntime)  ? startTime[w] : (startTime[k]+discreteRuntime);
+			  if (PCOUNT[w] == 0 && !scheduled[w])
+				  ready.push(w, (w > k ? pass : pass + 1) * nActors + w);
 		  }
-		  V.removeAll(removeV);
+		  placements.push(placement);
+		  scheduled[k] = true;
+		  remaining--;
 	  }
 	  /*
 	  System.out.println("P="+this.P);
@@ -281,13 +386,22 @@ public class HeuristicModuloScheduler extends BaseScheduler implements Schedule{
 		  endTime.put(s.getKey(), ( s.getValue() + lengthTime.get(s.getKey())) % P );
 	  }*/
 	  
-	  // assing the topological order
-	  this.assingTopoligalOrder();
-	  
 	  return true;
 	 
   }
 
+  // undoes the placement of an actor
+  private void undoPlacement(Placement placement, int[] startTime, int[] PCOUNT, int[][] SUCC) {
+	  int k = placement.getActor();
+	  U.rollback(placement.getMark());
+	  startTime[k] = placement.getRequestedStart();
+	  timeInfoActors.remove(topologicalOrder.pop());
+	  for (int j = 0; j < SUCC[k].length; j++) {
+		  PCOUNT[SUCC[k][j]]++;
+		  startTime[SUCC[k][j]] = placement.getSuccessorStarts()[j];
+	  }
+  }
+  
   public void assingTopoligalOrder() {
 	  int counter = 0;
 	  for(int v:topologicalOrder) {
@@ -389,6 +503,30 @@ public class HeuristicModuloScheduler extends BaseScheduler implements Schedule{
 		return U;
 	}
 	
+	public void setReservationType(UtilizationTable.RESERVATION_TYPE reservationType) {
+		this.reservationType = reservationType;
+	}
+	
+	public UtilizationTable.RESERVATION_TYPE getReservationType() {
+		return this.reservationType;
+	}
+	
+	public void setMaxBacktracks(int maxBacktracks) {
+		this.maxBacktracks = maxBacktracks;
+	}
+	
+	public int getMaxBacktracks() {
+		return this.maxBacktracks;
+	}
+	
+	public void setSearchPool(ForkJoinPool searchPool) {
+		this.searchPool = searchPool;
+	}
+	
+	public ForkJoinPool getSearchPool() {
+		return this.searchPool;
+	}
+	
 	
 	public void assingActorBinding(Mappings mappings,Bindings bindings) {
 		// key: is the core type
@@ -50,7 +50,9 @@ import multitile.mapping.Bindings;
 import multitile.scheduler.UtilizationTable.TimeSlot;
 import multitile.architecture.Architecture;
 import multitile.architecture.Crossbar;
+import multitile.architecture.NoC;
 import multitile.application.CompositeFifo;
+import multitile.application.Cycles;
 import multitile.Transfer;
 import multitile.Transfer.TRANSFER_TYPE;
 import multitile.application.Actor;
@@ -60,6 +62,8 @@ import multitile.application.Application;
 import multitile.application.CommunicationTask;
 import multitile.application.Fifo;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class HeuristicModuloSchedulerConstrained extends BaseScheduler implements Schedule{
   private HashMap<Integer,TimeSlot> timeInfoActors;
@@ -69,6 +73,16 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
   private HashMap<Integer,Integer> countCoresPerType;
   private ArrayList<String> coreTypes;
   private UtilizationTable U;
+  // implementation of the reservation table used when probing a period
+  private UtilizationTable.RESERVATION_TYPE reservationType = UtilizationTable.RESERVATION_TYPE.LINKED_LIST;
+  // placements that can be undone while testing a single P, 0 disables the backtracking
+  private int maxBacktracks = 0;
+  // start the search of P at the recurrence bound of the application when it is above the resource bound
+  private boolean recurrenceBound = false;
+  // pool used to probe the candidate periods in parallel, null keeps the sequential search
+  private ForkJoinPool searchPool = null;
+  // set in the probes of the parallel search when their result is no longer needed
+  private AtomicBoolean cancelled = null;
   private double scaleFactor;
   
   // set of reads of each actor
@@ -79,8 +93,8 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
   private HashMap<Integer, ArrayList<CommunicationTask>> actorWrites;
   
   
-  private HashMap<CommunicationTask, MyEntry<Integer,ArrayList<Integer>>> infoBoundResourcesCTask;
-  private HashMap<Actor, MyEntry<Integer,ArrayList<Integer>>> infoBoundResourcesTask;
+  // bound resources of the actors and the communication tasks, computed once per bindings
+  private BindingResources bindingResources;
   
   private HashMap<Integer, CommunicationTask> setCommunicationTasks;
   
@@ -119,6 +133,28 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
 		  /*System.out.println("countCoresPerType "+countCoresPerType);*/
 		  this.scaleFactor = scaleFactor;
 	  }
+	  
+	  // probe of a single period in the parallel search, it shares the application,
+	  // the architecture and the communication tasks with the scheduler
+	  private HeuristicModuloSchedulerConstrained(HeuristicModuloSchedulerConstrained other, int P, AtomicBoolean cancelled){
+		  super();
+		  this.setApplication(other.application);
+		  this.setArchitecture(other.architecture);
+		  this.countCoresPerType = other.countCoresPerType;
+		  this.coreTypes = other.coreTypes;
+		  this.scaleFactor = other.scaleFactor;
+		  this.reservationType = other.reservationType;
+		  this.maxBacktracks = other.maxBacktracks;
+		  this.recurrenceBound = other.recurrenceBound;
+		  this.setMulticastTransfers(other.isMulticastTransfers());
+		  this.actorReads = other.actorReads;
+		  this.actorWrites = other.actorWrites;
+		  this.setCommunicationTasks = other.setCommunicationTasks;
+		  this.bindingResources = other.bindingResources;
+		  this.MII = other.MII;
+		  this.P = P;
+		  this.cancelled = cancelled;
+	  }
   
 	  public void setApplicationWithMessages() {
 		  setCommunicationTasks = new HashMap<>(); 
@@ -225,21 +261,59 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
 			  }
 		  
 		  }
+		  if (isMulticastTransfers()) {
+			  // the read task transferring the tokens over the NoC is the one of the reader that comes first in the
+			  // precedences, then by id, so ordering the readers that copy them after it does not create cycles
+			  Map<Integer,Integer> levels = getPrecedenceLevels();
+			  setMulticastInterconnects(setCommunicationTasks.values(), bindings, this.scaleFactor, (o1,o2) -> {
+				  int a1 = o1.getTransfer().getActor().getId();
+				  int a2 = o2.getTransfer().getActor().getId();
+				  if (levels.get(a1).intValue() != levels.get(a2).intValue())
+					  return Integer.compare(levels.get(a1), levels.get(a2));
+				  return a1 != a2 ? Integer.compare(a1, a2) : Integer.compare(o1.getId(), o2.getId());
+			  });
+		  }
+		  sortCommunicationTasks();
+	  }
+	  
+	  // sorts the reads and the writes of each actor according to the priority of the used interconnects
+	  private void sortCommunicationTasks() {
+		  for(ArrayList<CommunicationTask> reads : this.actorReads.values())
+			  reads.sort((o1,o2) ->  o1.calculatePriorityFromInterconnects() - o2.calculatePriorityFromInterconnects());
+		  for(ArrayList<CommunicationTask> writes : this.actorWrites.values())
+			  writes.sort((o1,o2) ->  o1.calculatePriorityFromInterconnects() - o2.calculatePriorityFromInterconnects());
+	  }
+	  
+	  // computes the bound resources once for all the probed periods, unless the ones
+	  // already set were computed for bindings with the same routing
+	  private void prepareBindingResources(Bindings bindings) {
+		  if (bindingResources != null && bindingResources.sharesRouting(bindings, setCommunicationTasks.values()))
+			  return;
+		  bindingResources = new BindingResources();
+		  for(CommunicationTask c : setCommunicationTasks.values())
+			  bindingResources.addCommunicationTask(c, this.getBoundResources(bindings, c.getId()).getValue());
+		  for(Actor a : this.getApplication().getActors().values()) {
+			  MyEntry<Integer,ArrayList<Integer>> infoBoundResources = this.getBoundResources(bindings, a.getId());
+			  if (a.getType() == ACTOR_TYPE.ACTOR || a.getType() == ACTOR_TYPE.MULTICAST)
+				  bindingResources.addActor(a.getId(), a.getId(), infoBoundResources.getKey(), infoBoundResources.getValue());
+			  else
+				  bindingResources.addTask(a.getId(), infoBoundResources.getKey(), infoBoundResources.getValue());
+			  bindingResources.setCommunications(a.getId(), this.actorReads.get(a.getId()), this.actorWrites.get(a.getId()));
+		  }
 	  }
 	  
 	  public void printRoutingsInfo() {
-		  for(Map.Entry<CommunicationTask, MyEntry<Integer,ArrayList<Integer>>> iCTask : infoBoundResourcesCTask.entrySet()) {
-			  CommunicationTask c = iCTask.getKey();
+		  for(CommunicationTask c : setCommunicationTasks.values()) {
 			  System.out.print("Communication task "+c.getName()+" routing ");//+c.getUsedInterconnects()+" time "+c.getDiscretizedRuntime());
-			  for(int idResource : iCTask.getValue().getValue()) {
+			  for(int idResource : bindingResources.getResources(c.getId())) {
 				  if (this.getArchitecture().getCrossbar(idResource) != null) 
 					  System.out.print(this.getArchitecture().getCrossbar(idResource).getName()+" ");
-				  if (this.getArchitecture().getNoC().getId() == idResource) 
-					  System.out.print(this.getArchitecture().getNoC().getName()+" ");
+				  if (this.getArchitecture().isNoC(idResource) != null) 
+					  System.out.print(this.getArchitecture().isNoC(idResource).getName()+" ");
 				  if (this.getArchitecture().getProcessor(idResource) != null) 
 					  System.out.print(this.getArchitecture().getProcessor(idResource).getName()+" ");
 			  }
-			  System.out.println("time task "+c.getDiscretizedRuntime()+" time map "+iCTask.getKey());
+			  System.out.println("time task "+c.getDiscretizedRuntime()+" time map "+bindingResources.getDiscreteRuntime(c.getId()));
 		  }
 	  }
 	  
@@ -254,6 +328,12 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
 		  // calculate the MII
 		  calculateMII(bindings);
 		  //calculateMIISecond(bindings);
+		  sortCommunicationTasks();
+		  prepareBindingResources(bindings);
+		  if (searchPool != null) {
+			  tryToScheduleInParallel(bindings);
+			  return;
+		  }
 		  // set the initial P as MII
 		  this.P = this.MII;
 		  //System.out.println("MII "+this.P);
@@ -303,6 +383,18 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
 		  }
 	  }
 	  
+	  // same search of P as tryToSchedule, each candidate period is probed in its own copy of the scheduler
+	  private void tryToScheduleInParallel(Bindings bindings) {
+		  PeriodSearch<HeuristicModuloSchedulerConstrained> search = new PeriodSearch<>(searchPool, (P, cancelled) -> {
+			  HeuristicModuloSchedulerConstrained probe = new HeuristicModuloSchedulerConstrained(this, P, cancelled);
+			  return probe.calculateStartTimes(bindings) ? probe : null;
+		  });
+		  HeuristicModuloSchedulerConstrained best = search.search(this.MII);
+		  this.P = best.P;
+		  this.U = best.U;
+		  this.timeInfoActors = best.timeInfoActors;
+	  }
+	  
 	  public void printTimeInfoActors() {
 		  for(Map.Entry<Integer,TimeSlot> t : timeInfoActors.entrySet()) {
 			  if (application.getActors().containsKey(t.getValue().getActorId()))
@@ -318,16 +410,18 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
 	  // method to initialize the initial startTimes, endTimes and lengthTimes
 	  public boolean calculateStartTimes(Bindings bindings) {
 		  timeInfoActors = new HashMap<>();
-	
-		  HashMap<Integer,Integer> startTime = new HashMap<>();
-		  List<Integer> V = new ArrayList<>();
 		  
+		  // the actors are indexed in order of priority, the index is also the key in the ready queue
 		  ArrayList<Actor> actorsToOrder = new ArrayList<>(application.getActors().values());
 		  actorsToOrder.sort((o1,o2) ->  o1.getPriority() - o2.getPriority());
-		  for(Actor v : actorsToOrder){
-			  V.add(v.getId());
-			  startTime.put(v.getId(), 0);
+		  int nActors = actorsToOrder.size();
+		  int[] actorIds = new int[nActors];
+		  HashMap<Integer,Integer> actorIndex = new HashMap<>();
+		  for(int i=0; i < nActors; i++){
+			  actorIds[i] = actorsToOrder.get(i).getId();
+			  actorIndex.put(actorIds[i], i);
 		  }
+		  int[] startTime = new int[nActors];
 		  
 		  // [Modulo schedule the loop]
 		  // 		a) [Schedule operations in G(V, E) taking only intra-iteration dependences into account]
@@ -350,8 +444,8 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
 		  }  
 		  for(Map.Entry<Integer, CommunicationTask> cs : setCommunicationTasks.entrySet()) {
 			  CommunicationTask comm = cs.getValue();
-			  if(comm.getUsedNoc() != null) {
-				  countResourcesPerType.put(comm.getUsedNoc().getId(), 1);
+			  for(NoC noc : comm.getUsedNoCs()) {
+				  countResourcesPerType.put(noc.getId(), 1);
 			  }
 			  if(comm.getUsedLocalMemory() != null) {
 				  countResourcesPerType.put(comm.getUsedLocalMemory().getId(), 1);
@@ -361,168 +455,198 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
 			  }
 		  }
 			  		  
-		  U = new UtilizationTable(countResourcesPerType,this.P);
+		  U = UtilizationTable.createUtilizationTable(reservationType,countResourcesPerType,this.P);
 		  // compute PCOUNT and SUCC
 		  // PCOUNT: is the number of immediate predecessors of v not yet scheduled  
 		  // SUCC: is the set of all immediate successors of v
-		  // Map<ActorId, Value>
+		  // indexed by the index of the actor
 		  //predecessor count
-		  HashMap<Integer,Integer> PCOUNT	= new HashMap<>();
+		  int[] PCOUNT	= new int[nActors];
 		  // succesors
-		  HashMap<Integer,Set<Integer>> SUCC 	= new HashMap<>();
-		  for(Map.Entry<Integer, Actor> actor : application.getActors().entrySet()) {
-			  PCOUNT.put(actor.getKey(), getPCOUNT(actor.getValue()));
-			  SUCC.put(actor.getKey(), getSUCC(actor.getValue()));
+		  int[][] SUCC 	= new int[nActors][];
+		  // minimum distance between the start of each actor and the start of each successor
+		  int[][] DELAY 	= new int[nActors][];
+		  // the actors that copy the tokens of an MRB in a tile are also successors of the actor whose read
+		  // task transfers them over the NoC, the copy starts once that read task ended
+		  Map<Integer,List<CommunicationTask>> followers = getMulticastFollowers(setCommunicationTasks.values());
+		  int[] leaderEdges = new int[nActors];
+		  for(int i=0; i < nActors; i++) {
+			  PCOUNT[i] = getPCOUNT(actorsToOrder.get(i));
+			  Set<Integer> successors = getSUCC(actorsToOrder.get(i));
+			  List<int[]> copies = getMulticastCopies(actorIds[i], followers);
+			  SUCC[i] = new int[successors.size() + copies.size()];
+			  DELAY[i] = new int[SUCC[i].length];
+			  int j = 0;
+			  for(int w : successors) {
+				  DELAY[i][j] = bindingResources.getGroupLengths(actorIds[i])[0];
+				  SUCC[i][j++] = actorIndex.get(w);
+			  }
+			  for(int[] copy : copies) {
+				  DELAY[i][j] = copy[1];
+				  SUCC[i][j] = actorIndex.get(copy[0]);
+				  leaderEdges[SUCC[i][j++]]++;
+			  }
 		  }
+		  for(int i=0; i < nActors; i++)
+			  PCOUNT[i] += leaderEdges[i];
 		  //System.out.println("Testing period "+this.P);
 		  
-		  // fill the map of bound resouruces
-		  this.infoBoundResourcesCTask = new HashMap<>();
-		  this.infoBoundResourcesTask = new HashMap<>();
+		  // placements done so far, and the first start time to try for the actors whose placement was undone
+		  Stack<Placement> placements = new Stack<>();
+		  int[] retryFrom = new int[nActors];
+		  Arrays.fill(retryFrom, -1);
+		  int backtracks = 0;
 		  
-		  for(CommunicationTask c : setCommunicationTasks.values()) {
-			  MyEntry<Integer,ArrayList<Integer>> infoBoundCTask = this.getBoundResources(bindings, c.getId());
-			  infoBoundResourcesCTask.put(c, infoBoundCTask);
-		  }
-		  for(Actor a : this.getApplication().getActors().values()) {
-			  MyEntry<Integer,ArrayList<Integer>> infoBoundResources = this.getBoundResources(bindings, a.getId());
-			  infoBoundResourcesTask.put(a, infoBoundResources);
-		  }
-		  
-		  while(!V.isEmpty()) {
-			  List<Integer> removeV = new ArrayList<>();
-			  for (int k = 0 ; k < V.size();k++) {
-				  int v = V.get(k);
-				  //System.out.println("Scheduling actor "+application.getActors().get(v).getName());
-				  /* Check whether data dependences are satisfied */
-				  if (PCOUNT.get(v) <= 0) {
-					  HashMap<CommunicationTask,Integer> startTimes = new HashMap<>();
-					  MyEntry<Integer,ArrayList<Integer>> infoBoundResources =  infoBoundResourcesTask.get(this.getApplication().getActors().get(v));  //   this.getBoundResources(bindings, v);
-					  ArrayList<Integer> boundResources = infoBoundResources.getValue();
-					  int discreteRuntime = infoBoundResources.getKey();
-					  
-					  int wholeExecTime = discreteRuntime;
-					  
-					  for(CommunicationTask  c: this.actorReads.get(v)) {
-						  wholeExecTime += c.getDiscretizedRuntime();
-						  //System.out.println("Read "+c.getName()+" costs "+c.getDiscretizedRuntime());
-					  }
-					  for(CommunicationTask  c: this.actorWrites.get(v)) {
-						  wholeExecTime += c.getDiscretizedRuntime();
-						  //System.out.println("Write "+c.getName()+" costs "+c.getDiscretizedRuntime());
-					  }
-					  //System.out.println("Comms of actor "+application.getActors().get(v).getName()+" discreteRuntime "+discreteRuntime + " wholeExecTime "+wholeExecTime);
-					  
-					  int start = startTime.get(v);
-					  //System.out.println("here1 ");
-					  // get the candidate start times in the bound core
-					  MyEntry<Integer,Integer> asapStartTime = new MyEntry<Integer,Integer>(start,wholeExecTime); 
-					  Queue<MyEntry<Integer,Integer>> candidateStartTimes = U.getCandidateStartsInBoundResources(boundResources, startTime.get(v),wholeExecTime);
-					  Queue<MyEntry<Integer,Integer>> setCandidateStartTimes = new LinkedList<>();
-					  setCandidateStartTimes.add(asapStartTime);
-					  setCandidateStartTimes.addAll(candidateStartTimes);
-					  //System.out.println("set candidate starts "+setCandidateStartTimes+" wholeExecTime"+wholeExecTime+" discreteRuntime "+discreteRuntime);
-					  
-					  boolean state = false;
-					  //System.out.println("start "+start);
-					  for(int startT = startTime.get(v); startT < startTime.get(v)+this.P; startT++) {
-						  if(U.canInsertIntervalUtilizationTable(v, boundResources, startT, startT+wholeExecTime ,wholeExecTime)) {
-							  // propose a start time for each communication task 
-							  startTimes = new HashMap<>();
-							  // first set the reads
-							  int taskStart = startT;
-							  int lengthReads = 0;
-							  ArrayList<CommunicationTask> actorReads =  this.actorReads.get(v);
-							  // then sort according to the new priory
-							  actorReads.sort((o1,o2) ->  o1.calculatePriorityFromInterconnects() - o2.calculatePriorityFromInterconnects());
-							  for(CommunicationTask c : actorReads) {
-								  startTimes.put(c, taskStart);
-								  taskStart += c.getDiscretizedRuntime();
-								  lengthReads += c.getDiscretizedRuntime();
-							  }
-							  taskStart += discreteRuntime;
-							  ArrayList<CommunicationTask> actorWrites =  this.actorWrites.get(v);
-							  // then sort according to the new priory
-							  actorWrites.sort((o1,o2) ->  o1.calculatePriorityFromInterconnects() - o2.calculatePriorityFromInterconnects());
-							  for(CommunicationTask c : actorWrites) {
-								  startTimes.put(c, taskStart);
-								  taskStart += c.getDiscretizedRuntime();
-							  }
-							  //System.exit(1);
-							  ArrayList<Boolean> canSchedule = new ArrayList<>();
-							  for(Map.Entry<CommunicationTask, Integer> sp : startTimes.entrySet()) {
-								  CommunicationTask c = sp.getKey();
-								  MyEntry<Integer,ArrayList<Integer>> infoBoundResourcesC =   infoBoundResourcesCTask.get(c);     //this.getBoundResources(bindings, c.getId());
-								  if(U.canInsertIntervalUtilizationTable(c.getId(), infoBoundResourcesC.getValue(), sp.getValue(), sp.getValue() +  c.getDiscretizedRuntime(), c.getDiscretizedRuntime()))
-									  canSchedule.add(true);
-								  else
-									  canSchedule.add(false);
-							  }
-							  canSchedule = new ArrayList<Boolean>( new HashSet<Boolean>(canSchedule));
-							  if (canSchedule.size() == 2) 
-								  continue;
-							  
-							  if (canSchedule.size() == 1) 
-								  if (canSchedule.get(0) == false)   
-									  continue;
-							  // then I can schedule all the tasks
-							  // schedule the core
-							  boolean successSchedule = U.insertIntervalUtilizationTable(v, boundResources, startT+lengthReads, startT+lengthReads+discreteRuntime , discreteRuntime);
-							  assert successSchedule : "This must not happen";
-							  for(Map.Entry<CommunicationTask, Integer> sp : startTimes.entrySet()) {
-								  CommunicationTask c = sp.getKey();
-								  MyEntry<Integer,ArrayList<Integer>> infoBoundResourcesC = infoBoundResourcesCTask.get(c); // this.getBoundResources(bindings, c.getId());
-								  successSchedule = U.insertIntervalUtilizationTable(c.getId(), infoBoundResourcesC.getValue() , sp.getValue(), sp.getValue() + c.getDiscretizedRuntime() , c.getDiscretizedRuntime());
-								  //U.printUtilizationTable(application.getActors(), setCommunicationTasks, coreTypes);
-								  assert successSchedule : "This must not happen";
-							  }
-							  //System.out.println("Scheduling "+this.getApplication().getActors().get(v).getName()+"!");
-							  //U.printUtilizationTable(application.getActors(), setCommunicationTasks, coreTypes);
-							  if (startT>= start) 
-								  startTime.put(v, startT);
-						      else {
-						    	  startTime.put(v, start + (this.P  - (start % this.P) )  + startT  );
-						       }
-							  //correct the start times
-							  state = true;
-							  break;  // succes in scheduling all the tasks
-						  }
-					  }
-					  if(!state)
-						  return false;
-					  // update info for communication tasks
-					  int taskStart = startTime.get(v);
-					  for(CommunicationTask c : this.actorReads.get(v)) {
-						  timeInfoActors.put(c.getId(), new TimeSlot(c.getId(), taskStart, taskStart + c.getDiscretizedRuntime()));
-						  taskStart += c.getDiscretizedRuntime();
-					  }
-					  // update info for actor
-					  timeInfoActors.put(v, new TimeSlot(v, taskStart,taskStart + discreteRuntime ));
-					  taskStart += discreteRuntime;
-					  for(CommunicationTask c : this.actorWrites.get(v)) {
-						  timeInfoActors.put(c.getId(), new TimeSlot(c.getId(), taskStart, taskStart + c.getDiscretizedRuntime()));
-						  taskStart += c.getDiscretizedRuntime();
-					  }
-					  for (int w : SUCC.get(v)) {
-						  PCOUNT.put(w, PCOUNT.get(w) -1 );
-						  //if (startTime.get(w) <= (startTime.get(v)+ discreteRuntime))
-						  //    startTime.put(w,startTime.get(v)+ discreteRuntime);
-						  int maxVal = startTime.get(w) > (startTime.get(v)+ wholeExecTime)  ? startTime.get(w) : (startTime.get(v)+wholeExecTime);
-						  startTime.put(w,maxVal);
-					  }
-					  //System.out.println("scheduled "+application.getActors().get(v).getName());
-					  removeV.add(v);
-					  break;
+		  // actors whose data dependences are satisfied, ordered by priority
+		  ReadyQueue ready = new ReadyQueue(nActors);
+		  boolean[] scheduled = new boolean[nActors];
+		  for(int i=0; i < nActors; i++)
+			  if (PCOUNT[i] <= 0)
+				  ready.push(i, i);
+		  int remaining = nActors;
+		  while(remaining > 0) {
+			  if (cancelled != null && cancelled.get())
+				  return false;
+			  int k = ready.poll();
+			  if (k < 0)
+				  return false;
+			  // the entry is stale if the actor was scheduled again or its predecessors were undone
+			  if (scheduled[k] || PCOUNT[k] > 0)
+				  continue;
+			  int v = actorIds[k];
+			  //System.out.println("Scheduling actor "+application.getActors().get(v).getName());
+			  ArrayList<Integer> boundResources = bindingResources.getResourceList(v);
+			  int discreteRuntime = bindingResources.getDiscreteRuntime(v);
+			  // already sorted according to the priority of the interconnects
+			  CommunicationTask[] reads = bindingResources.getReads(v);
+			  CommunicationTask[] writes = bindingResources.getWrites(v);
+			  // the first interval is the whole execution on the core, then each read and write at its offset
+			  ArrayList<ArrayList<Integer>> groupResources = bindingResources.getGroupResources(v);
+			  int[] offsets = bindingResources.getGroupOffsets(v);
+			  int[] lengths = bindingResources.getGroupLengths(v);
+			  int lengthReads = 0;
+			  for(int j = 1; j <= reads.length; j++)
+				  lengthReads += lengths[j];
+			  //System.out.println("Comms of actor "+application.getActors().get(v).getName()+" discreteRuntime "+discreteRuntime + " wholeExecTime "+wholeExecTime);
+			  
+			  int start = startTime[k];
+			  int firstStart = retryFrom[k] >= 0 ? retryFrom[k] : start;
+			  Placement placement = null;
+			  
+			  boolean state = false;
+			  //System.out.println("start "+start);
+			  // first start, at or after the suggested one, where the actor and each of its communication tasks fit at their offsets
+			  int candidate = U.getEarliestStartOfGroup(groupResources, offsets, lengths, firstStart);
+			  int startT = candidate < 0 ? start + this.P : firstStart + (candidate - firstStart % this.P + this.P) % this.P;
+			  if (startT < start+this.P) {
+				  // then I can schedule all the tasks
+				  placement = new Placement(k, U.mark(), start, startT, SUCC[k].length);
+				  // schedule the core
+				  boolean successSchedule = U.insertIntervalUtilizationTable(v, boundResources, startT+lengthReads, startT+lengthReads+discreteRuntime , discreteRuntime);
+				  assert successSchedule : "This must not happen";
+				  for(int j = 1; j < lengths.length; j++) {
+					  CommunicationTask c = j <= reads.length ? reads[j-1] : writes[j-1-reads.length];
+					  successSchedule = U.insertIntervalUtilizationTable(c.getId(), groupResources.get(j), startT + offsets[j], startT + offsets[j] + lengths[j], lengths[j]);
+					  //U.printUtilizationTable(application.getActors(), setCommunicationTasks, coreTypes);
+					  assert successSchedule : "This must not happen";
+				  }
+				  //System.out.println("Scheduling "+this.getApplication().getActors().get(v).getName()+"!");
+				  //U.printUtilizationTable(application.getActors(), setCommunicationTasks, coreTypes);
+				  startTime[k] = startT;
+				  state = true;
+			  }
+			  if(!state) {
+				  if (backtracks < maxBacktracks && !placements.isEmpty()) {
+					  // undo the last placement and try it again at a later start time
+					  backtracks++;
+					  retryFrom[k] = -1;
+					  Placement last = placements.pop();
+					  undoPlacement(last, actorIds, startTime, PCOUNT, SUCC);
+					  scheduled[last.getActor()] = false;
+					  remaining++;
+					  retryFrom[last.getActor()] = last.getPlacedStart() + 1;
+					  ready.push(last.getActor(), last.getActor());
+					  if (PCOUNT[k] <= 0)
+						  ready.push(k, k);
+					  continue;
 				  }
+				  return false;
 			  }
-			  V.removeAll(removeV);
+			  retryFrom[k] = -1;
+			  // update info for communication tasks
+			  for(int j = 1; j < lengths.length; j++) {
+				  CommunicationTask c = j <= reads.length ? reads[j-1] : writes[j-1-reads.length];
+				  int taskStart = startTime[k] + offsets[j];
+				  timeInfoActors.put(c.getId(), new TimeSlot(c.getId(), taskStart, taskStart + lengths[j]));
+			  }
+			  // update info for actor
+			  timeInfoActors.put(v, new TimeSlot(v, startTime[k] + lengthReads, startTime[k] + lengthReads + discreteRuntime ));
+			  for (int j = 0; j < SUCC[k].length; j++) {
+				  int w = SUCC[k][j];
+				  placement.getSuccessorStarts()[j] = startTime[w];
+				  PCOUNT[w]--;
+				  startTime[w] = startTime[w] > (startTime[k]+ DELAY[k][j])  ? startTime[w] : (startTime[k]+DELAY[k][j]);
+				  if (PCOUNT[w] <= 0 && !scheduled[w])
+					  ready.push(w, w);
+			  }
+			  placements.push(placement);
+			  //System.out.println("scheduled "+application.getActors().get(v).getName());
+			  scheduled[k] = true;
+			  remaining--;
 		  }
 		  return true;
 	  }
-
+	  
+	  // undoes the placement of an actor, together with its communication tasks
+	  private void undoPlacement(Placement placement, int[] actorIds, int[] startTime, int[] PCOUNT, int[][] SUCC) {
+		  int k = placement.getActor();
+		  int u = actorIds[k];
+		  U.rollback(placement.getMark());
+		  startTime[k] = placement.getRequestedStart();
+		  timeInfoActors.remove(u);
+		  for(CommunicationTask c : this.actorReads.get(u))
+			  timeInfoActors.remove(c.getId());
+		  for(CommunicationTask c : this.actorWrites.get(u))
+			  timeInfoActors.remove(c.getId());
+		  // in reverse order, an actor can appear more than once among the successors
+		  for (int j = SUCC[k].length - 1; j >= 0; j--) {
+			  PCOUNT[SUCC[k][j]]++;
+			  startTime[SUCC[k][j]] = placement.getSuccessorStarts()[j];
+		  }
+	  }
+	  
+	  // copies over the crossbar of the tokens of the MRBs transferred by the read tasks of the actor: each entry is
+	  // the id of the actor that reads the copy and the distance between the starts of both actors
+	  private List<int[]> getMulticastCopies(int actorId, Map<Integer,List<CommunicationTask>> followers) {
+		  List<int[]> copies = new ArrayList<>();
+		  if (followers.isEmpty())
+			  return copies;
+		  CommunicationTask[] reads = bindingResources.getReads(actorId);
+		  int[] offsets = bindingResources.getGroupOffsets(actorId);
+		  int[] lengths = bindingResources.getGroupLengths(actorId);
+		  for(int j = 0; j < reads.length; j++) {
+			  for(CommunicationTask c : followers.getOrDefault(reads[j].getId(), Collections.emptyList())) {
+				  int reader = c.getTransfer().getActor().getId();
+				  if (reader == actorId)
+					  continue;
+				  CommunicationTask[] readerReads = bindingResources.getReads(reader);
+				  int q = 0;
+				  while(readerReads[q] != c)
+					  q++;
+				  copies.add(new int[] {reader, offsets[j+1] + lengths[j+1] - bindingResources.getGroupOffsets(reader)[q+1]});
+			  }
+		  }
+		  return copies;
+	  }
+	  
 	  //useful functions for scheduling
 	  // PCOUNT: is the number of immediate predecessors of v not yet scheduled  
 	  private int getPCOUNT(Actor v) {
+		  return getPredecessors(v).size();
+	  }
+	  
+	  // immediate predecessors of v, the fifos with initial tokens do not constrain the schedule
+	  private Set<Integer> getPredecessors(Actor v) {
 		  Set<Integer> predecessors = new HashSet<Integer>();
 		  for(Fifo fifo : v.getInputFifos()) {
 			  if(!fifo.isFifoRecurrence()) {
@@ -530,7 +654,35 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
 					  predecessors.add( fifo.getSource().getId() );
 			  }
 		  }
-		  return predecessors.size();
+		  return predecessors;
+	  }
+	  
+	  // level of each actor in the precedences of the schedule, higher than the levels of all its predecessors
+	  private Map<Integer,Integer> getPrecedenceLevels() {
+		  Map<Integer,Integer> levels = new HashMap<>();
+		  Map<Integer,Integer> pending = new HashMap<>();
+		  Map<Integer,List<Integer>> successors = new HashMap<>();
+		  ArrayDeque<Integer> queue = new ArrayDeque<>();
+		  for(Actor a : application.getActors().values()) {
+			  Set<Integer> predecessors = getPredecessors(a);
+			  predecessors.retainAll(application.getActors().keySet());
+			  pending.put(a.getId(), predecessors.size());
+			  levels.put(a.getId(), 0);
+			  for(int u : predecessors)
+				  successors.computeIfAbsent(u, k -> new ArrayList<>()).add(a.getId());
+			  if (predecessors.isEmpty())
+				  queue.add(a.getId());
+		  }
+		  while(!queue.isEmpty()) {
+			  int u = queue.poll();
+			  for(int w : successors.getOrDefault(u, Collections.emptyList())) {
+				  levels.put(w, Math.max(levels.get(w), levels.get(u) + 1));
+				  pending.put(w, pending.get(w) - 1);
+				  if (pending.get(w) == 0)
+					  queue.add(w);
+			  }
+		  }
+		  return levels;
 	  }
 	 
 	  // 	SUCC: is the set of all immediate successors of v
@@ -585,8 +737,8 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
 		  }
 		  for(Map.Entry<Integer, CommunicationTask> cs : setCommunicationTasks.entrySet()) {
 			  CommunicationTask comm = cs.getValue();
-			  if(comm.getUsedNoc() != null) {
-				  usageNoC.put(comm.getUsedNoc().getId(), 0);
+			  for(NoC noc : comm.getUsedNoCs()) {
+				  usageNoC.put(noc.getId(), 0);
 			  }
 			  if(comm.getUsedLocalMemory() != null) {
 				  usageLocalMemory.put(comm.getUsedLocalMemory().getId(), 0);
@@ -623,8 +775,8 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
 				  usageCrossbar.put(crossbarId, val+discreteRuntime);
 			  }
 			  // init the noc
-			  if (comm.getUsedNoc() != null) {
-				  int nocId = comm.getUsedNoc().getId();
+			  for(NoC noc : comm.getUsedNoCs()) {
+				  int nocId = noc.getId();
 				  int val = usageNoC.get(nocId);
 				  int discreteRuntime = comm.getDiscretizedRuntime();
 				  maxExTime = (discreteRuntime > maxExTime) ? discreteRuntime : maxExTime;
@@ -666,6 +818,14 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
 			  tmpL.add(m.getValue());
 		  }
 		  this.MII = Collections.max(tmpL);
+		  if (recurrenceBound) {
+			  Cycles cycles = new Cycles();
+			  cycles.calculateRecMII(application, bindings);
+			  // no period can satisfy a cycle without initial tokens, the search of P would never end
+			  if (cycles.getRecMII() == Integer.MAX_VALUE)
+				  throw new IllegalStateException("There is a cycle without initial tokens, the application can not be scheduled");
+			  this.MII = Math.max(this.MII, cycles.getRecMII());
+		  }
 		  maxExTime = (this.MII > maxExTime) ? this.MII : maxExTime;
 		  //System.out.println("Heuristic with Communications MII "+MII);
 	  }
@@ -690,8 +850,8 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
 			  CommunicationTask comm = setCommunicationTasks.get(actorId);
 			  discreteRuntime = comm.getDiscretizedRuntime();
 			  // mapped to interconnect
-			  if(comm.getUsedNoc() != null) {
-				  boundResources.add(comm.getUsedNoc().getId());
+			  for(NoC noc : comm.getUsedNoCs()) {
+				  boundResources.add(noc.getId());
 			  }
 			  for(Crossbar c : comm.getUsedCrossbars()) {
 				  boundResources.add(c.getId());
@@ -736,6 +896,46 @@ public class HeuristicModuloSchedulerConstrained extends BaseScheduler implement
 		  return U;
 	  }
 	  
+	  public void setReservationType(UtilizationTable.RESERVATION_TYPE reservationType) {
+		  this.reservationType = reservationType;
+	  }
+	  
+	  public UtilizationTable.RESERVATION_TYPE getReservationType() {
+		  return this.reservationType;
+	  }
+	  
+	  public void setRecurrenceBound(boolean recurrenceBound) {
+		  this.recurrenceBound = recurrenceBound;
+	  }
+	  
+	  public boolean getRecurrenceBound() {
+		  return this.recurrenceBound;
+	  }
+	  
+	  public void setMaxBacktracks(int maxBacktracks) {
+		  this.maxBacktracks = maxBacktracks;
+	  }
+	  
+	  public int getMaxBacktracks() {
+		  return this.maxBacktracks;
+	  }
+	  
+	  public void setBindingResources(BindingResources bindingResources) {
+		  this.bindingResources = bindingResources;
+	  }
+	  
+	  public BindingResources getBindingResources() {
+		  return this.bindingResources;
+	  }
+	  
+	  public void setSearchPool(ForkJoinPool searchPool) {
+		  this.searchPool = searchPool;
+	  }
+	  
+	  public ForkJoinPool getSearchPool() {
+		  return this.searchPool;
+	  }
+	  
 	  public HashMap<Integer,TimeSlot> getTimeInfoActors() {
 		  return this.timeInfoActors;
 	  }
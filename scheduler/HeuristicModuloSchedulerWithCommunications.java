@@ -47,7 +47,9 @@ import multitile.mapping.Bindings;
 import multitile.scheduler.UtilizationTable.TimeSlot;
 import multitile.architecture.Architecture;
 import multitile.architecture.Crossbar;
+import multitile.architecture.NoC;
 import multitile.application.CompositeFifo;
+import multitile.application.Cycles;
 import multitile.Transfer;
 import multitile.Transfer.TRANSFER_TYPE;
 import multitile.application.Actor;
@@ -58,6 +60,8 @@ import multitile.application.Application;
 import multitile.application.CommunicationTask;
 import multitile.application.Fifo;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler implements Schedule{
   private HashMap<Integer,TimeSlot> timeInfoActors;
@@ -67,8 +71,23 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
   private HashMap<Integer,Integer> countCoresPerType;
   private ArrayList<String> coreTypes;
   private UtilizationTable U;
+  // implementation of the reservation table used when probing a period
+  private UtilizationTable.RESERVATION_TYPE reservationType = UtilizationTable.RESERVATION_TYPE.LINKED_LIST;
+  // placements that can be undone while testing a single P, 0 disables the backtracking
+  private int maxBacktracks = 0;
+  // start the search of P at the recurrence bound of the application when it is above the resource bound
+  private boolean recurrenceBound = false;
+  // place each actor at the earliest fit at or after its suggested start instead of using the candidate queue,
+  // a candidate before the suggested start (modulo P) is then the only one pushed to the next period
+  private boolean earliestFit = false;
+  // pool used to probe the candidate periods in parallel, null keeps the sequential search
+  private ForkJoinPool searchPool = null;
+  // set in the probes of the parallel search when their result is no longer needed
+  private AtomicBoolean cancelled = null;
   private double scaleFactor;
   private Application applicationWithMessages;
+  // bound resources of the actors and the communication tasks, computed once per bindings
+  private BindingResources bindingResources;
   
 	  public HeuristicModuloSchedulerWithCommunications(Architecture architecture, Application application, ArrayList<String> coreTypes, double scaleFactor){
 		  super();
@@ -93,6 +112,27 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 		  /*System.out.println("countCoresPerType "+countCoresPerType);*/
 		  this.scaleFactor = scaleFactor;
 	  }
+	  
+	  // probe of a single period in the parallel search, it shares the application,
+	  // the architecture and the application with messages with the scheduler
+	  private HeuristicModuloSchedulerWithCommunications(HeuristicModuloSchedulerWithCommunications other, int P, AtomicBoolean cancelled){
+		  super();
+		  this.setApplication(other.application);
+		  this.setArchitecture(other.architecture);
+		  this.countCoresPerType = other.countCoresPerType;
+		  this.coreTypes = other.coreTypes;
+		  this.scaleFactor = other.scaleFactor;
+		  this.reservationType = other.reservationType;
+		  this.maxBacktracks = other.maxBacktracks;
+		  this.recurrenceBound = other.recurrenceBound;
+		  this.setMulticastTransfers(other.isMulticastTransfers());
+		  this.earliestFit = other.earliestFit;
+		  this.applicationWithMessages = other.applicationWithMessages;
+		  this.bindingResources = other.bindingResources;
+		  this.MII = other.MII;
+		  this.P = P;
+		  this.cancelled = cancelled;
+	  }
   
 	  public void setApplicationWithMessages() {
 		  this.applicationWithMessages = new Application();
@@ -223,7 +263,7 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 	  }
 
 	  public void setInterconnects(Bindings bindings) {
-		  
+		  ArrayList<CommunicationTask> communicationTasks = new ArrayList<>();
 		  // generate the communication tasks
 		  for(Map.Entry<Integer, Actor> a : applicationWithMessages.getActors().entrySet()) {
 			  
@@ -233,10 +273,36 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 				  Queue<PassTransferOverArchitecture> setInterconnects = this.calculatePathOfTransfer(transfer, bindings);
 				  ctask.setUsedInterconnects(setInterconnects);
 				  ctask.setRuntimeFromInterconnects(this.scaleFactor);
+				  communicationTasks.add(ctask);
 			  }
 		  }
+		  if (isMulticastTransfers())
+			  setMulticastInterconnects(communicationTasks, bindings, this.scaleFactor);
 	 }
 	  
+	  // computes the bound resources once for all the probed periods, unless the ones
+	  // already set were computed for bindings with the same routing
+	  private void prepareBindingResources(Bindings bindings) {
+		  ArrayList<CommunicationTask> communicationTasks = new ArrayList<>();
+		  for(Actor a : applicationWithMessages.getActors().values())
+			  if (a.getType() == ACTOR_TYPE.READ_COMMUNICATION_TASK || a.getType() == ACTOR_TYPE.WRITE_COMMUNICATION_TASK)
+				  communicationTasks.add((CommunicationTask)a);
+		  if (bindingResources != null && bindingResources.sharesRouting(bindings, communicationTasks))
+			  return;
+		  bindingResources = new BindingResources();
+		  for(CommunicationTask c : communicationTasks)
+			  bindingResources.addCommunicationTask(c, this.getBoundResources(bindings, c.getId()).getValue());
+		  for(Actor a : applicationWithMessages.getActors().values()) {
+			  if (bindingResources.contains(a.getId()))
+				  continue;
+			  MyEntry<Integer,ArrayList<Integer>> infoBoundResources = this.getBoundResources(bindings, a.getId());
+			  if (a.getType() == ACTOR_TYPE.ACTOR || a.getType() == ACTOR_TYPE.MULTICAST)
+				  bindingResources.addActor(a.getId(), application.getActor(a.getName()).getId(), infoBoundResources.getKey(), infoBoundResources.getValue());
+			  else
+				  bindingResources.addTask(a.getId(), infoBoundResources.getKey(), infoBoundResources.getValue());
+		  }
+	  }
+	  
 	  public Application getApplicationWithMessages() {
 		  return this.applicationWithMessages;
 	  }
@@ -251,6 +317,11 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 		  // calculate the MII
 		  calculateMII(bindings);
 		  //calculateMIISecond(bindings);
+		  prepareBindingResources(bindings);
+		  if (searchPool != null) {
+			  tryToScheduleInParallel(bindings);
+			  return;
+		  }
 		  // set the initial P as MII
 		  this.P = this.MII;
 		  //System.out.println("MII "+this.P);
@@ -305,6 +376,18 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 		  //System.out.println("DONE "+this.P);
 	  }
 	  
+	  // same search of P as tryToSchedule, each candidate period is probed in its own copy of the scheduler
+	  private void tryToScheduleInParallel(Bindings bindings) {
+		  PeriodSearch<HeuristicModuloSchedulerWithCommunications> search = new PeriodSearch<>(searchPool, (P, cancelled) -> {
+			  HeuristicModuloSchedulerWithCommunications probe = new HeuristicModuloSchedulerWithCommunications(this, P, cancelled);
+			  return probe.calculateStartTimes(bindings) ? probe : null;
+		  });
+		  HeuristicModuloSchedulerWithCommunications best = search.search(this.MII);
+		  this.P = best.P;
+		  this.U = best.U;
+		  this.timeInfoActors = best.timeInfoActors;
+	  }
+	  
 	  public void printTimeInfoActors() {
 		  for(Map.Entry<Integer,TimeSlot> t : timeInfoActors.entrySet()) {
 			  System.out.println("Actor "+applicationWithMessages.getActors().get(t.getValue().getActorId()).getName()+" STARTS AT "+t.getValue().getStartTime()+" ENDS AT "+t.getValue().getEndTime());
@@ -314,16 +397,18 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 	  // method to initialize the initial startTimes, endTimes and lengthTimes
 	  public boolean calculateStartTimes(Bindings bindings) {
 		  timeInfoActors = new HashMap<>();
-	
-		  HashMap<Integer,Integer> startTime = new HashMap<>();
-		  List<Integer> V = new ArrayList<>();
 		  
+		  // the actors are indexed in order of priority, the index is also the key in the ready queue
 		  ArrayList<Actor> actorsToOrder = new ArrayList<>(applicationWithMessages.getActors().values());
 		  actorsToOrder.sort((o1,o2) ->  o1.getPriority() - o2.getPriority());
-		  for(Actor v : actorsToOrder){
-			  V.add(v.getId());
-			  startTime.put(v.getId(), 0);
+		  int nActors = actorsToOrder.size();
+		  int[] actorIds = new int[nActors];
+		  HashMap<Integer,Integer> actorIndex = new HashMap<>();
+		  for(int i=0; i < nActors; i++){
+			  actorIds[i] = actorsToOrder.get(i).getId();
+			  actorIndex.put(actorIds[i], i);
 		  }
+		  int[] startTime = new int[nActors];
 		  
 		  // [Modulo schedule the loop]
 		  // 		a) [Schedule operations in G(V, E) taking only intra-iteration dependences into account]
@@ -348,8 +433,8 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 				  // cast to communication task
 				  CommunicationTask comm = (CommunicationTask)actor;
 				  // mapped to interconnect
-				  if(comm.getUsedNoc() != null) {
-					  countResourcesPerType.put(comm.getUsedNoc().getId(), 1);
+				  for(NoC noc : comm.getUsedNoCs()) {
+					  countResourcesPerType.put(noc.getId(), 1);
 				  }
 				  if(comm.getUsedLocalMemory() != null) {
 					  countResourcesPerType.put(comm.getUsedLocalMemory().getId(), 1);
@@ -361,93 +446,143 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 			  }
 		  }
 		  
-		  U = new UtilizationTable(countResourcesPerType,this.P);
+		  U = UtilizationTable.createUtilizationTable(reservationType,countResourcesPerType,this.P);
 		  // compute PCOUNT and SUCC
 		  // PCOUNT: is the number of immediate predecessors of v not yet scheduled  
 		  // SUCC: is the set of all immediate successors of v
-		  // Map<ActorId, Value>
+		  // indexed by the index of the actor
 		  //predecessor count
-		  HashMap<Integer,Integer> PCOUNT	= new HashMap<>();
+		  int[] PCOUNT	= new int[nActors];
 		  // succesors
-		  HashMap<Integer,Set<Integer>> SUCC 	= new HashMap<>();
-		  for(Map.Entry<Integer, Actor> actor : applicationWithMessages.getActors().entrySet()) {
-			  PCOUNT.put(actor.getKey(), getPCOUNT(actor.getValue()));
-			  SUCC.put(actor.getKey(), getSUCC(actor.getValue()));
+		  int[][] SUCC 	= new int[nActors][];
+		  // the read tasks that copy the tokens of an MRB in a tile are successors of the one transferring them over the NoC
+		  Map<Integer,List<CommunicationTask>> followers = getMulticastFollowers(applicationWithMessages.getActors().values());
+		  for(int i=0; i < nActors; i++) {
+			  PCOUNT[i] = getPCOUNT(actorsToOrder.get(i));
+			  Set<Integer> successors = getSUCC(actorsToOrder.get(i));
+			  for(CommunicationTask c : followers.getOrDefault(actorIds[i], Collections.emptyList()))
+				  successors.add(c.getId());
+			  SUCC[i] = new int[successors.size()];
+			  int j = 0;
+			  for(int w : successors)
+				  SUCC[i][j++] = actorIndex.get(w);
 		  }
+		  for(List<CommunicationTask> tasks : followers.values())
+			  for(CommunicationTask c : tasks)
+				  PCOUNT[actorIndex.get(c.getId())]++;
 		  
+		  // placements done so far, and the first start time to try for the actors whose placement was undone
+		  Stack<Placement> placements = new Stack<>();
+		  int[] retryFrom = new int[nActors];
+		  Arrays.fill(retryFrom, -1);
+		  int backtracks = 0;
 		  
-		  while(!V.isEmpty()) {
-			  List<Integer> removeV = new ArrayList<>();
-			  for (int k = 0 ; k < V.size();k++) {
-				  int v = V.get(k);
-				  MyEntry<Integer,ArrayList<Integer>> infoBoundResources = this.getBoundResources(bindings, v);
-				  ArrayList<Integer> boundResources = infoBoundResources.getValue();
-				  int discreteRuntime = infoBoundResources.getKey();
-				  /* Check whether data dependences are satisfied */
-				  if (PCOUNT.get(v) == 0) {
-					  //System.out.println("\nscheduling "+applicationWithMessages.getActors().get(v).getName()+" runtime "+discreteRuntime+" bound Resources "+boundResources+" want starts "+startTime.get(v));
-						/* Check that no more than num(r(v)) operations are scheduled on the
-	           			resources corresponding to *R(r(v)) at the same time modulo MII */
-					  int start = startTime.get(v);
-					  //int upperBound = (Math.floorDiv(start,this.P) + 1) * P; 
-					  /**
-					   *FASTER IMPLEMENTATION UNDER EVALUATION
-					   */
-					  if(!U.insertIntervalUtilizationTable(v, boundResources, startTime.get(v), startTime.get(v)+discreteRuntime ,discreteRuntime)) {
-						  // It was not possible to insert in the suggested start time, then I have to get the candidate start times
-						  /**Only evaluatates at the point in time where there is enough space in the bound resources**/
-						  Queue<MyEntry<Integer,Integer>> candidateStartTimes = U.getCandidateStartsInBoundResources(boundResources, startTime.get(v), discreteRuntime);
-						  boolean state = false;
-						  for(MyEntry<Integer,Integer> q : candidateStartTimes) {
-							  state = U.insertIntervalUtilizationTable(v, boundResources, q.getKey(), q.getKey()+discreteRuntime ,discreteRuntime) ;
-							  if(state){
-								  //System.out.println("q.getKey() "+q.getKey() +" start "+start);
-								  if (q.getKey()>= start) 
-									  startTime.put(v, q.getKey());
-							      else {
-							    	  startTime.put(v, start + (this.P  - (start % this.P) )  + q.getKey()  );
-							       }
-								  //System.out.println("new start "+startTime.get(v));
-								  break;
-							  }
-						  }
-						  if (!state)
-							  return false;
-					  }	  
-					  
-					  /** THIS CODE BELOGN TO A BACKUP WORKING IMP MORE TIME DEMANDING
-					   * int upperBound = start % this.P;
-					  //System.out.println("actor "+application.getActors().get(v).getName()+ " lenght "+discreteRuntime);
-					  while(!U.insertIntervalUtilizationTable(v, boundResources, startTime.get(v), startTime.get(v)+discreteRuntime ,discreteRuntime)) {
-						  //System.out.println("Trying to insert"+application.getActors().get(v).getName()+" at "+startTime.get(v)+" to "+((startTime.get(v) + discreteRuntime) % this.P ));
-						  startTime.put(v, startTime.get(v)+1 );
-						  if (upperBound == startTime.get(v) % P ) {
-							  // if it not possible to schedule with this P, you have to increase P
-							  return false;
-							  //System.exit(1);  // here I have to increase the MII
-						  }  
-					  }*/
-					  //System.out.println("SCHEDULED "+applicationWithMessages.getActors().get(v).getName()+" runtime "+discreteRuntime+" bound Resources "+boundResources+" starts "+startTime.get(v));
-					  //U.printUtilizationTable(applicationWithMessages.getActors(), coreTypes);
-					  timeInfoActors.put(v, new TimeSlot(v, startTime.get(v),startTime.get(v) + discreteRuntime ));
-					  
-					  for (int w : SUCC.get(v)) {
-						  PCOUNT.put(w, PCOUNT.get(w) -1 );
-						  //if (startTime.get(w) <= (startTime.get(v)+ discreteRuntime))
-						  //    startTime.put(w,startTime.get(v)+ discreteRuntime);
-						  int maxVal = startTime.get(w) > (startTime.get(v)+ discreteRuntime)  ? startTime.get(w) : (startTime.get(v)+discreteRuntime);
-						  startTime.put(w,maxVal);
-					  }
-					  
-					  removeV.add(v);
-					  break;
+		  // actors whose data dependences are satisfied, ordered by priority
+		  ReadyQueue ready = new ReadyQueue(nActors);
+		  boolean[] scheduled = new boolean[nActors];
+		  for(int i=0; i < nActors; i++)
+			  if (PCOUNT[i] == 0)
+				  ready.push(i, i);
+		  int remaining = nActors;
+		  while(remaining > 0) {
+			  if (cancelled != null && cancelled.get())
+				  return false;
+			  int k = ready.poll();
+			  if (k < 0)
+				  return false;
+			  // the entry is stale if the actor was scheduled again or its predecessors were undone
+			  if (scheduled[k] || PCOUNT[k] != 0)
+				  continue;
+			  int v = actorIds[k];
+			  ArrayList<Integer> boundResources = bindingResources.getResourceList(v);
+			  int discreteRuntime = bindingResources.getDiscreteRuntime(v);
+			  //System.out.println("\nscheduling "+applicationWithMessages.getActors().get(v).getName()+" runtime "+discreteRuntime+" bound Resources "+boundResources+" want starts "+startTime[k]);
+				/* Check that no more than num(r(v)) operations are scheduled on the
+       			resources corresponding to *R(r(v)) at the same time modulo MII */
+			  int start = startTime[k];
+			  //int upperBound = (Math.floorDiv(start,this.P) + 1) * P; 
+			  /**
+			   *FASTER IMPLEMENTATION UNDER EVALUATION
+			   */
+			  int candidateStart = -1;
+			  int placedStart = -1;
+			  if (earliestFit || retryFrom[k] >= 0) {
+				  // first start time, at or after the suggested one (modulo P), where there is enough space in the bound resources
+				  int firstStart = retryFrom[k] >= 0 ? retryFrom[k] : start;
+				  candidateStart = firstStart < start + this.P ? U.getEarliestStartInBoundResources(boundResources, firstStart, discreteRuntime) : -1;
+				  if (candidateStart >= 0) {
+					  if (candidateStart >= firstStart % this.P) 
+						  placedStart = firstStart - (firstStart % this.P) + candidateStart;
+					  else
+						  placedStart = firstStart + (this.P  - (firstStart % this.P) )  + candidateStart;
+					  if (placedStart >= start + this.P)
+						  placedStart = -1;
+				  }
+			  }else if (U.fitsInBoundResources(boundResources, start, discreteRuntime)) {
+				  candidateStart = start % this.P;
+				  placedStart = start;
+			  }else {
+				  // first gap of the bound resources where the actor fits, a gap before the suggested start goes to the next period
+				  candidateStart = U.getFirstGapStart(boundResources, start, discreteRuntime);
+				  if (candidateStart >= start)
+					  placedStart = candidateStart;
+				  else if (candidateStart >= 0)
+					  placedStart = start + (this.P  - (start % this.P) )  + candidateStart;
+			  }
+			  if (placedStart < 0) {
+				  if (backtracks < maxBacktracks && !placements.isEmpty()) {
+					  // undo the last placement and try it again at a later start time
+					  backtracks++;
+					  retryFrom[k] = -1;
+					  Placement last = placements.pop();
+					  undoPlacement(last, actorIds, startTime, PCOUNT, SUCC);
+					  scheduled[last.getActor()] = false;
+					  remaining++;
+					  retryFrom[last.getActor()] = last.getPlacedStart() + 1;
+					  ready.push(last.getActor(), last.getActor());
+					  if (PCOUNT[k] == 0)
+						  ready.push(k, k);
+					  continue;
 				  }
+				  return false;
 			  }
-			  V.removeAll(removeV);
+			  retryFrom[k] = -1;
+			  Placement placement = new Placement(k, U.mark(), start, placedStart, SUCC[k].length);
+			  boolean state = U.insertIntervalUtilizationTable(v, boundResources, candidateStart, candidateStart+discreteRuntime ,discreteRuntime);
+			  assert state : "This must not happen";
+			  startTime[k] = placedStart;
+			  
+			  //System.out.println("SCHEDULED "+applicationWithMessages.getActors().get(v).getName()+" runtime "+discreteRuntime+" bound Resources "+boundResources+" starts "+startTime[k]);
+			  //U.printUtilizationTable(applicationWithMessages.getActors(), coreTypes);
+			  timeInfoActors.put(v, new TimeSlot(v, startTime[k],startTime[k] + discreteRuntime ));
+			  
+			  for (int j = 0; j < SUCC[k].length; j++) {
+				  int w = SUCC[k][j];
+				  placement.getSuccessorStarts()[j] = startTime[w];
+				  PCOUNT[w]--;
+				  startTime[w] = startTime[w] > (startTime[k]+ discreteRuntime)  ? startTime[w] : (startTime[k]+discreteRuntime);
+				  if (PCOUNT[w] == 0 && !scheduled[w])
+					  ready.push(w, w);
+			  }
+			  placements.push(placement);
+			  scheduled[k] = true;
+			  remaining--;
 		  }
 		  return true;
 	  }
-
+	  
+	  // undoes the placement of an actor
+	  private void undoPlacement(Placement placement, int[] actorIds, int[] startTime, int[] PCOUNT, int[][] SUCC) {
+		  int k = placement.getActor();
+		  U.rollback(placement.getMark());
+		  startTime[k] = placement.getRequestedStart();
+		  timeInfoActors.remove(actorIds[k]);
+		  for (int j = 0; j < SUCC[k].length; j++) {
+			  PCOUNT[SUCC[k][j]]++;
+			  startTime[SUCC[k][j]] = placement.getSuccessorStarts()[j];
+		  }
+	  }
+	  
 	  //useful functions for scheduling
 	  // PCOUNT: is the number of immediate predecessors of v not yet scheduled  
 	  private int getPCOUNT(Actor v) {
@@ -516,8 +651,8 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 					  usageCrossbar.put(c.getId(), 0);
 				  }
 				  // init the noc
-				  if (comm.getUsedNoc() != null) {
-					  usageNoC.put(comm.getUsedNoc().getId(), 0);
+				  for(NoC noc : comm.getUsedNoCs()) {
+					  usageNoC.put(noc.getId(), 0);
 				  }
 				  if(comm.getUsedLocalMemory() != null) {
 					  usageLocalMemory.put(comm.getUsedLocalMemory().getId(), 0);
@@ -551,8 +686,8 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 					  usageCrossbar.put(crossbarId, val+discreteRuntime);
 				  }
 				  // init the noc
-				  if (comm.getUsedNoc() != null) {
-					  int nocId = comm.getUsedNoc().getId();
+				  for(NoC noc : comm.getUsedNoCs()) {
+					  int nocId = noc.getId();
 					  int val = usageNoC.get(nocId);
 					  int discreteRuntime = comm.getDiscretizedRuntime();
 					  maxExTime = (discreteRuntime > maxExTime) ? discreteRuntime : maxExTime;
@@ -596,6 +731,14 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 			  tmpL.add(m.getValue());
 		  }
 		  this.MII = Collections.max(tmpL);
+		  if (recurrenceBound) {
+			  Cycles cycles = new Cycles();
+			  cycles.calculateRecMII(application, bindings);
+			  // no period can satisfy a cycle without initial tokens, the search of P would never end
+			  if (cycles.getRecMII() == Integer.MAX_VALUE)
+				  throw new IllegalStateException("There is a cycle without initial tokens, the application can not be scheduled");
+			  this.MII = Math.max(this.MII, cycles.getRecMII());
+		  }
 		  maxExTime = (this.MII > maxExTime) ? this.MII : maxExTime;
 		  //System.out.println("Heuristic with Communications MII "+MII);
 	  }
@@ -633,8 +776,8 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 					  usageCrossbar.put(c.getId(), 0);
 				  }
 				  // init the noc
-				  if (comm.getUsedNoc() != null) {
-					  usageNoC.put(comm.getUsedNoc().getId(), 0);
+				  for(NoC noc : comm.getUsedNoCs()) {
+					  usageNoC.put(noc.getId(), 0);
 				  }
 				  if(comm.getUsedLocalMemory() != null) {
 					  usageLocalMemory.put(comm.getUsedLocalMemory().getId(), 0);
@@ -667,8 +810,8 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 					  usageCrossbar.put(crossbarId, val+discreteRuntime);
 				  }
 				  // init the noc
-				  if (comm.getUsedNoc() != null) {
-					  int nocId = comm.getUsedNoc().getId();
+				  for(NoC noc : comm.getUsedNoCs()) {
+					  int nocId = noc.getId();
 					  int val = usageNoC.get(nocId);
 					  int discreteRuntime = comm.getDiscretizedRuntime();
 					  maxExTime = (discreteRuntime > maxExTime) ? discreteRuntime : maxExTime;
@@ -732,8 +875,8 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 			  CommunicationTask comm = (CommunicationTask)actor;
 			  discreteRuntime = comm.getDiscretizedRuntime();
 			  // mapped to interconnect
-			  if(comm.getUsedNoc() != null) {
-				  boundResources.add(comm.getUsedNoc().getId());
+			  for(NoC noc : comm.getUsedNoCs()) {
+				  boundResources.add(noc.getId());
 			  }
 			  for(Crossbar c : comm.getUsedCrossbars()) {
 				  boundResources.add(c.getId());
@@ -772,6 +915,54 @@ public class HeuristicModuloSchedulerWithCommunications extends BaseScheduler im
 		  return U;
 	  }
 	  
+	  public void setReservationType(UtilizationTable.RESERVATION_TYPE reservationType) {
+		  this.reservationType = reservationType;
+	  }
+	  
+	  public UtilizationTable.RESERVATION_TYPE getReservationType() {
+		  return this.reservationType;
+	  }
+	  
+	  public void setBindingResources(BindingResources bindingResources) {
+		  this.bindingResources = bindingResources;
+	  }
+	  
+	  public BindingResources getBindingResources() {
+		  return this.bindingResources;
+	  }
+	  
+	  public void setRecurrenceBound(boolean recurrenceBound) {
+		  this.recurrenceBound = recurrenceBound;
+	  }
+	  
+	  public boolean getRecurrenceBound() {
+		  return this.recurrenceBound;
+	  }
+	  
+	  public void setEarliestFit(boolean earliestFit) {
+		  this.earliestFit = earliestFit;
+	  }
+	  
+	  public boolean getEarliestFit() {
+		  return this.earliestFit;
+	  }
+	  
+	  public void setMaxBacktracks(int maxBacktracks) {
+		  this.maxBacktracks = maxBacktracks;
+	  }
+	  
+	  public int getMaxBacktracks() {
+		  return this.maxBacktracks;
+	  }
+	  
+	  public void setSearchPool(ForkJoinPool searchPool) {
+		  this.searchPool = searchPool;
+	  }
+	  
+	  public ForkJoinPool getSearchPool() {
+		  return this.searchPool;
+	  }
+	  
 	  public HashMap<Integer,TimeSlot> getTimeInfoActors() {
 		  return this.timeInfoActors;
 	  }
@@ -0,0 +1,170 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Time resolved check of the memory capacities during a schedule. The scheduler
+     records the bytes stored in each FIFO when they change, the check groups the
+     records by the memory bound to each FIFO and reports, per memory, the first
+     time its capacity is exceeded and the FIFOs that have to be remapped.
+--------------------------------------------------------------------------
+*/
+package multitile.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import multitile.application.Application;
+import multitile.application.CompositeFifo;
+import multitile.application.Fifo;
+import multitile.architecture.Memory;
+import multitile.architecture.OccupancyTimeline;
+import multitile.mapping.Bindings;
+
+public class MemoryCapacityChecker{
+	private Application application;
+	// last recorded bytes of each fifo
+	private Map<Integer,Double> recordedBytes;
+	private List<Record> records;
+	private List<CapacityViolation> violations;
+
+	private static class Record {
+		private int fifoId;
+		private double time;
+		private double bytes;
+
+		private Record(int fifoId, double time, double bytes) {
+			this.fifoId = fifoId;
+			this.time = time;
+			this.bytes = bytes;
+		}
+	}
+
+	public MemoryCapacityChecker(Application application) {
+		this.application = application;
+		this.reset();
+	}
+
+	// starts a new schedule, the initial tokens are stored at time 0.0
+	public void reset() {
+		recordedBytes = new HashMap<>();
+		records = new ArrayList<>();
+		violations = new ArrayList<>();
+		for(Map.Entry<Integer, Fifo> f : application.getFifos().entrySet()) {
+			recordedBytes.put(f.getKey(), 0.0);
+			recordFifoState(f.getValue(), 0.0);
+		}
+	}
+
+	public static double getStoredBytes(Fifo fifo) {
+		int tokens;
+		if (fifo.isCompositeChannel())
+			tokens = ((CompositeFifo)fifo).getTokensInMRB();
+		else
+			tokens = fifo.get_tokens();
+		return (double)tokens * fifo.getTokenSize();
+	}
+
+	// stores the current state of the fifo from when on
+	public void recordFifoState(Fifo fifo, double when) {
+		double bytes = getStoredBytes(fifo);
+		double delta = bytes - recordedBytes.get(fifo.getId());
+		if (delta == 0)
+			return;
+		recordedBytes.put(fifo.getId(), bytes);
+		records.add(new Record(fifo.getId(), when, delta));
+	}
+
+	public int getNumberOfRecords() {
+		return records.size();
+	}
+
+	// one violation per overflowed memory sorted by time, empty if all the memories fit
+	public List<CapacityViolation> check(Bindings bindings) {
+		Map<Integer,Memory> memories = new HashMap<>();
+		Map<Integer,OccupancyTimeline> timelines = new HashMap<>();
+		Map<Integer,List<Record>> memoryRecords = new HashMap<>();
+		for(Record r : records) {
+			Memory memory = bindings.getFifoMemoryBindings().get(r.fifoId).getTarget();
+			if (!memories.containsKey(memory.getId())) {
+				memories.put(memory.getId(), memory);
+				timelines.put(memory.getId(), new OccupancyTimeline());
+				memoryRecords.put(memory.getId(), new ArrayList<>());
+			}
+			timelines.get(memory.getId()).add(r.time, r.bytes);
+			memoryRecords.get(memory.getId()).add(r);
+		}
+		violations = new ArrayList<>();
+		for(Map.Entry<Integer, Memory> m : memories.entrySet()) {
+			Memory memory = m.getValue();
+			OccupancyTimeline timeline = timelines.get(m.getKey());
+			double time = timeline.getFirstTimeAbove(Double.NEGATIVE_INFINITY, memory.getCapacity());
+			if (Double.isNaN(time))
+				continue;
+			// content of the memory at the overflow
+			TreeMap<Integer,Double> stored = new TreeMap<>();
+			for(Record r : memoryRecords.get(m.getKey())) {
+				if (r.time <= time)
+					stored.put(r.fifoId, stored.getOrDefault(r.fifoId, 0.0) + r.bytes);
+			}
+			// same greedy choice as checkMemorySize, the fifos that do not fit are remapped
+			List<Fifo> fifos = new ArrayList<>();
+			double currentStored = 0.0;
+			for(Map.Entry<Integer, Double> s : stored.entrySet()) {
+				if (s.getValue() <= 0)
+					continue;
+				if (currentStored + s.getValue() <= memory.getCapacity())
+					currentStored += s.getValue();
+				else
+					fifos.add(application.getFifos().get(s.getKey()));
+			}
+			violations.add(new CapacityViolation(memory, time, timeline.getValue(time), fifos));
+		}
+		violations.sort((o1,o2) -> {
+			int cmp = Double.compare(o1.getTime(), o2.getTime());
+			if (cmp != 0)
+				return cmp;
+			return Integer.compare(o1.getMemory().getId(), o2.getMemory().getId());
+		});
+		return violations;
+	}
+
+	// violations found by the last check
+	public List<CapacityViolation> getViolations() {
+		return violations;
+	}
+
+	public CapacityViolation getFirstViolation() {
+		return violations.isEmpty() ? null : violations.get(0);
+	}
+}
@@ -233,22 +233,19 @@ public class ModuloScheduler extends BaseScheduler implements Schedule{
 	  // 		c) [Compute the minimum initiation interval]
 	  MII = ((RESII >= RECII) ? RESII : RECII);
 	  double IIprime = Double.NEGATIVE_INFINITY;
+	  // row of each core type in the usage table
+	  HashMap<Integer,Integer> coreTypeRow = new HashMap<>();
+	  for(int coreType : usage.keySet())
+		  coreTypeRow.put(coreType, coreTypeRow.size());
 	  while(true){
 		  // [Modulo schedule the loop]
 		  // 		a) [Schedule operations in G(V, E) taking only intra-iteration dependences into account]
 		  // 		   Let U(i, j) denote the usage of the i-th resource class in control step j
 		  //             In this implementation, U(i, j) denote the usage of the i-th tile class in control step j
-		  //             i and j are stored in a list which serves as key in a map
-		  // key core type - step
-		  Map<ArrayList<Integer>,Integer> U = new HashMap<>();
-		  for(HashMap.Entry<Integer,Integer>  u : usage.entrySet()) {
-			  for (int i=0; i<application.getActors().size()*3;i++) {
-				  ArrayList<Integer> key = new ArrayList<Integer>();
-				  key.add(u.getKey());
-				  key.add(i);
-				  U.put(key, 0); 
-			  }
-		  }
+		  //             the row of each core type grows when an actor is scheduled beyond its last step
+		  int[][] U = new int[coreTypeRow.size()][application.getActors().size()];
+		  // last step assigned so far
+		  int maxL = 0;
 		  // compute PCOUNT and SUCC
 		  // PCOUNT: is the number of immediate predecessors of v not yet scheduled  
 		  // SUCC: is the set of all immediate successors of v
@@ -272,20 +269,23 @@ public class ModuloScheduler extends BaseScheduler implements Schedule{
 				  if (PCOUNT.get(v) == 0) {
 				  /* Check that no more than num(r(v)) operations are scheduled on the
                		resources corresponding to *R(r(v)) at the same time modulo MII */
-					  int BU = calcU(l,MII,U,v,coreTypeBinding);
-					  while(!(BU<  countCoresPerType.get(coreTypeBinding))) {
-						  l.put(v, l.get(v)+1);
-						  BU = calcU(l,MII,U,v,coreTypeBinding);  
+					  int row = coreTypeRow.get(coreTypeBinding);
+					  int cores = countCoresPerType.get(coreTypeBinding);
+					  int lv = l.get(v);
+					  while(!(calcU(U[row],lv,maxL,MII) < cores)) {
+						  lv++;
+						  maxL = lv > maxL ? lv : maxL;
 					  }
-					  ArrayList<Integer> key = new ArrayList<>();
-					  key.add(coreTypeBinding);
-					  key.add(l.get(v));
-					  U.put(key, U.get(key) + 1);
+					  l.put(v, lv);
+					  if (lv >= U[row].length)
+						  U[row] = Arrays.copyOf(U[row], Math.max(2*U[row].length, lv+1));
+					  U[row][lv]++;
 					  //System.out.println(U);
 					  for (int w : SUCC.get(v)) {
 						  PCOUNT.put(w, PCOUNT.get(w) -1 );
-						  int maxVal = l.get(w) > l.get(v)+1 ? l.get(w) : l.get(v)+1;
+						  int maxVal = l.get(w) > lv+1 ? l.get(w) : lv+1;
 						  l.put(w,maxVal);
+						  maxL = maxVal > maxL ? maxVal : maxL;
 					  }
 					  removeV.add(v);
 				  }
@@ -410,9 +410,11 @@ public class ModuloScheduler extends BaseScheduler implements Schedule{
   public void schedule(Bindings bindings){
 	  architecture.resetArchitecture();
 	  application.resetApplication(architecture, bindings, application);
+	  resetMulticastTransfers();
 	  while( ! scheduleModulo(bindings)) {
 		  architecture.resetArchitecture();
 		  application.resetApplication(architecture, bindings, application);
+		  resetMulticastTransfers();
 	  }
   }
 
@@ -783,22 +785,15 @@ public class ModuloScheduler extends BaseScheduler implements Schedule{
 	  return SUCC;
   }
 
-  private int calcU(HashMap<Integer,Integer> l,int MII, Map<ArrayList< Integer >,Integer> U,int v, int coreTypeMapping) { 
+  // usage of the core type in all the steps that overlap with step modulo MII, up to the last assigned step
+  private int calcU(int[] usageOfType, int step, int maxL, int MII) { 
 	  int BU=0;
-	  int maxL = 	Collections.max(new ArrayList<>(l.values()));
-	  for (int i=0;i<=Math.floor(l.get(v)/MII);i++) {
-            ArrayList<Integer> key = new ArrayList<>();
-            key.add(coreTypeMapping);
-            key.add(l.get(v)-i*MII);
-            BU += U.get(key);
-	  }
-	  int i = l.get(v) + MII;
-	  while(i<=maxL) {
-    	 ArrayList<Integer> key = new ArrayList<>();
-    	 key.add(coreTypeMapping);
-    	 key.add(i);
-         BU += U.get(key);
-    	 i=i+MII;
+	  for (int i=step; i >= 0; i -= MII) {
+		  if (i < usageOfType.length)
+			  BU += usageOfType[i];
+	  }
+	  for (int i=step+MII; i<=maxL && i < usageOfType.length; i += MII) {
+		  BU += usageOfType[i];
 	  }
 	  return BU;
   }
@@ -0,0 +1,124 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Bookkeeping of multicast reads of MRBs. The k-th read of each reader of an MRB
+     reads the k-th token, the readers bound to the same tile share the traversal
+     of the token over the NoC and fan it out over the crossbar of the tile. A
+     traversal is kept only until every reader of the tile has read the token.
+--------------------------------------------------------------------------
+*/
+package multitile.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import multitile.Transfer;
+
+public class MulticastTraversals{
+	// key is the mrb id, value is a map with key the tile id and value the traversals of the tokens to the tile
+	// that some reader of the tile has not read yet, indexed by token
+	private HashMap<Integer,HashMap<Integer,HashMap<Integer,Traversal>>> traversals;
+	// key is the mrb id, value is a map with key the tile id and value the number of tokens transferred to the tile
+	private HashMap<Integer,HashMap<Integer,Integer>> transferredTokens;
+	// key is the mrb id, value is a map with key the actor id and value the number of reads of the actor
+	private HashMap<Integer,HashMap<Integer,Integer>> reads;
+
+	private static class Traversal {
+		private Transfer transfer;
+		// readers of the tile that still have to read the token
+		private int pendingReaders;
+
+		Traversal(Transfer transfer, int pendingReaders) {
+			this.transfer = transfer;
+			this.pendingReaders = pendingReaders;
+		}
+	}
+
+	public MulticastTraversals() {
+		traversals = new HashMap<>();
+		transferredTokens = new HashMap<>();
+		reads = new HashMap<>();
+	}
+
+	public void reset() {
+		traversals.clear();
+		transferredTokens.clear();
+		reads.clear();
+	}
+
+	// returns the index of the token read by the actor and counts the read
+	public int nextRead(int mrbId, int actorId) {
+		HashMap<Integer,Integer> readsMRB = reads.computeIfAbsent(mrbId, k -> new HashMap<>());
+		int token = readsMRB.getOrDefault(actorId, 0);
+		readsMRB.put(actorId, token + 1);
+		return token;
+	}
+
+	// returns the traversal of the token to the tile and counts the read of the token, or null if no reader in the tile
+	// has read it yet. The traversal is dropped once all the readers of the tile have read the token
+	public Transfer takeTraversal(int mrbId, int tileId, int token) {
+		HashMap<Integer,HashMap<Integer,Traversal>> traversalsMRB = traversals.get(mrbId);
+		HashMap<Integer,Traversal> traversalsTile = traversalsMRB == null ? null : traversalsMRB.get(tileId);
+		Traversal traversal = traversalsTile == null ? null : traversalsTile.get(token);
+		if (traversal == null) {
+			assert token >= getTransferredTokens(mrbId, tileId) : "Token "+token+" of MRB "+mrbId+" was already read by all the readers of tile "+tileId;
+			return null;
+		}
+		if (--traversal.pendingReaders == 0)
+			traversalsTile.remove(token);
+		return traversal.transfer;
+	}
+
+	// stores the traversal of the token, read by the first of the readersInTile readers of the tile
+	public void addTraversal(int mrbId, int tileId, int token, Transfer traversal, int readersInTile) {
+		HashMap<Integer,Integer> transferredMRB = transferredTokens.computeIfAbsent(mrbId, k -> new HashMap<>());
+		assert transferredMRB.getOrDefault(tileId, 0) == token : "Tokens of MRB must be transferred in order";
+		transferredMRB.put(tileId, token + 1);
+		if (readersInTile > 1)
+			traversals.computeIfAbsent(mrbId, k -> new HashMap<>()).computeIfAbsent(tileId, k -> new HashMap<>()).put(token, new Traversal(traversal, readersInTile - 1));
+	}
+
+	// number of tokens of the MRB transferred so far to the tile
+	public int getTransferredTokens(int mrbId, int tileId) {
+		HashMap<Integer,Integer> transferredMRB = transferredTokens.get(mrbId);
+		return transferredMRB == null ? 0 : transferredMRB.getOrDefault(tileId, 0);
+	}
+
+	// number of traversals kept, because some reader of their tile has not read the token yet
+	public int getPendingTraversals() {
+		int pending = 0;
+		for(HashMap<Integer,HashMap<Integer,Traversal>> traversalsMRB : traversals.values())
+			for(HashMap<Integer,Traversal> traversalsTile : traversalsMRB.values())
+				pending += traversalsTile.size();
+		return pending;
+	}
+}
@@ -0,0 +1,195 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Search of the period of the heuristic modulo schedulers on a ForkJoinPool.
+     It follows the same galloping and binary search as the sequential
+     tryToSchedule, so the period found is the same, but the candidate periods
+     that the search may need next are evaluated speculatively in parallel.
+     Candidates that can no longer be visited are cancelled.
+--------------------------------------------------------------------------
+*/
+package multitile.scheduler;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class PeriodSearch<T> {
+	
+	public interface Probe<T> {
+		// returns the schedule found for the period P or null if P is not feasible,
+		// it may return null as soon as cancelled is set
+		T evaluate(int P, AtomicBoolean cancelled);
+	}
+	
+	private class Candidate {
+		private ForkJoinTask<T> task;
+		private AtomicBoolean cancelled;
+	}
+	
+	private ForkJoinPool pool;
+	private Probe<T> probe;
+	private int P;
+	// candidates submitted to the pool, key is the period
+	private HashMap<Integer,Candidate> candidates;
+	
+	public PeriodSearch(ForkJoinPool pool, Probe<T> probe) {
+		this.pool = pool;
+		this.probe = probe;
+	}
+	
+	public int getPeriod() {
+		return this.P;
+	}
+	
+	// returns the schedule of the period found, starting from MII
+	public T search(int MII) {
+		assert MII > 0 : "MII must be positive";
+		this.candidates = new HashMap<>();
+		
+		int _lowerBound = MII;
+		int _upperBound = _lowerBound + MII;
+		submit(MII);
+		speculate(_lowerBound, _upperBound, MII);
+		this.P = MII;
+		T result = get(this.P);
+		if (result == null) {
+			while(true) {
+				int lowerBound = _lowerBound;
+				int upperBound = _upperBound;
+				cancelOutside(lowerBound, Integer.MAX_VALUE);
+				
+				this.P = upperBound;
+				speculate(lowerBound, upperBound, MII);
+				if(get(this.P) == null) {
+					_lowerBound = _upperBound;
+					_upperBound += MII;
+					continue;
+				}
+				// the candidates above the feasible upper bound are only needed again if the binary search fails
+				cancelOutside(lowerBound, upperBound);
+				while(true) {
+					this.P = lowerBound + (upperBound-lowerBound)/2;
+					speculate(lowerBound, upperBound, -1);
+					result = get(this.P);
+					if (lowerBound == upperBound)
+						break;
+					
+					if (result != null)
+						upperBound = this.P;
+					else
+						lowerBound = this.P+1;
+					cancelOutside(lowerBound, upperBound);
+				}
+				
+				if (result != null)
+					break;
+				_lowerBound = _upperBound;
+				_upperBound += MII;
+			}
+		}
+		cancelOutside(this.P, this.P);
+		candidates = null;
+		return result;
+	}
+	
+	// waits for the result of the period P, submitting it if needed
+	private T get(int P) {
+		submit(P);
+		return candidates.get(P).task.join();
+	}
+	
+	private void submit(int period) {
+		if (candidates.containsKey(period))
+			return;
+		Candidate c = new Candidate();
+		c.cancelled = new AtomicBoolean(false);
+		c.task = pool.submit(() -> probe.evaluate(period, c.cancelled));
+		candidates.put(period, c);
+	}
+	
+	// submits the periods that the search may visit in the window [lowerBound,upperBound]: the
+	// midpoints of the binary search in breadth-first order, interleaved with the next upper bounds
+	// of the galloping if gallopStep is positive, until there is one candidate running per worker
+	private void speculate(int lowerBound, int upperBound, int gallopStep) {
+		int width = pool.getParallelism();
+		int running = 0;
+		for(Candidate c : candidates.values())
+			if (!c.task.isDone())
+				running++;
+		
+		Queue<int[]> windows = new LinkedList<>();
+		windows.add(new int[] {lowerBound, upperBound});
+		int nextUpperBound = upperBound;
+		int gallopSteps = gallopStep > 0 ? width : 0;
+		while(running < width && (!windows.isEmpty() || gallopSteps > 0)) {
+			if (gallopSteps > 0) {
+				if (!candidates.containsKey(nextUpperBound)) {
+					submit(nextUpperBound);
+					running++;
+				}
+				nextUpperBound += gallopStep;
+				gallopSteps--;
+			}
+			if (!windows.isEmpty() && running < width) {
+				int[] w = windows.poll();
+				int mid = w[0] + (w[1]-w[0])/2;
+				if (!candidates.containsKey(mid)) {
+					submit(mid);
+					running++;
+				}
+				if (w[0] < w[1]) {
+					windows.add(new int[] {w[0], mid});
+					windows.add(new int[] {mid+1, w[1]});
+				}
+			}
+		}
+	}
+	
+	// cancels the candidates outside [lowerBound,upperBound], the search never visits them again
+	private void cancelOutside(int lowerBound, int upperBound) {
+		Iterator<Map.Entry<Integer,Candidate>> it = candidates.entrySet().iterator();
+		while(it.hasNext()) {
+			Map.Entry<Integer,Candidate> e = it.next();
+			if (e.getKey() < lowerBound || e.getKey() > upperBound) {
+				e.getValue().cancelled.set(true);
+				e.getValue().task.cancel(false);
+				it.remove();
+			}
+		}
+	}
+}
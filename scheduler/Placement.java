@@ -0,0 +1,80 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Record of the placement of one actor in the modulo reservation table. It
+     keeps what is needed to undo the placement during the partial backtracking
+     of the heuristic modulo schedulers: the mark of the utilization table before
+     the insertion and the start times of the successors before their update.
+--------------------------------------------------------------------------
+*/
+package multitile.scheduler;
+
+public class Placement {
+	// index of the actor in the scheduler
+	private int actor;
+	// mark of the utilization table before placing the actor
+	private int mark;
+	// start time proposed to the actor before searching a free slot
+	private int requestedStart;
+	// start time where the actor was placed
+	private int placedStart;
+	// start times of the successors before being updated with this placement, in the order of SUCC
+	private int[] successorStarts;
+	
+	public Placement(int actor, int mark, int requestedStart, int placedStart, int nSuccessors) {
+		this.actor = actor;
+		this.mark = mark;
+		this.requestedStart = requestedStart;
+		this.placedStart = placedStart;
+		this.successorStarts = new int[nSuccessors];
+	}
+	
+	public int getActor() {
+		return actor;
+	}
+	
+	public int getMark() {
+		return mark;
+	}
+	
+	public int getRequestedStart() {
+		return requestedStart;
+	}
+	
+	public int getPlacedStart() {
+		return placedStart;
+	}
+	
+	public int[] getSuccessorStarts(){
+		return successorStarts;
+	}
+}
@@ -0,0 +1,176 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Queue of the actors ready to fire, used by the FCFS scheduler. Each actor
+     counts its satisfied inputs and outputs, after a firing only the actors
+     connected to the fifos of the fired actor are re-examined.
+--------------------------------------------------------------------------
+*/
+package multitile.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import multitile.application.Actor;
+import multitile.application.Application;
+import multitile.application.Fifo;
+
+public class ReadyActors{
+	private Application application;
+	// actors ready to fire in the order they became ready
+	private ArrayDeque<Integer> queue;
+	private Set<Integer> queued;
+	// key is the actor id, value the position of the actor in the map of actors of the application
+	private Map<Integer,Integer> position;
+	// key is the actor id, value the state of each input followed by each output
+	private Map<Integer,boolean[]> satisfied;
+	// key is the actor id, value the number of satisfied inputs and outputs
+	private Map<Integer,Integer> countSatisfied;
+	// key is the fifo id, value the pairs (actor id, index in the state of the actor) that depend on the fifo
+	private Map<Integer,List<int[]>> endpoints;
+
+	public ReadyActors(Application application) {
+		this.application = application;
+		this.queue = new ArrayDeque<>();
+		this.queued = new HashSet<>();
+		this.position = new HashMap<>();
+		this.satisfied = new HashMap<>();
+		this.countSatisfied = new HashMap<>();
+		this.endpoints = new HashMap<>();
+	}
+
+	// examines all the actors of the application, the queue is emptied
+	public void reset() {
+		queue.clear();
+		queued.clear();
+		position.clear();
+		satisfied.clear();
+		countSatisfied.clear();
+		endpoints.clear();
+		for(Map.Entry<Integer,Actor> a : application.getActors().entrySet()) {
+			Actor actor = a.getValue();
+			int nInputs = actor.getInputFifos().size();
+			position.put(a.getKey(), position.size());
+			satisfied.put(a.getKey(), new boolean[nInputs + actor.getOutputFifos().size()]);
+			countSatisfied.put(a.getKey(), 0);
+			for(int i = 0; i < nInputs; i++)
+				endpoints.computeIfAbsent(actor.getInputFifos().get(i).getId(), k -> new ArrayList<>()).add(new int[] {a.getKey(), i});
+			for(int i = 0; i < actor.getOutputFifos().size(); i++)
+				endpoints.computeIfAbsent(actor.getOutputFifos().get(i).getId(), k -> new ArrayList<>()).add(new int[] {a.getKey(), nInputs + i});
+		}
+		rescan();
+	}
+
+	// examines all the actors and enqueues the ones that can fire
+	public void rescan() {
+		for(List<int[]> list : endpoints.values())
+			for(int[] endpoint : list)
+				update(endpoint);
+		List<Integer> candidates = new ArrayList<>(application.getActors().keySet());
+		enqueue(candidates);
+	}
+
+	// re-examines the actors connected to the fifos of an actor that just fired
+	public void fired(int actorId) {
+		Actor actor = application.getActors().get(actorId);
+		Set<Integer> candidates = new HashSet<>();
+		candidates.add(actorId);
+		for(Fifo fifo : actor.getInputFifos())
+			updateFifo(fifo.getId(), candidates);
+		for(Fifo fifo : actor.getOutputFifos())
+			updateFifo(fifo.getId(), candidates);
+		enqueue(new ArrayList<>(candidates));
+	}
+
+	public boolean isEmpty() {
+		return queue.isEmpty();
+	}
+
+	public int size() {
+		return queue.size();
+	}
+
+	public boolean contains(int actorId) {
+		return queued.contains(actorId);
+	}
+
+	// removes the first actor ready to fire
+	public int remove() {
+		int actorId = queue.remove();
+		queued.remove(actorId);
+		return actorId;
+	}
+
+	public boolean isReady(int actorId) {
+		return countSatisfied.get(actorId) == satisfied.get(actorId).length;
+	}
+
+	private void updateFifo(int fifoId, Set<Integer> candidates) {
+		for(int[] endpoint : endpoints.get(fifoId)) {
+			update(endpoint);
+			candidates.add(endpoint[0]);
+		}
+	}
+
+	// recalculates if an input can be read or an output can be written
+	private void update(int[] endpoint) {
+		int actorId = endpoint[0];
+		Actor actor = application.getActors().get(actorId);
+		int nInputs = actor.getInputFifos().size();
+		boolean state;
+		if (endpoint[1] < nInputs)
+			state = application.getFifos().get(actor.getInputFifos().get(endpoint[1]).getId()).fifoCanBeRead(actorId);
+		else
+			state = application.getFifos().get(actor.getOutputFifos().get(endpoint[1] - nInputs).getId()).fifoCanBeWritten();
+		boolean[] states = satisfied.get(actorId);
+		if (states[endpoint[1]] != state) {
+			states[endpoint[1]] = state;
+			countSatisfied.put(actorId, countSatisfied.get(actorId) + (state ? 1 : -1));
+		}
+	}
+
+	// appends the ready actors that are not queued in the order of the map of actors
+	private void enqueue(List<Integer> candidates) {
+		candidates.sort((o1,o2)->Integer.compare(position.get(o1), position.get(o2)));
+		for(int actorId : candidates) {
+			if (!queued.contains(actorId) && isReady(actorId)) {
+				queue.add(actorId);
+				queued.add(actorId);
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Queue of the actors ready to be scheduled by the heuristic modulo schedulers.
+     It is a binary heap of dense actor indexes ordered by a key given by the
+     scheduler, so the next actor is found without rescanning the remaining actors.
+--------------------------------------------------------------------------
+*/
+package multitile.scheduler;
+
+public class ReadyQueue {
+	// heap of actor indexes and the key of each actor
+	private int[] heap;
+	private long[] keys;
+	private boolean[] queued;
+	private int size;
+	
+	public ReadyQueue(int nActors) {
+		heap = new int[nActors];
+		keys = new long[nActors];
+		queued = new boolean[nActors];
+		size = 0;
+	}
+	
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	public boolean isQueued(int actor) {
+		return queued[actor];
+	}
+	
+	// key of the actor when it was last pushed
+	public long getKey(int actor) {
+		return keys[actor];
+	}
+	
+	// adds the actor with the given key, nothing is done if it is already queued
+	public void push(int actor, long key) {
+		if (queued[actor])
+			return;
+		queued[actor] = true;
+		keys[actor] = key;
+		int i = size++;
+		while(i > 0) {
+			int parent = (i - 1) >> 1;
+			if (keys[heap[parent]] <= key)
+				break;
+			heap[i] = heap[parent];
+			i = parent;
+		}
+		heap[i] = actor;
+	}
+	
+	// removes and returns the actor with the smallest key, -1 if the queue is empty
+	public int poll() {
+		if (size == 0)
+			return -1;
+		int top = heap[0];
+		queued[top] = false;
+		int last = heap[--size];
+		int i = 0;
+		while(true) {
+			int child = 2*i + 1;
+			if (child >= size)
+				break;
+			if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]])
+				child++;
+			if (keys[heap[child]] >= keys[last])
+				break;
+			heap[i] = heap[child];
+			i = child;
+		}
+		if (size > 0)
+			heap[i] = last;
+		return top;
+	}
+	
+	public void clear() {
+		for(int i=0; i < size; i++)
+			queued[heap[i]] = false;
+		size = 0;
+	}
+}
@@ -0,0 +1,123 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Cache of the passes of a transfer over the architecture. A route only depends
+     on the memory binding of the fifo, the processor/tile binding of the actor and
+     the direction of the transfer. Each cached route keeps the targets it was
+     calculated for and it is calculated again if one of them changed.
+--------------------------------------------------------------------------
+*/
+package multitile.scheduler;
+
+import java.util.HashMap;
+
+import multitile.Transfer;
+import multitile.architecture.Memory;
+import multitile.architecture.Processor;
+import multitile.architecture.Tile;
+import multitile.mapping.Binding;
+import multitile.mapping.Bindings;
+
+public class RouteCache{
+	// route and the targets of the bindings used to calculate it
+	private static class Route{
+		private Memory memory;
+		private Processor processor;
+		private Tile tile;
+		private PassTransferOverArchitecture[] passes;
+
+		private Route(Memory memory, Processor processor, Tile tile, PassTransferOverArchitecture[] passes) {
+			this.memory = memory;
+			this.processor = processor;
+			this.tile = tile;
+			this.passes = passes;
+		}
+	}
+
+	// key is the fifo id, the value is a map with key the actor id
+	private HashMap<Integer,HashMap<Integer,Route>> readRoutes;
+	private HashMap<Integer,HashMap<Integer,Route>> writeRoutes;
+	private long hits;
+	private long misses;
+
+	public RouteCache() {
+		readRoutes = new HashMap<>();
+		writeRoutes = new HashMap<>();
+		hits = 0;
+		misses = 0;
+	}
+
+	public void invalidate() {
+		readRoutes.clear();
+		writeRoutes.clear();
+	}
+
+	// returns the cached route or null if the route has to be calculated
+	// the returned array is shared and must not be modified
+	public PassTransferOverArchitecture[] getRoute(Transfer transfer, Bindings bindings) {
+		HashMap<Integer,Route> routes = getRoutes(transfer).get(transfer.getFifo().getId());
+		Route route = routes == null ? null : routes.get(transfer.getActor().getId());
+		if (route == null
+				|| route.memory != getTarget(bindings.getFifoMemoryBindings().get(transfer.getFifo().getId()))
+				|| route.processor != getTarget(bindings.getActorProcessorBindings().get(transfer.getActor().getId()))
+				|| route.tile != getTarget(bindings.getActorTileBindings().get(transfer.getActor().getId()))) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return route.passes;
+	}
+
+	public void putRoute(Transfer transfer, Bindings bindings, PassTransferOverArchitecture[] passes) {
+		Route route = new Route(getTarget(bindings.getFifoMemoryBindings().get(transfer.getFifo().getId())),
+				getTarget(bindings.getActorProcessorBindings().get(transfer.getActor().getId())),
+				getTarget(bindings.getActorTileBindings().get(transfer.getActor().getId())),
+				passes);
+		getRoutes(transfer).computeIfAbsent(transfer.getFifo().getId(), k -> new HashMap<>()).put(transfer.getActor().getId(), route);
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	private static <T> T getTarget(Binding<T> binding) {
+		return binding == null ? null : binding.getTarget();
+	}
+
+	private HashMap<Integer,HashMap<Integer,Route>> getRoutes(Transfer transfer) {
+		return transfer.getType() == Transfer.TRANSFER_TYPE.READ ? readRoutes : writeRoutes;
+	}
+}
@@ -49,6 +49,7 @@ import multitile.scheduler.UtilizationTable.TimeSlot;
 import multitile.architecture.Architecture;
 import multitile.architecture.Crossbar;
 import multitile.architecture.NoC;
+import multitile.architecture.OccupancyTimeline;
 import multitile.application.Actor;
 import multitile.application.Actor.ACTOR_TYPE;
 import multitile.application.Application;
@@ -72,6 +73,10 @@ public class SimulateModuloScheduler extends BaseScheduler implements Schedule{
 	private HashMap<Integer,HashMap<Integer,Queue<TimeSlot>>> scheduleAnalysis;
 	// the key is the core, crossbar or noc id
 	private Queue<TimeSlot> schedulePipelinedActions;
+	// first index: iteration, second index: column of the actor or communication task
+	private TimeSlot[][] pipelinedActionsIndex;
+	// dense column of each actor or communication task id in the index
+	private HashMap<Integer,Integer> pipelinedActionsColumn;
 	private int startKernel;
 	
 	//public SimulateModuloScheduler(Architecture architecture, Application application,HeuristicModuloSchedulerWithCommunications heuristic){
@@ -119,10 +124,8 @@ public class SimulateModuloScheduler extends BaseScheduler implements Schedule{
 		createPipelinedScheduler(nIterations);
 		// once I have the schedule, I have to calculate the FIFO capacities
 		// key: is the FIFO id
-		// value: 
-		//		key : time
-		//		value : number tokens
-		HashMap<Integer, TreeMap<Double,Integer> > mapTokensCounting = new HashMap<>();
+		// value: number of tokens stored in the FIFO over time
+		HashMap<Integer, OccupancyTimeline> mapTokensCounting = new HashMap<>();
 		
 		// count of reads of a MRB
 		// key: is the MRB FIFO
@@ -131,8 +134,8 @@ public class SimulateModuloScheduler extends BaseScheduler implements Schedule{
 		HashMap<Integer,Integer> capacityFifo = new HashMap<>();
 		
 		for(Map.Entry<Integer, Fifo> f: application.getFifos().entrySet()) {
-			TreeMap<Double,Integer> tokensCounting = new TreeMap<>();
-			tokensCounting.put(0.0, f.getValue().getInitialTokens());
+			OccupancyTimeline tokensCounting = new OccupancyTimeline();
+			tokensCounting.add(0.0, f.getValue().getInitialTokens());
 			mapTokensCounting.put(f.getKey(), tokensCounting);
 			capacityFifo.put(f.getKey(), 1);
 			if (f.getValue().isCompositeChannel())
@@ -151,20 +154,14 @@ public class SimulateModuloScheduler extends BaseScheduler implements Schedule{
 				//System.out.println("Analysis actor "+actor.getName()+" from "+t.getStartTime()+" to "+t.getEndTime()+" current iteration "+currentIteration);
 				
 				for(CommunicationTask ct : heuristic.getActorReads().get(actor.getId())) {
-					for(TimeSlot tp : schedulePipelinedActions) {
-						if (currentIteration == tp.getIteration() && ct.getId() == tp.getActorId()) { //       !application.getActors().containsKey(tp.getActorId())) {
-							reads.put(ct.getName(), tp);
-							//System.out.println("CTask read "+ct.getName());
-						}
-					}
+					TimeSlot tp = getPipelinedAction(currentIteration, ct.getId());
+					if (tp != null)
+						reads.put(ct.getName(), tp);
 				}
-				for(CommunicationTask ct :heuristic.getActorWrites().get(actor.getId())) {
-					for(TimeSlot tp : schedulePipelinedActions) {
-						if (currentIteration == tp.getIteration() && ct.getId() == tp.getActorId()) { // !application.getActors().containsKey(tp.getActorId())) {
-							writes.put(ct.getName(), tp);
-							//System.out.println("CTask write "+ct.getName());
-						}
-					}
+				for(CommunicationTask ct : heuristic.getActorWrites().get(actor.getId())) {
+					TimeSlot tp = getPipelinedAction(currentIteration, ct.getId());
+					if (tp != null)
+						writes.put(ct.getName(), tp);
 				}
 				// smallest startTime of reads
 				int minStartReads = Integer.MAX_VALUE;
@@ -197,8 +194,8 @@ public class SimulateModuloScheduler extends BaseScheduler implements Schedule{
 						readsMRB.put(fifo.getId(), readsMRB.get(fifo.getId())+1);
 					insertCommunicationsInSchedule(mapTokensCounting, fifo, nTokens, insertTime, readsMRB);
 					//update the capacity
-					TreeMap<Double,Integer> tokensCounting = mapTokensCounting.get(fifo.getId());
-					int fifoCapacity = Collections.max(tokensCounting.values());
+					OccupancyTimeline tokensCounting = mapTokensCounting.get(fifo.getId());
+					int fifoCapacity = (int)tokensCounting.getMaximum();
 					if (capacityFifo.get(fifo.getId()) < fifoCapacity)
 						capacityFifo.put(fifo.getId(), fifoCapacity);	
 				}
@@ -209,8 +206,8 @@ public class SimulateModuloScheduler extends BaseScheduler implements Schedule{
 					int nTokens = fifo.getConsRate();
 					insertCommunicationsInSchedule(mapTokensCounting, fifo, nTokens, insertTime, readsMRB);
 					//update the capacity
-					TreeMap<Double,Integer> tokensCounting = mapTokensCounting.get(fifo.getId());
-					int fifoCapacity = Collections.max(tokensCounting.values());
+					OccupancyTimeline tokensCounting = mapTokensCounting.get(fifo.getId());
+					int fifoCapacity = (int)tokensCounting.getMaximum();
 					if (capacityFifo.get(fifo.getId()) < fifoCapacity)
 						capacityFifo.put(fifo.getId(), fifoCapacity);
 				}
@@ -223,11 +220,11 @@ public class SimulateModuloScheduler extends BaseScheduler implements Schedule{
 		// then set the FIFO capacities
 		for(Map.Entry<Integer, Integer> f: capacityFifo.entrySet()) {
 			Fifo fifo = application.getFifos().get(f.getKey());
-			TreeMap<Double,Integer> tokensCounting = mapTokensCounting.get(fifo.getId());
+			OccupancyTimeline tokensCounting = mapTokensCounting.get(fifo.getId());
 			int fifoCapacity = f.getValue();
 			assert fifoCapacity > 0 : "Capacity must not be negative or zero, Capacity="+fifoCapacity+" fifo: "+fifo.getName();
 			
-			int fifoMinVal = Collections.min(tokensCounting.values());
+			int fifoMinVal = (int)tokensCounting.getMinimum();
 			//assert fifoMinVal >=0: "Minimum number of stored tokens must be bigger than 0 fifo: "+fifo.getName()+" fifoMinVal "+fifoMinVal;
 			
 			if (fifoCapacity == 0)
@@ -239,17 +236,98 @@ public class SimulateModuloScheduler extends BaseScheduler implements Schedule{
 	
 
 	
-	public void printCommunicationsInSchedule(HashMap<Integer, TreeMap<Double,Integer> > mapTokensCounting) {
-		for(Map.Entry<Integer, TreeMap<Double,Integer>> m : mapTokensCounting.entrySet()) {
+	// capacity of each FIFO in the steady state of the modulo schedule, computed from the
+	// kernel without unrolling it. A token written at tw and released at tr stays in the FIFO
+	// tr - tw time units, so ceil((tr - tw)/period) iterations overlap in the FIFO. As in
+	// the unrolled analysis, the producer also needs space for its tokens when it starts
+	// its reads. The tokens of a MRB are released by its latest reader
+	// key: fifo id
+	// value: capacity
+	public HashMap<Integer,Integer> calculateSteadyStateCapacities() {
+		// this only works for hSDFG
+		int period = heuristic.getPeriod();
+		HashMap<Integer,TimeSlot> timeInfoActors = heuristic.getTimeInfoActors();
+		assert period > 0 && timeInfoActors != null : "First calculate the schedule";
+		// key: actor id, value: start of its first read
+		HashMap<Integer,Integer> minStartReads = new HashMap<>();
+		// key: fifo id, value: end of its write
+		HashMap<Integer,Integer> writeTimes = new HashMap<>();
+		// key: fifo id, value: time the tokens are removed from the fifo
+		HashMap<Integer,Integer> releaseTimes = new HashMap<>();
+		for(Map.Entry<Integer, Actor> a : application.getActors().entrySet()) {
+			TimeSlot t = timeInfoActors.get(a.getKey());
+			int minStart = Integer.MAX_VALUE;
+			for(CommunicationTask ct : heuristic.getActorReads().get(a.getKey()))
+				minStart = Math.min(minStart, timeInfoActors.get(ct.getId()).getStartTime());
+			minStartReads.put(a.getKey(), minStart == Integer.MAX_VALUE ? t.getStartTime() : minStart);
+			int maxEndWrites = Integer.MIN_VALUE;
+			for(CommunicationTask ct : heuristic.getActorWrites().get(a.getKey())) {
+				int end = timeInfoActors.get(ct.getId()).getEndTime();
+				writeTimes.put(ct.getFifo().getId(), end);
+				maxEndWrites = Math.max(maxEndWrites, end);
+			}
+			// the reads are removed once the actor finished its writes
+			int releaseTime = maxEndWrites == Integer.MIN_VALUE ? t.getEndTime() : maxEndWrites;
+			for(CommunicationTask ct : heuristic.getActorReads().get(a.getKey()))
+				releaseTimes.merge(ct.getFifo().getId(), releaseTime, Math::max);
+		}
+		HashMap<Integer,Integer> capacities = new HashMap<>();
+		for(Map.Entry<Integer, Fifo> f : application.getFifos().entrySet()) {
+			Fifo fifo = f.getValue();
+			int tokens = fifo.getInitialTokens();
+			int capacity = Math.max(1, tokens);
+			if (writeTimes.containsKey(f.getKey()) && releaseTimes.containsKey(f.getKey())) {
+				assert fifo.getConsRate() == fifo.getProdRate() : "The steady state capacity only works for hSDFG, fifo: "+fifo.getName();
+				int rate = fifo.getConsRate();
+				int writeTime = writeTimes.get(f.getKey());
+				int releaseTime = releaseTimes.get(f.getKey());
+				// tokens stored while the write of each iteration waits for its release
+				int overlap = -Math.floorDiv(writeTime - releaseTime, period);
+				capacity = Math.max(capacity, tokens + rate*Math.max(0, overlap));
+				// tokens stored when the producer starts its reads, over the first iteration
+				// and in the steady state
+				int start = minStartReads.get(fifo.getSource().getId());
+				int writes = Math.floorDiv(start - writeTime, period) + 1;
+				int releases = Math.floorDiv(start - releaseTime, period) + 1;
+				int stored = Math.max(Math.max(0, writes) - Math.max(0, releases), writes - releases);
+				capacity = Math.max(capacity, tokens + rate*stored + fifo.getConsRate());
+			}else
+				capacity = Math.max(capacity, tokens + fifo.getConsRate());
+			capacities.put(f.getKey(), capacity);
+		}
+		return capacities;
+	}
+
+	public void setSteadyStateCapacities() {
+		for(Map.Entry<Integer, Integer> c : calculateSteadyStateCapacities().entrySet())
+			application.getFifos().get(c.getKey()).set_capacity(c.getValue());
+	}
+
+	// cross-check of the steady state capacities against the unrolled analysis, the
+	// fifos get the capacities of the unrolled analysis and the ones that need more
+	// than their steady state capacity are returned
+	public List<Fifo> crossCheckSteadyStateCapacities(double scaleFactor) {
+		HashMap<Integer,Integer> capacities = calculateSteadyStateCapacities();
+		createScheduleForAnalysis(scaleFactor);
+		List<Fifo> mismatches = new ArrayList<>();
+		for(Map.Entry<Integer, Fifo> f : application.getFifos().entrySet()) {
+			if (f.getValue().get_capacity() > capacities.get(f.getKey()))
+				mismatches.add(f.getValue());
+		}
+		return mismatches;
+	}
+
+	public void printCommunicationsInSchedule(HashMap<Integer, OccupancyTimeline> mapTokensCounting) {
+		for(Map.Entry<Integer, OccupancyTimeline> m : mapTokensCounting.entrySet()) {
 			System.err.println("FIFO "+application.getFifos().get(m.getKey()).getName());
-			TreeMap<Double,Integer> tokensCounting = m.getValue();
-			for(Map.Entry<Double, Integer> t: tokensCounting.entrySet()) {
-				System.err.println("\tTime "+t.getKey()+" count: "+t.getValue());
+			Map<Double,Double> tokensCounting = m.getValue().toMap();
+			for(Map.Entry<Double, Double> t: tokensCounting.entrySet()) {
+				System.err.println("\tTime "+t.getKey()+" count: "+t.getValue().intValue());
 			}
 		}
 	}
 	
-	public void checkAndIncreseTargetFifos(Actor actor, HashMap<Integer,Integer> capacityFifo,HashMap<Integer, TreeMap<Double,Integer> > mapTokensCounting, double time){
+	public void checkAndIncreseTargetFifos(Actor actor, HashMap<Integer,Integer> capacityFifo,HashMap<Integer, OccupancyTimeline> mapTokensCounting, double time){
 		for(Fifo f : actor.getOutputFifos()) {
 			int cons = f.getConsRate();
 			int storedTokens = checkCurrentStoredTokens(mapTokensCounting, f, time);
@@ -258,7 +336,7 @@ public class SimulateModuloScheduler extends BaseScheduler implements Schedule{
 		}
 	}
 	/*
-	public void checkAndIncreseTargetFifos(Fifo fifo, HashMap<Integer,Integer> capacityFifo,HashMap<Integer, TreeMap<Double,Integer> > mapTokensCounting, double time){
+	public void checkAndIncreseTargetFifos(Fifo fifo, HashMap<Integer,Integer> capacityFifo,HashMap<Integer, OccupancyTimeline> mapTokensCounting, double time){
 		Actor destination = fifo.getDestination();
 		for(Fifo f : destination.getOutputFifos()) {
 			int prod = f.getProdRate();
@@ -268,57 +346,27 @@ public class SimulateModuloScheduler extends BaseScheduler implements Schedule{
 		}
 	}*/
 	
-	public int checkCurrentStoredTokens(HashMap<Integer, TreeMap<Double,Integer> > mapTokensCounting, Fifo fifo, double time) {
-		// tokens might be positive or negative
-		// in case of positive, tokens have been produced
-		// in case of negative, tokens must be consumed
-		//HashMap<Integer, TreeMap<Integer,Integer> > result = mapTokensCounting;
-		TreeMap<Double,Integer> tokensCounting = mapTokensCounting.get(fifo.getId());
-		int count =0 ;
-		for(Map.Entry<Double, Integer> t : tokensCounting.entrySet()) {
-			if( t.getKey() <= time )
-				count = t.getValue();
-		}
-
-		return count;
+	public int checkCurrentStoredTokens(HashMap<Integer, OccupancyTimeline> mapTokensCounting, Fifo fifo, double time) {
+		// tokens stored at the last time point before or at time
+		return (int)mapTokensCounting.get(fifo.getId()).getValue(time);
 	}
 	
 	
-	public void insertCommunicationsInSchedule(HashMap<Integer, TreeMap<Double,Integer> > mapTokensCounting, Fifo fifo, int tokens, double time, HashMap<Integer,Integer> readsMRB) {
+	public void insertCommunicationsInSchedule(HashMap<Integer, OccupancyTimeline> mapTokensCounting, Fifo fifo, int tokens, double time, HashMap<Integer,Integer> readsMRB) {
 		// tokens might be positive or negative
 		// in case of positive, tokens have been produced
 		// in case of negative, tokens must be consumed
-		//HashMap<Integer, TreeMap<Integer,Integer> > result = mapTokensCounting;
-		TreeMap<Double,Integer> tokensCounting = mapTokensCounting.get(fifo.getId());
-		if(tokensCounting.isEmpty()) {
-			tokensCounting.put(time, tokens);
-		}else {
-			if(!tokensCounting.containsKey(time)) {
-				ArrayList<Double> smallIndices = new ArrayList<>();
-				for(Map.Entry<Double, Integer> t : tokensCounting.entrySet()) {
-					if (t.getKey() < time)
-						smallIndices.add(t.getKey());
-				}
-				double max = Collections.max(smallIndices);
-				int count = tokensCounting.get(max);
-				tokensCounting.put(time, count);
-			}
-			for(Map.Entry<Double, Integer> t : tokensCounting.entrySet()) {
-				if(t.getKey() >= time) {
-					int nTokens = tokens;
-					int currentTokens = tokensCounting.get(t.getKey());
-					if (tokens < 0 && fifo.isCompositeChannel()) { // it is a read
-						CompositeFifo mrb = (CompositeFifo) fifo;
-						int nReaders = mrb.getReaders().size();
-						if (readsMRB.get(mrb.getId()) % nReaders != 0)
-							nTokens = 0;			
-					}
-					tokensCounting.put(t.getKey(), currentTokens + nTokens );
-				}
-			}
+		OccupancyTimeline tokensCounting = mapTokensCounting.get(fifo.getId());
+		int nTokens = tokens;
+		if (tokens < 0 && fifo.isCompositeChannel()) { // it is a read
+			CompositeFifo mrb = (CompositeFifo) fifo;
+			int nReaders = mrb.getReaders().size();
+			// only the last reader of the token releases it
+			if (readsMRB.get(mrb.getId()) % nReaders != 0)
+				nTokens = 0;
 		}
-		mapTokensCounting.put(fifo.getId(), tokensCounting);
-		//return result;
+		// the count from time on changes by nTokens
+		tokensCounting.add(time, nTokens);
 	}
 	
 	
@@ -403,7 +451,31 @@ public class SimulateModuloScheduler extends BaseScheduler implements Schedule{
     			
     			
     			schedulePipelinedActions = new LinkedList<TimeSlot>(q);
-    }	
+    			indexSchedulePipelinedActions();
+    }
+
+	// the index keeps, for each iteration and task, the last time slot in the pipelined schedule
+	// the ids are global and keep growing across applications, so each task gets a dense column
+	public void indexSchedulePipelinedActions() {
+		pipelinedActionsColumn = new HashMap<>();
+		for(int taskId : heuristic.getTimeInfoActors().keySet())
+			pipelinedActionsColumn.put(taskId, pipelinedActionsColumn.size());
+		int nIterations = 0;
+		for(TimeSlot t : schedulePipelinedActions) {
+			nIterations = Math.max(nIterations, t.getIteration() + 1);
+			assert pipelinedActionsColumn.containsKey(t.getActorId()) : "Task "+t.getActorId()+" is not in the modulo schedule";
+		}
+		pipelinedActionsIndex = new TimeSlot[nIterations][pipelinedActionsColumn.size()];
+		for(TimeSlot t : schedulePipelinedActions)
+			pipelinedActionsIndex[t.getIteration()][pipelinedActionsColumn.get(t.getActorId())] = t;
+	}
+
+	public TimeSlot getPipelinedAction(int iteration, int taskId) {
+		Integer column = pipelinedActionsColumn.get(taskId);
+		if (iteration < 0 || iteration >= pipelinedActionsIndex.length || column == null)
+			return null;
+		return pipelinedActionsIndex[iteration][column];
+	}	
 	public void savePipelinedSchedule(String path, String fileName, double scaleFactor) throws IOException{
 		try{
 			File memUtilStatics = new File(path+"/"+fileName+".csv");
@@ -5,14 +5,12 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Map;
-import java.util.Queue;
 
 import multitile.application.Actor;
 import multitile.application.CommunicationTask;
-import multitile.application.MyEntry;
 import multitile.architecture.Architecture;
 import multitile.architecture.Crossbar;
 import multitile.architecture.NoC;
@@ -20,6 +18,18 @@ import multitile.architecture.Processor;
 
 public class UtilizationTable {
 	
+	// implementation used to keep the occupation of the resources
+	public static enum RESERVATION_TYPE {
+		LINKED_LIST,
+		BITMAP
+	}
+	
+	public static UtilizationTable createUtilizationTable(RESERVATION_TYPE type, HashMap<Integer,Integer> countCoresPerType, int P) {
+		if (type == RESERVATION_TYPE.BITMAP)
+			return new BitmapUtilizationTable(countCoresPerType, P);
+		return new UtilizationTable(countCoresPerType, P);
+	}
+	
 	public static class TimeSlot{
 		private int actorId;
 		private int startTime = 0;
@@ -153,6 +163,38 @@ public class UtilizationTable {
 	private HashMap<Integer,Integer> countCoresPerType;
 	private int P;
 	
+	// entry of the journal of insertions, used to undo a placement
+	private static class Reservation {
+		private int coreType;
+		private int core;
+		private TimeSlot timeSlot;
+		private boolean occupation;
+		
+		Reservation(int coreType, int core, TimeSlot timeSlot, boolean occupation){
+			this.coreType = coreType;
+			this.core = core;
+			this.timeSlot = timeSlot;
+			this.occupation = occupation;
+		}
+	}
+	// all the time slots inserted, in insertion order
+	private ArrayList<Reservation> journal = new ArrayList<>();
+	
+	// key: is the core type
+	// value: is the index of the first core of the type in the bitmaps
+	private HashMap<Integer,Integer> typeOffset;
+	// key: is the core type, value: resource indexes of all its cores
+	private HashMap<Integer,int[]> resourcesOfType;
+	// one bitmap of P+1 bits per resource, bit j is set when the step j is occupied
+	protected long[][] busy;
+	// start and end positions of the slots with length > 0
+	protected long[][] starts;
+	protected long[][] ends;
+	// positions of the slots with length == 0
+	protected long[][] points;
+	protected int[] countSlots;
+	// index of the free gaps of each resource, updated with each committed or removed slot
+	protected FreeGapIndex[] gaps;
 	
 	public UtilizationTable(HashMap<Integer,Integer> countCoresPerType, int P) {
 		//System.out.println("countCoresPerType "+countCsoresPerType );
@@ -160,21 +202,67 @@ public class UtilizationTable {
 		this.countCoresPerType = new HashMap<>(countCoresPerType);
 		utilizationTab = new HashMap<>();
 		resourceOccupation = new HashMap<>();
+		typeOffset = new HashMap<>();
+		resourcesOfType = new HashMap<>();
+		int nResources = 0;
 		// key is type and value is the count
 		for(Map.Entry<Integer, Integer> e : countCoresPerType.entrySet())  {
 			HashMap<Integer,LinkedList<TimeSlot>> coresUtil = new HashMap<>();
 			HashMap<Integer,Integer> count = new HashMap<>();
+			int[] resources = new int[e.getValue()];
 			for(int i=0; i < e.getValue(); i++) {
 				LinkedList<TimeSlot> entries =new LinkedList<TimeSlot>();
 				coresUtil.put(i, entries);
 				count.put(i, 0);
+				resources[i] = nResources + i;
 			}
 			utilizationTab.put(e.getKey(), coresUtil);
 			resourceOccupation.put(e.getKey(), count);
+			typeOffset.put(e.getKey(), nResources);
+			resourcesOfType.put(e.getKey(), resources);
+			nResources += e.getValue();
 		}
 		this.P = P;
+		// one extra bit to be able to address the step P
+		int words = (P >> 6) + 1;
+		busy 		= new long[nResources][words];
+		starts 		= new long[nResources][words];
+		ends 		= new long[nResources][words];
+		points 		= new long[nResources][words];
+		countSlots 	= new int[nResources];
+		gaps 		= new FreeGapIndex[nResources];
+		for(int r=0; r < nResources; r++)
+			gaps[r] = new FreeGapIndex(busy[r], P);
+	}
+	
+	int getResourceIndex(int coreType, int core) {
+		return typeOffset.get(coreType) + core;
 	}
 	
+	int[] getResourcesOfType(int coreType) {
+		return resourcesOfType.get(coreType);
+	}
+	
+	public int getPeriod() {
+		return this.P;
+	}
+	
+	// returns a checkpoint of the current state of the table
+	public int mark() {
+		return journal.size();
+	}
+	
+	// removes all the time slots inserted after the given checkpoint
+	public void rollback(int mark) {
+		assert mark >= 0 && mark <= journal.size() : "Invalid mark";
+		for(int i = journal.size() - 1; i >= mark; i--) {
+			Reservation r = journal.remove(i);
+			removeTimeSlot(r.coreType, r.core, r.timeSlot);
+			unindexTimeSlot(r.coreType, r.core, r.timeSlot);
+			if (r.occupation)
+				resourceOccupation.get(r.coreType).put(r.core, resourceOccupation.get(r.coreType).get(r.core) - r.timeSlot.getLength());
+		}
+	}
 	
 	public void printUtilizationTable(Map<Integer, Actor> actors, ArrayList<String>  coreTypes ) {
 		for(Map.Entry<Integer,Map<Integer,LinkedList<TimeSlot>>>  e : utilizationTab.entrySet()) {
@@ -465,13 +553,9 @@ public class UtilizationTable {
 			int nResources = countCoresPerType.get(resourceType);
 			for(int i=0; i< nResources; i++) {
 				if(canInsertInCore(resourceType,i,t)) {
-					LinkedList<TimeSlot> timeSlots = utilizationTab.get(resourceType).get(i);
 					TimeSlot clone = new TimeSlot(t);
 					clone.setResourceId(resourceType);
-					timeSlots.add(clone);
-					sortIntervals(timeSlots);
-					utilizationTab.get(resourceType).put(i, timeSlots);
-					resourceOccupation.get(resourceType).put(i, resourceOccupation.get(resourceType).get(i)+t.getLength());
+					commitTimeSlot(resourceType, i, clone, true);
 					status.add(true);
 					break;
 				}
@@ -491,17 +575,12 @@ public class UtilizationTable {
 			int nResources = countCoresPerType.get(resourceType);
 			for(int i=0; i< nResources; i++) {
 				if(canInsertInCore(resourceType,i,t1) && canInsertInCore(resourceType,i,t2)) {
-					LinkedList<TimeSlot> timeSlots = utilizationTab.get(resourceType).get(i);
 					TimeSlot clone1 = new TimeSlot(t1);
 					TimeSlot clone2 = new TimeSlot(t2);
 					clone1.setResourceId(resourceType);
 					clone2.setResourceId(resourceType);
-					timeSlots.add(clone1);
-					timeSlots.add(clone2);
-					sortIntervals(timeSlots);
-					utilizationTab.get(resourceType).put(i, timeSlots);
-					resourceOccupation.get(resourceType).put(i, resourceOccupation.get(resourceType).get(i)+t1.getLength());
-					resourceOccupation.get(resourceType).put(i, resourceOccupation.get(resourceType).get(i)+t2.getLength());
+					commitTimeSlot(resourceType, i, clone1, true);
+					commitTimeSlot(resourceType, i, clone2, true);
 					status.add(true);
 					break;
 				}
@@ -517,84 +596,242 @@ public class UtilizationTable {
 		
 		for(int i=0; i< nCores; i++) {
 			if(canInsertInCore(coreType,i,t1) && canInsertInCore(coreType,i,t2)) {
-				LinkedList<TimeSlot> timeSlots = utilizationTab.get(coreType).get(i);
-				timeSlots.add(t1);
-				timeSlots.add(t2);
-				sortIntervals(timeSlots);
-				utilizationTab.get(coreType).put(i, timeSlots);
+				commitTimeSlot(coreType, i, t1, false);
+				commitTimeSlot(coreType, i, t2, false);
 				return true;
 			}
 		}
 		return false;
 	}
 	
-	//MyEntry<Integer,Integer>
-	// key :start
-	// value : end
-	public Queue<MyEntry<Integer,Integer>> getCandidateStartsInBoundResources(ArrayList<Integer> boundResources, int start, int length) {
-		Queue<MyEntry<Integer,Integer>> candidateStartsInBoundResources = new LinkedList<>();
+	// checks, without inserting, the same intervals that insertIntervalUtilizationTable would insert in the bound resources
+	public boolean fitsInBoundResources(ArrayList<Integer> boundResources, int startTime, int length) {
+		if (length>P)
+			return false;
+		startTime = startTime % P;
+		int endTime = (startTime + length) % P;
+		if (endTime == 0 && length!=0)
+			endTime = P;
 		
-		ArrayList<MyEntry<Integer,Integer>> overAllCandidateStartTimes = new ArrayList<>();
+		if(endTime > startTime || length==0)
+			return canInsertInBoundResources(boundResources, new TimeSlot(-1,startTime,endTime));
 		
-		// this only works if all the resources in the architecture are treated as unique, as the case of the heuristic with communications
-		for(int resourceType : boundResources) {
-			int nResources = countCoresPerType.get(resourceType);
-			for(int i=0; i< nResources; i++) 
-				overAllCandidateStartTimes.addAll( getCandidateStartsInCore(resourceType, i , start, length));
-		}
-		// filtering repeated
-		overAllCandidateStartTimes = new ArrayList<MyEntry<Integer,Integer>>(new HashSet<MyEntry<Integer,Integer>>(overAllCandidateStartTimes));
-		// sorting 
-		overAllCandidateStartTimes.sort((o1,o2) 
-				-> o1.getKey() - o2.getKey());
-		// sort with respect of startTime
-		for(MyEntry<Integer,Integer> k : overAllCandidateStartTimes) {
-			if (k.getKey() >= start)
-				candidateStartsInBoundResources.add(k);
-		}
-		for(MyEntry<Integer,Integer> k : overAllCandidateStartTimes) {
-			if (k.getKey() < start)
-				candidateStartsInBoundResources.add(k);
-		}
-		return candidateStartsInBoundResources;
+		return canInsertInBoundResources(boundResources,new TimeSlot(-1,startTime,P)) && canInsertInBoundResources(boundResources,new TimeSlot(-1,0,endTime));
 	}
 	
-	ArrayList<MyEntry<Integer,Integer>> getCandidateStartsInCore(int  coreType, int core, int start, int length){
-		ArrayList<MyEntry<Integer,Integer>> candidateStarts = new ArrayList<>();
-		LinkedList<TimeSlot> timeSlots = utilizationTab.get(coreType).get(core);
-		sortIntervals(timeSlots);
-		
-		int nTimeSlots = timeSlots.size();
-		
-		if (nTimeSlots == 0) {  // the thing is empty, starting from start and ending at start
-			candidateStarts.add(new MyEntry<Integer,Integer>(0,this.P));
-			return candidateStarts;
+	// returns the first start time (modulo P), at or after start and wrapping around P, at which
+	// an interval of the given length fits in all the bound resources. Returns -1 if there is none
+	public int getEarliestStartInBoundResources(ArrayList<Integer> boundResources, int start, int length) {
+		if (length>P)
+			return -1;
+		int from = start % P;
+		int distance = 0;
+		while(distance < P) {
+			// jump over the busy steps, then check the slots of length zero
+			int d = getDistanceToFit(boundResources, from + distance, length);
+			if (d < 0 || distance + d >= P)
+				return -1;
+			distance += d;
+			int proposal = (from + distance) % P;
+			if (fitsInBoundResources(boundResources, proposal, length))
+				return proposal;
+			distance++;
+		}
+		return -1;
+	}
+	
+	// returns the start time (modulo P) of the first free gap of the bound resources where an interval of the
+	// given length fits in all of them. The gaps at or after start within the period come first, then the ones
+	// from the beginning of the period. A gap starts at the end of a slot of a resource, or at 0 if the resource
+	// is empty. Returns -1 if there is none
+	public int getFirstGapStart(ArrayList<Integer> boundResources, int start, int length) {
+		if (length>P)
+			return -1;
+		int from = start < P ? start : 0;
+		int distance = 0;
+		while(distance < P) {
+			int d = getDistanceToFit(boundResources, from + distance, length);
+			if (d < 0 || distance + d >= P)
+				return -1;
+			distance += d;
+			// the fit must be at the start of a gap
+			d = getDistanceToGapStart(boundResources, (from + distance) % P, length);
+			if (d < 0 || distance + d >= P)
+				return -1;
+			if (d > 0) {
+				distance += d;
+				continue;
+			}
+			int proposal = (from + distance) % P;
+			if (fitsInBoundResources(boundResources, proposal, length))
+				return proposal;
+			distance++;
 		}
-		
-		for(int i = 0; i<nTimeSlots-1;i++) {
-			if( timeSlots.get(i+1).getStartTime() - timeSlots.get(i).getEndTime() >= length  ) {
-				candidateStarts.add(new MyEntry<Integer,Integer>(timeSlots.get(i).getEndTime(), timeSlots.get(i+1).getStartTime() ));
+		return -1;
+	}
+	
+	// returns the first start time (modulo P), at or after start and wrapping around P, at which each interval i,
+	// starting offsets[i] steps later and lasting lengths[i] steps, passes canInsertIntervalUtilizationTable in the
+	// bound resources boundResources.get(i). The intervals are not checked against each other. Returns -1 if there is none
+	public int getEarliestStartOfGroup(ArrayList<ArrayList<Integer>> boundResources, int[] offsets, int[] lengths, int start) {
+		int from = start % P;
+		int distance = 0;
+		search:
+		while(distance < P) {
+			int proposal = from + distance;
+			for(int i = 0; i < lengths.length; i++) {
+				if (lengths[i] > P)
+					return -1;
+				if (lengths[i] == 0)
+					continue;
+				int position = (proposal + offsets[i]) % P;
+				ArrayList<Integer> resourceTypes = boundResources.get(i);
+				for(int t = 0; t < resourceTypes.size(); t++) {
+					for(int r : resourcesOfType.get(resourceTypes.get(t))) {
+						int fit = gaps[r].firstFit(position, lengths[i]);
+						if (fit < 0)
+							return -1;
+						if (fit != position) {
+							// no proposal before the next gap of the resource can fit
+							distance += (fit - position + P) % P;
+							continue search;
+						}
+					}
+				}
 			}
+			// all the gaps agree, check the slots of length zero
+			boolean fits = true;
+			for(int i = 0; i < lengths.length && fits; i++)
+				fits = canInsertInResources(boundResources.get(i), proposal + offsets[i], lengths[i]);
+			if (fits)
+				return proposal % P;
+			distance++;
+		}
+		return -1;
+	}
+	
+	// same check as canInsertIntervalUtilizationTable
+	boolean canInsertInResources(ArrayList<Integer> resourceTypes, int startTime, int length) {
+		return canInsertIntervalUtilizationTable(-1, resourceTypes, startTime, startTime + length, length);
+	}
+	
+	// distance, wrapping around P, from the position to the first start where the steps [s, s+length)
+	// are free in all the bound resources, the slots of length zero are not checked. Returns -1 if there is none
+	private int getDistanceToFit(ArrayList<Integer> boundResources, int position, int length) {
+		if (length == 0)
+			return 0;
+		int from = position % P;
+		int distance = 0;
+		search:
+		while(distance < P) {
+			int proposal = (from + distance) % P;
+			for(int resourceType : boundResources) {
+				for(int r : resourcesOfType.get(resourceType)) {
+					int fit = gaps[r].firstFit(proposal, length);
+					if (fit < 0)
+						return -1;
+					if (fit != proposal) {
+						// the resource is busy at the proposal, jump to its next gap and check again
+						distance += (fit - proposal + P) % P;
+						continue search;
+					}
+				}
+			}
+			return distance;
 		}
-		// case when the borders are connected
-		if(timeSlots.get(nTimeSlots-1).getEndTime() < this.P  && timeSlots.get(0).getStartTime()>0 ) {
-			int sizeBorderSpace = (P - timeSlots.get(nTimeSlots-1).getEndTime()) + timeSlots.get(0).getStartTime();
-			if(sizeBorderSpace >= length) 
-				candidateStarts.add(new MyEntry<Integer,Integer>(timeSlots.get(nTimeSlots-1).getEndTime(), timeSlots.get(0).getStartTime() ));
-			return candidateStarts;
+		return -1;
+	}
+	
+	// distance, wrapping around P, from the position to the first start of a gap of any of the bound resources
+	// where an interval of the given length can start. Returns -1 if there is none
+	private int getDistanceToGapStart(ArrayList<Integer> boundResources, int position, int length) {
+		int best = -1;
+		for(int resourceType : boundResources) {
+			for(int r : resourcesOfType.get(resourceType)) {
+				int gapStart = getNextGapStart(r, position, length);
+				if (gapStart < 0)
+					continue;
+				int d = (gapStart - position + P) % P;
+				if (best < 0 || d < best)
+					best = d;
+				if (best == 0)
+					return 0;
+			}
 		}
-		// check individual borders
-		if(timeSlots.get(nTimeSlots-1).getEndTime() < this.P) {
-			if((P - timeSlots.get(nTimeSlots-1).getEndTime() ) >= length) 
-				candidateStarts.add(new MyEntry<Integer,Integer>(timeSlots.get(nTimeSlots-1).getEndTime(),  this.P));
+		return best;
+	}
+	
+	// first start of a gap of the resource at or after the position, wrapping around P
+	private int getNextGapStart(int r, int position, int length) {
+		if (countSlots[r] == 0)
+			return 0;
+		// the gaps that cross the border of the period end at a slot of length zero in the step 0
+		int last = length > 0 && isSet(points[r], 0) ? P - length : P - 1;
+		int s = getNextGapStartInRange(r, position, last);
+		if (s < 0)
+			s = getNextGapStartInRange(r, 0, Math.min(position - 1, last));
+		return s;
+	}
+	
+	// first start of a gap of the resource in [from, to]
+	private int getNextGapStartInRange(int r, int from, int to) {
+		if (from > to)
+			return -1;
+		if (from == 0) {
+			// a slot ending at P only opens a gap at 0 if no slot starts there
+			if (isSet(points[r], 0) || (isSet(ends[r], P) && !isSet(starts[r], 0)))
+				return 0;
+			from = 1;
+			if (from > to)
+				return -1;
+		}
+		for(int w = from >> 6; w <= to >> 6; w++) {
+			long m = ends[r][w] | points[r][w];
+			if (w == from >> 6)
+				m &= -1L << from;
+			if (w == to >> 6)
+				m &= -1L >>> (63 - (to & 63));
+			if (m != 0)
+				return (w << 6) + Long.numberOfTrailingZeros(m);
+		}
+		return -1;
+	}
+	
+	// records the slot in the bitmaps and in the index of free gaps of the resource
+	private void indexTimeSlot(int coreType, int core, TimeSlot t) {
+		int r = getResourceIndex(coreType, core);
+		if (t.getStartTime() == t.getEndTime()) {
+			setBits(points[r], t.getStartTime(), t.getStartTime() + 1);
+		}else {
+			setBits(busy[r], t.getStartTime(), t.getEndTime());
+			setBits(starts[r], t.getStartTime(), t.getStartTime() + 1);
+			setBits(ends[r], t.getEndTime(), t.getEndTime() + 1);
+			gaps[r].update(t.getStartTime(), Math.min(t.getEndTime(), P));
 		}
-		if(timeSlots.get(0).getStartTime()>0 ) {
-			if(timeSlots.get(0).getStartTime() >= length)
-				candidateStarts.add(new MyEntry<Integer,Integer>(0,timeSlots.get(0).getStartTime()));
+		countSlots[r]++;
+	}
+	
+	// removes the slot, already removed from the list of the core, from the bitmaps and the index of free gaps
+	private void unindexTimeSlot(int coreType, int core, TimeSlot t) {
+		int r = getResourceIndex(coreType, core);
+		if (t.getStartTime() == t.getEndTime()) {
+			// other slots of length zero may share the same step
+			boolean shared = false;
+			for(TimeSlot ts : utilizationTab.get(coreType).get(core)) {
+				if (ts.getLength() == 0 && ts.getStartTime() == t.getStartTime()) {
+					shared = true;
+					break;
+				}
+			}
+			if (!shared)
+				clearBits(points[r], t.getStartTime(), t.getStartTime() + 1);
+		}else {
+			clearBits(busy[r], t.getStartTime(), t.getEndTime());
+			clearBits(starts[r], t.getStartTime(), t.getStartTime() + 1);
+			clearBits(ends[r], t.getEndTime(), t.getEndTime() + 1);
+			gaps[r].update(t.getStartTime(), Math.min(t.getEndTime(), P));
 		}
-			
-		return candidateStarts;
-		
+		countSlots[r]--;
 	}
 	
 	boolean canInsertInCore(int coreType, int core,TimeSlot t) {
@@ -630,16 +867,48 @@ public class UtilizationTable {
 		
 		for(int i=0; i< nCores; i++) {
 			if(canInsertInCore(coreType,i,t)) {
-				LinkedList<TimeSlot> timeSlots = utilizationTab.get(coreType).get(i);
-				timeSlots.add(t);
-				sortIntervals(timeSlots);
-				utilizationTab.get(coreType).put(i, timeSlots);
+				commitTimeSlot(coreType, i, t, false);
 				return true;
 			}
 		}
 		return false;
 	}
 	
+	// commits a time slot in the given core and records it in the journal
+	private void commitTimeSlot(int coreType, int core, TimeSlot t, boolean occupation) {
+		addTimeSlot(coreType, core, t);
+		indexTimeSlot(coreType, core, t);
+		if (occupation)
+			resourceOccupation.get(coreType).put(core, resourceOccupation.get(coreType).get(core) + t.getLength());
+		journal.add(new Reservation(coreType, core, t, occupation));
+	}
+	
+	// stores a time slot in the given core, all the insertions pass through here
+	protected void addTimeSlot(int coreType, int core, TimeSlot t) {
+		LinkedList<TimeSlot> timeSlots = utilizationTab.get(coreType).get(core);
+		timeSlots.add(t);
+		sortIntervals(timeSlots);
+	}
+	
+	// removes a time slot previously stored in the given core, used by rollback
+	protected void removeTimeSlot(int coreType, int core, TimeSlot t) {
+		LinkedList<TimeSlot> timeSlots = utilizationTab.get(coreType).get(core);
+		// remove the same instance, equal slots may be stored more than once
+		for(Iterator<TimeSlot> it = timeSlots.descendingIterator(); it.hasNext();) {
+			if (it.next() == t) {
+				it.remove();
+				return;
+			}
+		}
+		assert false : "The time slot is not in the table";
+	}
+	
+	protected LinkedList<TimeSlot> getSortedTimeSlots(int coreType, int core){
+		LinkedList<TimeSlot> timeSlots = utilizationTab.get(coreType).get(core);
+		sortIntervals(timeSlots);
+		return timeSlots;
+	}
+	
 	public void sortIntervals(LinkedList<TimeSlot> timeSlots) {
 		timeSlots.sort((o1,o2) -> {
 			int result = o1.getStartTime() - o2.getStartTime();
@@ -648,5 +917,63 @@ public class UtilizationTable {
 			});
 	}
 	
+	static boolean isSet(long[] bits, int i) {
+		return (bits[i >> 6] & (1L << i)) != 0;
+	}
+	
+	// checks whether any bit in [from,to) is set
+	static boolean anySet(long[] bits, int from, int to) {
+		if (from >= to)
+			return false;
+		int first = from >> 6;
+		int last  = (to - 1) >> 6;
+		long firstMask = -1L << from;
+		long lastMask  = -1L >>> -to;
+		if (first == last)
+			return (bits[first] & firstMask & lastMask) != 0;
+		if ((bits[first] & firstMask) != 0)
+			return true;
+		for(int w = first + 1; w < last; w++)
+			if (bits[w] != 0)
+				return true;
+		return (bits[last] & lastMask) != 0;
+	}
+	
+	// sets the bits in [from,to)
+	static void setBits(long[] bits, int from, int to) {
+		if (from >= to)
+			return;
+		int first = from >> 6;
+		int last  = (to - 1) >> 6;
+		long firstMask = -1L << from;
+		long lastMask  = -1L >>> -to;
+		if (first == last) {
+			bits[first] |= firstMask & lastMask;
+			return;
+		}
+		bits[first] |= firstMask;
+		for(int w = first + 1; w < last; w++)
+			bits[w] = -1L;
+		bits[last] |= lastMask;
+	}
+	
+	// clears the bits in [from,to)
+	static void clearBits(long[] bits, int from, int to) {
+		if (from >= to)
+			return;
+		int first = from >> 6;
+		int last  = (to - 1) >> 6;
+		long firstMask = -1L << from;
+		long lastMask  = -1L >>> -to;
+		if (first == last) {
+			bits[first] &= ~(firstMask & lastMask);
+			return;
+		}
+		bits[first] &= ~firstMask;
+		for(int w = first + 1; w < last; w++)
+			bits[w] = 0;
+		bits[last] &= ~lastMask;
+	}
+	
 	
 }
@@ -0,0 +1,141 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Seeded random acyclic application bound to a multi-tile architecture,
+     used to check the heuristic modulo schedulers on fixed graphs
+--------------------------------------------------------------------------
+*/
+
+package multitile.tests;
+
+import multitile.architecture.Architecture;
+import multitile.architecture.Tile;
+import multitile.architecture.Processor;
+import multitile.mapping.Binding;
+import multitile.mapping.Bindings;
+import multitile.mapping.Mapping;
+import multitile.mapping.Mappings;
+
+import multitile.application.Application;
+import multitile.application.ApplicationManagement;
+import multitile.application.Actor;
+import multitile.application.Fifo;
+import multitile.application.Fifo.FIFO_MAPPING_TYPE;
+
+import java.util.*;
+
+public class TestApplicationRandom{
+  private Architecture architecture;
+  private Application sampleApplication;
+  private Bindings bindings;
+  private Mappings mappings;
+
+  // the same seed and number of actors always give the same architecture, application and bindings
+  public TestApplicationRandom(long seed, int nActors, boolean initialTokens){
+      Random rnd = new Random(seed);
+      int nTiles = 1 + rnd.nextInt(3);
+      int nProcessors = 1 + rnd.nextInt(3);
+      int crossbarChannels = 1 + rnd.nextInt(2);
+      architecture = new Architecture("architecture",nTiles,nProcessors,1.0,crossbarChannels);
+      List<Processor> processors = new ArrayList<>();
+      for(Tile t : architecture.getTiles().values()) {
+        for(Processor p : t.getProcessors().values()) {
+          p.setProcesorType("P0");
+          processors.add(p);
+        }
+      }
+
+      List<Actor> actors = new ArrayList<>();
+      for(int i=0; i < nActors; i++)
+        actors.add(new Actor("a"+i));
+      Map<Integer,Fifo> fifos = new HashMap<>();
+      FIFO_MAPPING_TYPE[] types = {FIFO_MAPPING_TYPE.SOURCE,FIFO_MAPPING_TYPE.DESTINATION,FIFO_MAPPING_TYPE.TILE_LOCAL_SOURCE,FIFO_MAPPING_TYPE.TILE_LOCAL_DESTINATION,FIFO_MAPPING_TYPE.GLOBAL};
+      // each actor reads from one or two actors created before it
+      for(int j=1; j < nActors; j++) {
+        int k = 1 + rnd.nextInt(2);
+        Set<Integer> sources = new HashSet<>();
+        for(int q=0; q < k; q++)
+          sources.add(rnd.nextInt(j));
+        for(int i : sources) {
+          int tokens = (initialTokens && rnd.nextInt(4) == 0) ? 1 : 0;
+          Fifo f = new Fifo("f"+i+"_"+j,tokens,1,1+rnd.nextInt(40),1,1,actors.get(i),actors.get(j),types[rnd.nextInt(types.length)]);
+          fifos.put(f.getId(),f);
+        }
+      }
+      sampleApplication = new Application();
+      sampleApplication.setActorsFromList(actors);
+      sampleApplication.setFifos(fifos);
+      ApplicationManagement.setFifosToActors(sampleApplication);
+      for(Actor a : actors) {
+        a.setInputs(a.getInputFifos().size());
+        a.setOutputs(a.getOutputFifos().size());
+      }
+
+      bindings = new Bindings();
+      mappings = new Mappings();
+      for(Actor a : actors) {
+        Processor p = processors.get(rnd.nextInt(processors.size()));
+        int discreteRuntime = 1 + rnd.nextInt(20);
+        Binding<Processor> b = new Binding<>(p);
+        b.getProperties().put("discrete-runtime",discreteRuntime);
+        b.getProperties().put("runtime",(double)discreteRuntime);
+        bindings.getActorProcessorBindings().put(a.getId(),b);
+        bindings.getActorTileBindings().put(a.getId(),new Binding<Tile>(p.getOwnerTile()));
+        HashMap<Integer,Mapping<Processor>> actorMappings = new HashMap<>();
+        for(Processor pp : processors) {
+          Mapping<Processor> m = new Mapping<>(pp);
+          m.getProperties().put("discrete-runtime",discreteRuntime);
+          m.getProperties().put("runtime",(double)discreteRuntime);
+          actorMappings.put(pp.getId(),m);
+        }
+        mappings.getActorProcessorMappings().put(a.getId(),actorMappings);
+      }
+      mappings.fillUsefulMaps();
+      ApplicationManagement.assignFifoMapping(sampleApplication,architecture,bindings);
+  }
+
+  public Architecture getArchitecture(){
+    return this.architecture;
+  }
+
+  public Application getSampleApplication(){
+    return this.sampleApplication;
+  }
+
+  public Bindings getBindings(){
+    return this.bindings;
+  }
+
+  public Mappings getMappings(){
+    return this.mappings;
+  }
+}
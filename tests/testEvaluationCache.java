@@ -0,0 +1,176 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Symmetric design points must share the signature in the evaluation cache and
+     different ones, or the same one of another model, must not, the least recently
+     used entry is evicted and the entries survive saving and loading the cache
+--------------------------------------------------------------------------
+*/
+package multitile.tests;
+
+import multitile.scheduler.EvaluationCache;
+
+import multitile.architecture.Processor;
+import multitile.architecture.Tile;
+import multitile.architecture.ArchitectureManagement;
+import multitile.mapping.Binding;
+import multitile.mapping.Bindings;
+
+import multitile.application.Application;
+import multitile.application.ApplicationManagement;
+import multitile.application.FifoManagement;
+import multitile.application.ActorManagement;
+import multitile.application.Fifo;
+
+import java.io.*;
+import java.util.*;
+
+public class testEvaluationCache {
+    static int errors = 0;
+
+    public static void main(String[] args) throws IOException {
+      System.out.println("Testing the evaluation cache!");
+      int nSwapped = 0;
+      for(int seed = 0; seed < 100; seed++) {
+        resetCounters();
+        TestApplicationRandom sample = new TestApplicationRandom(seed,15,seed % 2 == 1);
+        String signature = EvaluationCache.getSignature("v0",sample.getArchitecture(),sample.getSampleApplication(),sample.getBindings());
+        resetCounters();
+        TestApplicationRandom again = new TestApplicationRandom(seed,15,seed % 2 == 1);
+        check(seed, "same design point", signature, EvaluationCache.getSignature("v0",again.getArchitecture(),again.getSampleApplication(),again.getBindings()));
+        check(seed, "another variant", false, signature.equals(EvaluationCache.getSignature("v1",again.getArchitecture(),again.getSampleApplication(),again.getBindings())));
+
+        // exchanging two processors of the same tile and type gives a symmetric design point
+        for(Tile t : again.getArchitecture().getTiles().values()) {
+          if (t.getProcessors().size() < 2)
+            continue;
+          Iterator<Processor> it = new TreeMap<>(t.getProcessors()).values().iterator();
+          Processor p0 = it.next();
+          Processor p1 = it.next();
+          for(Binding<Processor> b : again.getBindings().getActorProcessorBindings().values()) {
+            if (b.getTarget() == p0)
+              b.setTarget(p1);
+            else if (b.getTarget() == p1)
+              b.setTarget(p0);
+          }
+          ApplicationManagement.assignFifoMapping(again.getSampleApplication(),again.getArchitecture(),again.getBindings());
+          check(seed, "swapped processors", signature, EvaluationCache.getSignature("v0",again.getArchitecture(),again.getSampleApplication(),again.getBindings()));
+          nSwapped++;
+          break;
+        }
+
+        int actor = new TreeSet<>(again.getBindings().getActorProcessorBindings().keySet()).first();
+        Binding<Processor> b = again.getBindings().getActorProcessorBindings().get(actor);
+        b.getProperties().put("discrete-runtime",(int)b.getProperties().get("discrete-runtime")+1);
+        check(seed, "another runtime", false, signature.equals(EvaluationCache.getSignature("v0",again.getArchitecture(),again.getSampleApplication(),again.getBindings())));
+
+        // the same design point of another model
+        resetCounters();
+        TestApplicationRandom other = new TestApplicationRandom(seed,15,seed % 2 == 1);
+        Fifo fifo = other.getSampleApplication().getFifos().values().iterator().next();
+        fifo.setTokenSize(fifo.getTokenSize()+1);
+        check(seed, "another token size", false, signature.equals(EvaluationCache.getSignature("v0",other.getArchitecture(),other.getSampleApplication(),other.getBindings())));
+        resetCounters();
+        other = new TestApplicationRandom(seed,15,seed % 2 == 1);
+        Tile tile = other.getArchitecture().getTiles().values().iterator().next();
+        tile.getTileLocalMemory().setCapacity(1000);
+        check(seed, "another memory capacity", false, signature.equals(EvaluationCache.getSignature("v0",other.getArchitecture(),other.getSampleApplication(),other.getBindings())));
+        resetCounters();
+        other = new TestApplicationRandom(seed,16,seed % 2 == 1);
+        check(seed, "another application", false, signature.equals(EvaluationCache.getSignature("v0",other.getArchitecture(),other.getSampleApplication(),other.getBindings())));
+
+        // the cached capacities are restored to the fifos in order of their ids
+        Application app = sample.getSampleApplication();
+        Random rnd = new Random(seed);
+        for(Fifo f : app.getFifos().values())
+          f.set_capacity(1 + rnd.nextInt(10));
+        Map<Integer,Integer> capacities = new HashMap<>();
+        for(Fifo f : app.getFifos().values())
+          capacities.put(f.getId(), f.get_capacity());
+        EvaluationCache.Entry entry = new EvaluationCache.Entry(10,20,0.5,app);
+        for(Fifo f : app.getFifos().values())
+          f.set_capacity(100);
+        entry.setCapacities(app);
+        for(Fifo f : app.getFifos().values())
+          check(seed, "capacity of "+f.getName(), capacities.get(f.getId()), f.get_capacity());
+      }
+      System.out.println("Symmetric design points checked: "+nSwapped);
+
+      // least recently used eviction
+      EvaluationCache cache = new EvaluationCache(3);
+      cache.put("a", new EvaluationCache.Entry(1,1,0.1,new int[]{1}));
+      cache.put("b", new EvaluationCache.Entry(2,2,0.2,new int[]{2}));
+      cache.put("c", new EvaluationCache.Entry(3,3,0.3,new int[]{3}));
+      check(0, "hit a", true, cache.get("a") != null);
+      cache.put("d", new EvaluationCache.Entry(4,4,0.4,new int[]{4,5}));
+      check(0, "evicted b", true, cache.get("b") == null);
+      check(0, "kept a", 1, cache.get("a").getPeriod());
+      check(0, "size", 3, cache.size());
+      check(0, "hits", 2L, cache.getHits());
+      check(0, "misses", 1L, cache.getMisses());
+
+      // save and load
+      File file = File.createTempFile("evaluationCache", ".txt");
+      file.deleteOnExit();
+      cache.put("e", new EvaluationCache.Entry(5,6,0.75,new int[0]));
+      cache.save(file.getPath());
+      EvaluationCache loaded = new EvaluationCache(10);
+      loaded.load(file.getPath());
+      check(0, "loaded size", 3, loaded.size());
+      for(String key : new String[]{"a","d","e"}) {
+        EvaluationCache.Entry saved = cache.get(key);
+        EvaluationCache.Entry read = loaded.get(key);
+        check(0, "loaded "+key, saved.getPeriod()+" "+saved.getLatency()+" "+saved.getUtilization()+" "+Arrays.toString(saved.getCapacities()),
+            read == null ? null : read.getPeriod()+" "+read.getLatency()+" "+read.getUtilization()+" "+Arrays.toString(read.getCapacities()));
+      }
+      EvaluationCache missing = new EvaluationCache(10);
+      missing.load(file.getPath()+".missing");
+      check(0, "missing file", 0, missing.size());
+
+      System.out.println("Evaluation cache checked, errors: "+errors);
+      if (errors > 0)
+        System.exit(1);
+    }
+
+    static void check(int seed, String what, Object expected, Object found) {
+      if (!Objects.equals(expected, found)) {
+        System.out.println("ERROR seed "+seed+": "+what+" "+found+" expected "+expected);
+        errors++;
+      }
+    }
+
+    static void resetCounters() {
+      ActorManagement.resetCounters();
+      FifoManagement.resetCounters();
+      ArchitectureManagement.resetCounters();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Memory-bounded FCFS schedules of pipelines whose FIFOs overflow the tile local
+     memory: the FIFOs responsible of the overflows are remapped to the global memory
+     and the final schedule has no capacity violation
+--------------------------------------------------------------------------
+*/
+package multitile.tests;
+
+import multitile.scheduler.FCFSwithFifoResizing;
+import multitile.scheduler.CapacityViolation;
+
+import multitile.architecture.Architecture;
+import multitile.architecture.ArchitectureManagement;
+import multitile.architecture.Memory;
+import multitile.architecture.Processor;
+import multitile.architecture.Tile;
+import multitile.mapping.Binding;
+import multitile.mapping.Bindings;
+
+import multitile.application.Application;
+import multitile.application.ApplicationManagement;
+import multitile.application.FifoManagement;
+import multitile.application.ActorManagement;
+import multitile.application.Actor;
+import multitile.application.Fifo;
+import multitile.application.Fifo.FIFO_MAPPING_TYPE;
+
+import java.io.*;
+import java.util.*;
+
+public class testFCFSMemoryRemapping {
+    static int errors = 0;
+
+    public static void main(String[] args) throws IOException {
+      System.out.println("Testing the remapping of the overflowing FIFOs in FCFS!");
+      int nRemapped = 0;
+      for(int seed = 0; seed < 40; seed++) {
+        Random rnd = new Random(seed);
+        ActorManagement.resetCounters();
+        FifoManagement.resetCounters();
+        ArchitectureManagement.resetCounters();
+        Architecture architecture = new Architecture("architecture",1,2,1.0,1);
+        Tile tile = architecture.getTiles().values().iterator().next();
+        List<Processor> processors = new ArrayList<>(new TreeMap<>(tile.getProcessors()).values());
+
+        // pipeline with its actors alternating between the two processors
+        int nActors = 3 + rnd.nextInt(4);
+        List<Actor> actors = new ArrayList<>();
+        for(int i = 0; i < nActors; i++)
+          actors.add(new Actor("a"+i));
+        Map<Integer,Fifo> fifos = new HashMap<>();
+        int maxTokenSize = 0;
+        for(int i = 0; i+1 < nActors; i++) {
+          int tokenSize = 10 + rnd.nextInt(90);
+          maxTokenSize = Math.max(maxTokenSize, tokenSize);
+          FIFO_MAPPING_TYPE type = rnd.nextBoolean() ? FIFO_MAPPING_TYPE.TILE_LOCAL_SOURCE : FIFO_MAPPING_TYPE.TILE_LOCAL_DESTINATION;
+          Fifo f = new Fifo("f"+i,0,100,tokenSize,1,1,actors.get(i),actors.get(i+1),type);
+          fifos.put(f.getId(),f);
+        }
+        Application app = new Application();
+        app.setActorsFromList(actors);
+        app.setFifos(fifos);
+        ApplicationManagement.setFifosToActors(app);
+        for(Actor a : actors) {
+          a.setInputs(a.getInputFifos().size());
+          a.setOutputs(a.getOutputFifos().size());
+        }
+        Bindings bindings = new Bindings();
+        for(int i = 0; i < nActors; i++) {
+          int runtime = 1 + rnd.nextInt(10);
+          Binding<Processor> b = new Binding<>(processors.get(i % 2));
+          b.getProperties().put("runtime",(double)runtime);
+          b.getProperties().put("discrete-runtime",runtime);
+          bindings.getActorProcessorBindings().put(actors.get(i).getId(),b);
+          bindings.getActorTileBindings().put(actors.get(i).getId(),new Binding<Tile>(tile));
+        }
+        ApplicationManagement.assignFifoMapping(app,architecture,bindings);
+        tile.getTileLocalMemory().setCapacity(maxTokenSize + rnd.nextInt(3*maxTokenSize));
+
+        FCFSwithFifoResizing scheduler = new FCFSwithFifoResizing(architecture,app);
+        scheduler.setMaxIterations(5 + rnd.nextInt(5));
+        scheduler.schedule(bindings,false);
+        List<CapacityViolation> violations = scheduler.getCapacityChecker().check(bindings);
+        Map<Integer,Memory> initial = new HashMap<>();
+        for(Fifo f : fifos.values())
+          initial.put(f.getId(), bindings.getFifoMemoryBindings().get(f.getId()).getTarget());
+
+        scheduler.schedule(bindings,true);
+        check(seed, "violations after the remapping", 0, scheduler.getCapacityViolations().size());
+        check(seed, "violations of the final bindings", 0, scheduler.getCapacityChecker().check(bindings).size());
+        // the fifos blamed for the first overflows are remapped, and only to the global memory
+        Set<Integer> blamed = new HashSet<>();
+        for(CapacityViolation v : violations)
+          for(Fifo f : v.getFifos())
+            blamed.add(f.getId());
+        for(Fifo f : fifos.values()) {
+          Memory memory = bindings.getFifoMemoryBindings().get(f.getId()).getTarget();
+          if (blamed.contains(f.getId()))
+            check(seed, f.getName()+" blamed", architecture.getGlobalMemory(), memory);
+          else if (memory != initial.get(f.getId()))
+            check(seed, f.getName()+" remapped", architecture.getGlobalMemory(), memory);
+          if (memory != initial.get(f.getId()))
+            nRemapped++;
+        }
+        if (violations.isEmpty())
+          check(seed, "bindings without overflows", initial.toString(), currentBindings(fifos, bindings).toString());
+      }
+      System.out.println("FIFOs remapped: "+nRemapped);
+      System.out.println("FCFS memory remapping checked, errors: "+errors);
+      if (errors > 0)
+        System.exit(1);
+    }
+
+    static Map<Integer,Memory> currentBindings(Map<Integer,Fifo> fifos, Bindings bindings) {
+      Map<Integer,Memory> current = new HashMap<>();
+      for(Fifo f : fifos.values())
+        current.put(f.getId(), bindings.getFifoMemoryBindings().get(f.getId()).getTarget());
+      return current;
+    }
+
+    static void check(int seed, String what, Object expected, Object found) {
+      if (!expected.equals(found)) {
+        System.out.println("ERROR seed "+seed+": "+what+" "+found+" expected "+expected);
+        errors++;
+      }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Regression sample for the heuristic modulo schedulers: the periods found
+     on a set of fixed random graphs must not change, for both kinds of
+     reservation table
+--------------------------------------------------------------------------
+*/
+package multitile.tests;
+
+import multitile.scheduler.HeuristicModuloSchedulerConstrained;
+import multitile.scheduler.HeuristicModuloSchedulerWithCommunications;
+import multitile.scheduler.UtilizationTable;
+
+import multitile.application.FifoManagement;
+import multitile.application.ActorManagement;
+import multitile.architecture.ArchitectureManagement;
+
+import java.io.*;
+import java.util.*;
+
+public class testHeuristicModuloSchedulingPeriods {
+    static final int N_ACTORS = 25;
+    // seed, initial tokens (1) or not (0), expected P of the constrained heuristic and
+    // expected P and latency of the heuristic with communications
+    static final int[][] CASES = {
+      {0,0,1198,1095,3042},
+      {1,0,1294,1245,1270},
+      {2,0,2190,2043,4169},
+      {3,0,999,833,2280},
+      {4,0,2025,1955,1974},
+      {5,0,729,639,2014},
+      {0,1,1056,979,3051},
+      {1,1,1324,1252,1256},
+      {2,1,1521,1538,1540},
+      {3,1,783,745,1615},
+      {4,1,1862,1622,3488},
+      {5,1,888,810,962},
+      {50,0,2209,2029,5076},
+      {50,1,1527,1313,3578}
+    };
+
+    public static void main(String[] args) throws IOException {
+      System.out.println("Testing the periods of the heuristic modulo schedulers on fixed graphs!");
+      int errors = 0;
+      for(UtilizationTable.RESERVATION_TYPE type : UtilizationTable.RESERVATION_TYPE.values()) {
+        for(int[] c : CASES) {
+          resetCounters();
+          TestApplicationRandom sample = new TestApplicationRandom(c[0],N_ACTORS,c[1] == 1);
+          HeuristicModuloSchedulerConstrained constrained = new HeuristicModuloSchedulerConstrained(sample.getArchitecture(),sample.getSampleApplication(),new ArrayList<>(Arrays.asList("P0")),1.0);
+          constrained.setReservationType(type);
+          constrained.setApplicationWithMessages();
+          constrained.setInterconnects(sample.getBindings());
+          constrained.tryToSchedule(sample.getBindings(),".");
+          if (constrained.getPeriod() != c[2]) {
+            System.out.println("ERROR "+type+" seed "+c[0]+": constrained P="+constrained.getPeriod()+" expected "+c[2]);
+            errors++;
+          }
+
+          resetCounters();
+          sample = new TestApplicationRandom(c[0],N_ACTORS,c[1] == 1);
+          HeuristicModuloSchedulerWithCommunications withCommunications = new HeuristicModuloSchedulerWithCommunications(sample.getArchitecture(),sample.getSampleApplication(),new ArrayList<>(Arrays.asList("P0")),1.0);
+          withCommunications.setReservationType(type);
+          withCommunications.setApplicationWithMessages();
+          withCommunications.setInterconnects(sample.getBindings());
+          withCommunications.tryToSchedule(sample.getBindings(),".");
+          if (withCommunications.getPeriod() != c[3] || withCommunications.getLantency() != c[4]) {
+            System.out.println("ERROR "+type+" seed "+c[0]+": with communications P="+withCommunications.getPeriod()+" latency "+withCommunications.getLantency()+" expected P="+c[3]+" latency "+c[4]);
+            errors++;
+          }
+        }
+      }
+      System.out.println("Periods checked, errors: "+errors);
+      if (errors > 0)
+        System.exit(1);
+    }
+
+    static void resetCounters() {
+      ActorManagement.resetCounters();
+      FifoManagement.resetCounters();
+      ArchitectureManagement.resetCounters();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Random changes of the tokens stored in FIFOs bound to memories of a tile,
+     the overflows reported by the memory capacity checker are checked
+     against the occupancy of each memory recomputed at every change
+--------------------------------------------------------------------------
+*/
+package multitile.tests;
+
+import multitile.scheduler.MemoryCapacityChecker;
+import multitile.scheduler.CapacityViolation;
+
+import multitile.architecture.Architecture;
+import multitile.architecture.Memory;
+import multitile.architecture.Processor;
+import multitile.architecture.ArchitectureManagement;
+import multitile.mapping.Binding;
+import multitile.mapping.Bindings;
+
+import multitile.application.Application;
+import multitile.application.FifoManagement;
+import multitile.application.ActorManagement;
+import multitile.application.Actor;
+import multitile.application.Fifo;
+import multitile.application.Fifo.FIFO_MAPPING_TYPE;
+
+import java.io.*;
+import java.util.*;
+
+public class testMemoryCapacityChecker {
+    static int errors = 0;
+
+    public static void main(String[] args) throws IOException {
+      System.out.println("Testing the memory capacity checker!");
+      Random rnd = new Random(5);
+      int nViolations = 0;
+      for(int trial = 0; trial < 500; trial++) {
+        ActorManagement.resetCounters();
+        FifoManagement.resetCounters();
+        ArchitectureManagement.resetCounters();
+        Architecture architecture = new Architecture("architecture",1,2,1.0,1);
+        List<Memory> memories = new ArrayList<>();
+        memories.add(architecture.getTiles().get(0).getTileLocalMemory());
+        for(Processor p : architecture.getTiles().get(0).getProcessors().values())
+          memories.add(p.getLocalMemory());
+        for(Memory m : memories)
+          m.setCapacity(20 + rnd.nextInt(180));
+
+        Actor src = new Actor("src");
+        Actor dst = new Actor("dst");
+        Map<Integer,Fifo> fifos = new HashMap<>();
+        Bindings bindings = new Bindings();
+        int nFifos = 1 + rnd.nextInt(8);
+        for(int i = 0; i < nFifos; i++) {
+          Fifo f = new Fifo("f"+i,rnd.nextInt(4),100,1+rnd.nextInt(10),1,1,src,dst,FIFO_MAPPING_TYPE.SOURCE);
+          fifos.put(f.getId(),f);
+          bindings.getFifoMemoryBindings().put(f.getId(), new Binding<Memory>(memories.get(rnd.nextInt(memories.size()))));
+        }
+        Application app = new Application();
+        app.setActorsFromList(new ArrayList<>(Arrays.asList(src,dst)));
+        app.setFifos(fifos);
+        MemoryCapacityChecker checker = new MemoryCapacityChecker(app);
+
+        // key -> time, value -> bytes stored in each fifo from that time on
+        TreeMap<Double,Map<Integer,Double>> states = new TreeMap<>();
+        Map<Integer,Double> state = new HashMap<>();
+        int expectedRecords = 0;
+        for(Fifo f : fifos.values()) {
+          state.put(f.getId(), (double)f.get_tokens()*f.getTokenSize());
+          if (f.get_tokens() > 0)
+            expectedRecords++;
+        }
+        states.put(0.0, new HashMap<>(state));
+        double time = 0.0;
+        int nChanges = rnd.nextInt(40);
+        List<Fifo> fifoList = new ArrayList<>(new TreeMap<>(fifos).values());
+        for(int k = 0; k < nChanges; k++) {
+          time += rnd.nextInt(4);
+          Fifo f = fifoList.get(rnd.nextInt(fifoList.size()));
+          int tokens = Math.max(0, f.get_tokens() + rnd.nextInt(6) - 2);
+          if (tokens != f.get_tokens())
+            expectedRecords++;
+          f.set_tokens(tokens);
+          checker.recordFifoState(f, time);
+          state.put(f.getId(), (double)tokens*f.getTokenSize());
+          states.put(time, new HashMap<>(state));
+        }
+        check(trial, "records", expectedRecords, checker.getNumberOfRecords());
+
+        // first overflow of each memory, recomputing its occupancy after every change
+        List<String> expected = new ArrayList<>();
+        for(Map.Entry<Double,Map<Integer,Double>> s : states.entrySet()) {
+          for(Memory m : memories) {
+            double occupancy = 0.0;
+            for(Map.Entry<Integer,Double> b : s.getValue().entrySet())
+              if (bindings.getFifoMemoryBindings().get(b.getKey()).getTarget() == m)
+                occupancy += b.getValue();
+            boolean reported = false;
+            for(String e : expected)
+              reported |= e.startsWith(m.getName()+" ");
+            if (occupancy > m.getCapacity() && !reported)
+              expected.add(m.getName()+" at "+s.getKey()+" occupancy "+occupancy+" remapped "+remappedFifos(s.getValue(), m, bindings, fifos));
+          }
+        }
+        List<String> found = new ArrayList<>();
+        for(CapacityViolation v : checker.check(bindings)) {
+          List<String> remapped = new ArrayList<>();
+          for(Fifo f : v.getFifos())
+            remapped.add(f.getName());
+          found.add(v.getMemory().getName()+" at "+v.getTime()+" occupancy "+v.getOccupancy()+" remapped "+remapped);
+        }
+        // the violations are sorted by time and then by memory id, memories were added in order of id
+        check(trial, "violations", expected, found);
+        nViolations += found.size();
+      }
+      System.out.println("Overflows found: "+nViolations);
+      System.out.println("Memory capacity checker checked, errors: "+errors);
+      if (errors > 0)
+        System.exit(1);
+    }
+
+    // fifos of the memory, in order of id, that do not fit after the ones that fit were kept
+    static List<String> remappedFifos(Map<Integer,Double> state, Memory memory, Bindings bindings, Map<Integer,Fifo> fifos) {
+      List<String> remapped = new ArrayList<>();
+      double stored = 0.0;
+      for(Map.Entry<Integer,Double> b : new TreeMap<>(state).entrySet()) {
+        if (bindings.getFifoMemoryBindings().get(b.getKey()).getTarget() != memory || b.getValue() <= 0)
+          continue;
+        if (stored + b.getValue() <= memory.getCapacity())
+          stored += b.getValue();
+        else
+          remapped.add(fifos.get(b.getKey()).getName());
+      }
+      return remapped;
+    }
+
+    static void check(int trial, String what, Object expected, Object found) {
+      if (!expected.equals(found)) {
+        System.out.println("ERROR trial "+trial+": "+what+" "+found+" expected "+expected);
+        errors++;
+      }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Routes of the 2D-mesh NoC: every route enters through the injection link of
+     the source router, follows the XY links and leaves through the ejection link
+     of the destination router, so the transfers between the tile and the global
+     memory attached to the same router use and contend for the NoC too
+--------------------------------------------------------------------------
+*/
+package multitile.tests;
+
+import multitile.Transfer;
+import multitile.scheduler.HeuristicModuloSchedulerWithCommunications;
+import multitile.scheduler.PassTransferOverArchitecture;
+
+import multitile.architecture.Architecture;
+import multitile.architecture.ArchitectureManagement;
+import multitile.architecture.MeshNoC;
+import multitile.architecture.MeshNoC.DIRECTION;
+import multitile.architecture.Memory;
+import multitile.architecture.NoC;
+import multitile.architecture.Processor;
+import multitile.architecture.Tile;
+import multitile.mapping.Binding;
+import multitile.mapping.Bindings;
+
+import multitile.application.Application;
+import multitile.application.ApplicationManagement;
+import multitile.application.FifoManagement;
+import multitile.application.ActorManagement;
+import multitile.application.Actor;
+import multitile.application.Fifo;
+import multitile.application.Fifo.FIFO_MAPPING_TYPE;
+
+import java.io.*;
+import java.util.*;
+
+public class testMeshNoC {
+    static int errors = 0;
+
+    public static void main(String[] args) throws IOException {
+      System.out.println("Testing the routes of the mesh NoC!");
+      Random rnd = new Random(7);
+      for(int trial = 0; trial < 500; trial++) {
+        ArchitectureManagement.resetCounters();
+        int columns = 1 + rnd.nextInt(4);
+        int rows = 1 + rnd.nextInt(4);
+        MeshNoC mesh = new MeshNoC("NoC", columns, rows, 10.0, 1);
+        int source = rnd.nextInt(columns*rows);
+        int destination = rnd.nextInt(columns*rows);
+        List<NoC> route = mesh.getRoute(source, destination);
+        // expected route: injection, x links, y links and ejection
+        List<NoC> expected = new ArrayList<>();
+        expected.add(mesh.getLink(source, DIRECTION.INJECTION));
+        int x = source % columns, y = source / columns;
+        while(x != destination % columns) {
+          DIRECTION d = x < destination % columns ? DIRECTION.EAST : DIRECTION.WEST;
+          expected.add(mesh.getLink(mesh.getRouter(x,y), d));
+          x += d == DIRECTION.EAST ? 1 : -1;
+        }
+        while(y != destination / columns) {
+          DIRECTION d = y < destination / columns ? DIRECTION.NORTH : DIRECTION.SOUTH;
+          expected.add(mesh.getLink(mesh.getRouter(x,y), d));
+          y += d == DIRECTION.NORTH ? 1 : -1;
+        }
+        expected.add(mesh.getLink(destination, DIRECTION.EJECTION));
+        check("route from "+source+" to "+destination+" in "+columns+"x"+rows, expected, route);
+        for(NoC link : route)
+          check("link "+link.getName()+" is found by id", link, mesh.isLink(link.getId()));
+      }
+
+      checkGlobalMemoryAtTheSameRouter();
+
+      System.out.println("Mesh NoC checked, errors: "+errors);
+      if (errors > 0)
+        System.exit(1);
+    }
+
+    // two writes to the global memory from the tile at the router of the global memory
+    static void checkGlobalMemoryAtTheSameRouter() {
+      ActorManagement.resetCounters();
+      FifoManagement.resetCounters();
+      ArchitectureManagement.resetCounters();
+      Architecture architecture = new Architecture("architecture",2,2,1,1.0,1,1.0,1);
+      MeshNoC mesh = (MeshNoC)architecture.getNoC();
+      Tile tile = null;
+      for(Tile t : architecture.getTiles().values())
+        if (mesh.getRouter(t) == mesh.getGlobalMemoryRouter())
+          tile = t;
+      Processor processor = tile.getProcessors().values().iterator().next();
+      processor.setProcesorType("P0");
+
+      Actor writer = new Actor("writer");
+      Actor reader = new Actor("reader");
+      Fifo fifo = new Fifo("fifo",0,1,8,1,1,writer,reader,FIFO_MAPPING_TYPE.GLOBAL);
+      Map<Integer,Fifo> fifos = new HashMap<>();
+      fifos.put(fifo.getId(),fifo);
+      Application app = new Application();
+      app.setActorsFromList(new ArrayList<>(Arrays.asList(writer,reader)));
+      app.setFifos(fifos);
+      ApplicationManagement.setFifosToActors(app);
+
+      Bindings bindings = new Bindings();
+      for(Actor a : app.getActors().values()) {
+        Binding<Processor> b = new Binding<>(processor);
+        b.getProperties().put("discrete-runtime",1);
+        b.getProperties().put("runtime",1.0);
+        bindings.getActorProcessorBindings().put(a.getId(),b);
+        bindings.getActorTileBindings().put(a.getId(),new Binding<Tile>(tile));
+      }
+      bindings.getFifoMemoryBindings().put(fifo.getId(),new Binding<Memory>(architecture.getGlobalMemory()));
+
+      HeuristicModuloSchedulerWithCommunications scheduler = new HeuristicModuloSchedulerWithCommunications(architecture,app,new ArrayList<>(Arrays.asList("P0")),1.0);
+      Transfer write = new Transfer(writer,fifo,0.0,Transfer.TRANSFER_TYPE.WRITE);
+      PassTransferOverArchitecture[] passes = scheduler.getRouteOfTransfer(write,bindings);
+      List<NoC> links = new ArrayList<>();
+      for(PassTransferOverArchitecture pass : passes)
+        if (pass.getType() == PassTransferOverArchitecture.PASS_TYPE.NOC)
+          links.add(pass.getNoC());
+      check("links to the global memory at the same router", mesh.getRoute(tile,null), links);
+
+      Transfer first = scheduler.schedulePassesOfTransfer(write,passes,false,true);
+      Transfer second = scheduler.schedulePassesOfTransfer(write,passes,false,true);
+      NoC injection = mesh.getLink(mesh.getRouter(tile), DIRECTION.INJECTION);
+      List<Transfer> injected = injection.getScheduledTransfersChannels().get(0);
+      check("transfers injected", 2, injected.size());
+      if (injected.size() == 2) {
+        check("time in the injection link", true, injected.get(0).getDue_time() > injected.get(0).getStart_time());
+        check("contention in the injection link", true, injected.get(1).getStart_time() >= injected.get(0).getDue_time());
+      }
+      check("second write after the first one", true, second.getDue_time() > first.getDue_time());
+    }
+
+    static void check(String what, Object expected, Object found) {
+      if (!expected.equals(found)) {
+        System.out.println("ERROR: "+what+" "+found+" expected "+expected);
+        errors++;
+      }
+    }
+}
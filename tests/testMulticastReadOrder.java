@@ -0,0 +1,193 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Heuristic modulo schedules of random applications with MRBs read by several actors of the same
+     remote tile: the read tasks that copy the tokens over the crossbar of the tile must start after
+     the read task that transfers them over the NoC ended
+--------------------------------------------------------------------------
+*/
+package multitile.tests;
+
+import multitile.scheduler.HeuristicModuloSchedulerConstrained;
+import multitile.scheduler.HeuristicModuloSchedulerWithCommunications;
+import multitile.scheduler.UtilizationTable.TimeSlot;
+
+import multitile.architecture.Architecture;
+import multitile.architecture.ArchitectureManagement;
+import multitile.architecture.Processor;
+import multitile.architecture.Tile;
+import multitile.mapping.Binding;
+import multitile.mapping.Bindings;
+
+import multitile.application.Application;
+import multitile.application.ApplicationManagement;
+import multitile.application.FifoManagement;
+import multitile.application.ActorManagement;
+import multitile.application.Actor;
+import multitile.application.Actor.ACTOR_TYPE;
+import multitile.application.CommunicationTask;
+import multitile.application.Fifo;
+import multitile.application.Fifo.FIFO_MAPPING_TYPE;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class testMulticastReadOrder {
+    static int errors = 0;
+    static int followers = 0;
+    static Architecture architecture;
+    static Application application;
+    static Bindings bindings;
+
+    public static void main(String[] args) throws IOException {
+      System.out.println("Testing the order of the multicast reads in the heuristic modulo schedulers!");
+      ForkJoinPool pool = new ForkJoinPool(2);
+      for(int seed = 0; seed < 30; seed++) {
+        for(int parallel = 0; parallel < 2; parallel++) {
+          createApplication(seed);
+          HeuristicModuloSchedulerConstrained constrained = new HeuristicModuloSchedulerConstrained(architecture,application,new ArrayList<>(Arrays.asList("P0")),1.0);
+          constrained.setMulticastTransfers(true);
+          if (parallel == 1)
+            constrained.setSearchPool(pool);
+          constrained.setApplicationWithMessages();
+          constrained.setInterconnects(bindings);
+          constrained.tryToSchedule(bindings,".");
+          checkFollowers(seed, "constrained", constrained.getSetCommunicationTasks().values(), constrained.getTimeInfoActors());
+
+          createApplication(seed);
+          HeuristicModuloSchedulerWithCommunications withCommunications = new HeuristicModuloSchedulerWithCommunications(architecture,application,new ArrayList<>(Arrays.asList("P0")),1.0);
+          withCommunications.setMulticastTransfers(true);
+          if (parallel == 1)
+            withCommunications.setSearchPool(pool);
+          withCommunications.setApplicationWithMessages();
+          withCommunications.setInterconnects(bindings);
+          withCommunications.tryToSchedule(bindings,".");
+          checkFollowers(seed, "with communications", withCommunications.getApplicationWithMessages().getActors().values(), withCommunications.getTimeInfoActors());
+        }
+      }
+      pool.shutdown();
+      System.out.println("Multicast reads checked: "+followers+", errors: "+errors);
+      if (errors > 0 || followers == 0)
+        System.exit(1);
+    }
+
+    // each read task copying the tokens in a tile starts once the read task of its leader ended
+    static void checkFollowers(int seed, String scheduler, Collection<? extends Actor> tasks, Map<Integer,TimeSlot> times) {
+      for(Actor a : tasks) {
+        if (a.getType() != ACTOR_TYPE.READ_COMMUNICATION_TASK)
+          continue;
+        CommunicationTask leader = ((CommunicationTask)a).getMulticastLeader();
+        if (leader == null)
+          continue;
+        followers++;
+        TimeSlot follower = times.get(a.getId());
+        TimeSlot traversal = times.get(leader.getId());
+        if (follower == null || traversal == null) {
+          System.out.println("ERROR seed "+seed+" "+scheduler+": "+a.getName()+" or "+leader.getName()+" not scheduled");
+          errors++;
+        }else if (follower.getStartTime() < traversal.getEndTime()) {
+          System.out.println("ERROR seed "+seed+" "+scheduler+": "+a.getName()+" starts at "+follower.getStartTime()+" before "+leader.getName()+" ended at "+traversal.getEndTime());
+          errors++;
+        }
+      }
+    }
+
+    // writers whose tokens are multicast to readers spread over the tiles, the readers also depend on each other
+    static void createApplication(long seed) {
+      Random rnd = new Random(seed);
+      ActorManagement.resetCounters();
+      FifoManagement.resetCounters();
+      ArchitectureManagement.resetCounters();
+      architecture = new Architecture("architecture",2 + rnd.nextInt(2),2,1.0,1 + rnd.nextInt(2));
+      List<Processor> processors = new ArrayList<>();
+      for(Tile t : architecture.getTiles().values()) {
+        for(Processor p : t.getProcessors().values()) {
+          p.setProcesorType("P0");
+          processors.add(p);
+        }
+      }
+      int nReaders = 6 + rnd.nextInt(6);
+      List<Actor> actors = new ArrayList<>();
+      List<Actor> readers = new ArrayList<>();
+      for(int i = 0; i < nReaders; i++)
+        readers.add(new Actor("r"+i));
+      Map<Integer,Fifo> fifos = new HashMap<>();
+      int nMRBs = 1 + rnd.nextInt(3);
+      for(int m = 0; m < nMRBs; m++) {
+        Actor writer = new Actor("w"+m);
+        Actor multicast = new Actor("m"+m);
+        multicast.setType(ACTOR_TYPE.MULTICAST);
+        multicast.setMergeMulticast(true);
+        actors.add(writer);
+        actors.add(multicast);
+        FIFO_MAPPING_TYPE type = rnd.nextBoolean() ? FIFO_MAPPING_TYPE.TILE_LOCAL_SOURCE : FIFO_MAPPING_TYPE.GLOBAL;
+        int tokenSize = 1 + rnd.nextInt(40);
+        Fifo in = new Fifo("w"+m+"_m"+m,0,1,tokenSize,1,1,writer,multicast,type);
+        fifos.put(in.getId(),in);
+        List<Actor> shuffled = new ArrayList<>(readers);
+        Collections.shuffle(shuffled, rnd);
+        for(Actor r : shuffled.subList(0, 2 + rnd.nextInt(nReaders - 1))) {
+          Fifo out = new Fifo("m"+m+"_"+r.getName(),0,1,tokenSize,1,1,multicast,r,type);
+          fifos.put(out.getId(),out);
+        }
+      }
+      for(int i = 1; i < nReaders; i++) {
+        if (rnd.nextInt(3) == 0)
+          continue;
+        int j = rnd.nextInt(i);
+        Fifo f = new Fifo("r"+j+"_r"+i,0,1,1+rnd.nextInt(40),1,1,readers.get(j),readers.get(i),FIFO_MAPPING_TYPE.TILE_LOCAL_SOURCE);
+        fifos.put(f.getId(),f);
+      }
+      actors.addAll(readers);
+      application = new Application();
+      application.setActorsFromList(actors);
+      application.setFifos(fifos);
+      ApplicationManagement.setFifosToActors(application);
+      for(Actor a : actors) {
+        a.setInputs(a.getInputFifos().size());
+        a.setOutputs(a.getOutputFifos().size());
+      }
+      bindings = new Bindings();
+      for(Actor a : actors) {
+        Processor p = processors.get(rnd.nextInt(processors.size()));
+        int discreteRuntime = 1 + rnd.nextInt(20);
+        Binding<Processor> b = new Binding<>(p);
+        b.getProperties().put("discrete-runtime",discreteRuntime);
+        b.getProperties().put("runtime",(double)discreteRuntime);
+        bindings.getActorProcessorBindings().put(a.getId(),b);
+        bindings.getActorTileBindings().put(a.getId(),new Binding<Tile>(p.getOwnerTile()));
+      }
+      ApplicationManagement.assignFifoMapping(application,architecture,bindings);
+      ApplicationManagement.collapseMergeableMulticastActors(application,0,bindings);
+    }
+}
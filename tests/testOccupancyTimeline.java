@@ -0,0 +1,165 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Random events added to an occupancy timeline, also in the past, and
+     checked against a sorted map of the events after each insertion
+--------------------------------------------------------------------------
+*/
+package multitile.tests;
+
+import multitile.architecture.OccupancyTimeline;
+
+import java.io.*;
+import java.util.*;
+
+public class testOccupancyTimeline {
+    static int errors = 0;
+
+    public static void main(String[] args) throws IOException {
+      System.out.println("Testing the occupancy timeline against a sorted map!");
+      Random rnd = new Random(1);
+      int queries = 0;
+      for(int trial = 0; trial < 2000; trial++) {
+        // key -> time, value -> amount added at that time
+        TreeMap<Double,Double> events = new TreeMap<>();
+        OccupancyTimeline timeline = new OccupancyTimeline();
+        // the nodes dropped by retainFrom are reused by the next rounds
+        for(int round = 0; round < 3; round++) {
+          int nEvents = 1 + rnd.nextInt(60);
+          for(int k = 0; k < nEvents; k++) {
+            double when = rnd.nextInt(50);
+            double amount = rnd.nextInt(7) - 3;
+            events.merge(when, amount, Double::sum);
+            timeline.add(when, amount);
+
+            check(trial, "size", events.size(), timeline.size());
+            check(trial, "last value", valueAt(events, Double.POSITIVE_INFINITY), timeline.getLastValue());
+            check(trial, "last time", events.lastKey(), timeline.getLastTime());
+            check(trial, "maximum", maximum(events, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY), timeline.getMaximum());
+            check(trial, "minimum", minimum(events, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY), timeline.getMinimum());
+            double when1 = rnd.nextInt(55) - 2 + (rnd.nextBoolean() ? 0.5 : 0);
+            double when2 = when1 + rnd.nextInt(20);
+            double limit = rnd.nextInt(9) - 4;
+            check(trial, "value at "+when1, valueAt(events, when1), timeline.getValue(when1));
+            check(trial, "maximum in ["+when1+","+when2+"]", Math.max(valueAt(events, when1), maximum(events, when1, when2)), timeline.getMaximum(when1, when2));
+            check(trial, "minimum in ["+when1+","+when2+"]", Math.min(valueAt(events, when1), minimum(events, when1, when2)), timeline.getMinimum(when1, when2));
+            check(trial, "first time above "+limit, firstTimeAbove(events, when1, limit), timeline.getFirstTimeAbove(when1, limit));
+            queries++;
+          }
+          check(trial, "points", pointsOf(events), timeline.toMap());
+          check(trial, "first time", events.firstKey(), timeline.getFirstTime());
+          double when = rnd.nextInt(55) - 2 + (rnd.nextBoolean() ? 0.5 : 0);
+          Double floor = events.floorKey(when);
+          check(trial, "floor time of "+when, floor == null ? Double.NaN : floor, timeline.getFloorTime(when));
+          TreeMap<Double,Double> visited = new TreeMap<>();
+          timeline.forEachPoint(when, visited::put);
+          check(trial, "points before "+when, pointsOf(events).headMap(when, false), visited);
+          double to = Math.max(when, events.firstKey());
+          check(trial, "area until "+to, 1.0 + area(events, to), timeline.accumulateArea(1.0, to));
+
+          // dropping the past keeps the occupancy from then on
+          double from = rnd.nextInt(50);
+          TreeMap<Double,Double> retained = new TreeMap<>();
+          retained.put(from, valueAt(events, from));
+          for(Map.Entry<Double,Double> e : events.tailMap(from, false).entrySet())
+            retained.put(e.getKey(), e.getValue());
+          timeline.retainFrom(from);
+          check(trial, "retained points", pointsOf(retained), timeline.toMap());
+          check(trial, "retained size", retained.size(), timeline.size());
+          events = retained;
+        }
+      }
+      System.out.println("Queries on the timeline: "+queries);
+      System.out.println("Occupancy timeline checked, errors: "+errors);
+      if (errors > 0)
+        System.exit(1);
+    }
+
+    // occupancy integrated from the first time point until to
+    static double area(TreeMap<Double,Double> events, double to) {
+      double result = 0;
+      TreeMap<Double,Double> points = pointsOf(events);
+      for(Map.Entry<Double,Double> p : points.headMap(to, false).entrySet()) {
+        Double next = points.higherKey(p.getKey());
+        result += (Math.min(next == null ? to : next, to) - p.getKey()) * p.getValue();
+      }
+      return result;
+    }
+
+    static double valueAt(TreeMap<Double,Double> events, double when) {
+      double value = 0;
+      for(Map.Entry<Double,Double> e : events.headMap(when, true).entrySet())
+        value += e.getValue();
+      return value;
+    }
+
+    // greatest occupancy at the time points in [from,to]
+    static double maximum(TreeMap<Double,Double> events, double from, double to) {
+      double result = Double.NEGATIVE_INFINITY;
+      for(double t : events.keySet())
+        if (from <= t && t <= to)
+          result = Math.max(result, valueAt(events, t));
+      return result;
+    }
+
+    static double minimum(TreeMap<Double,Double> events, double from, double to) {
+      double result = Double.POSITIVE_INFINITY;
+      for(double t : events.keySet())
+        if (from <= t && t <= to)
+          result = Math.min(result, valueAt(events, t));
+      return result;
+    }
+
+    static double firstTimeAbove(TreeMap<Double,Double> events, double from, double limit) {
+      if (valueAt(events, from) > limit)
+        return from;
+      for(double t : events.tailMap(from, true).keySet())
+        if (valueAt(events, t) > limit)
+          return t;
+      return Double.NaN;
+    }
+
+    // occupancy from each time point
+    static TreeMap<Double,Double> pointsOf(TreeMap<Double,Double> events) {
+      TreeMap<Double,Double> points = new TreeMap<>();
+      for(double t : events.keySet())
+        points.put(t, valueAt(events, t));
+      return points;
+    }
+
+    static void check(int trial, String what, Object expected, Object found) {
+      if (!expected.equals(found)) {
+        System.out.println("ERROR trial "+trial+": "+what+" "+found+" expected "+expected);
+        errors++;
+      }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     The parallel search of the period must find the same period and schedule
+     as the sequential one, for both heuristic modulo schedulers and both
+     reservation tables
+--------------------------------------------------------------------------
+*/
+package multitile.tests;
+
+import multitile.scheduler.HeuristicModuloSchedulerConstrained;
+import multitile.scheduler.HeuristicModuloSchedulerWithCommunications;
+import multitile.scheduler.PeriodSearch;
+import multitile.scheduler.UtilizationTable;
+import multitile.scheduler.UtilizationTable.TimeSlot;
+
+import multitile.application.FifoManagement;
+import multitile.application.ActorManagement;
+import multitile.architecture.ArchitectureManagement;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class testParallelPeriodSearch {
+    static final int N_ACTORS = 20;
+    static int errors = 0;
+
+    public static void main(String[] args) throws IOException {
+      System.out.println("Testing the parallel search of the period!");
+      ForkJoinPool pool = new ForkJoinPool(4);
+
+      // feasibility that only grows with P, the search must find the smallest feasible period
+      Random rnd = new Random(3);
+      for(int trial = 0; trial < 200; trial++) {
+        int MII = 1 + rnd.nextInt(50);
+        int smallest = MII + rnd.nextInt(10*MII);
+        PeriodSearch<Integer> search = new PeriodSearch<>(pool, (P, cancelled) -> P >= smallest ? P : null);
+        Integer found = search.search(MII);
+        if (found == null || found != smallest || search.getPeriod() != smallest) {
+          System.out.println("ERROR MII "+MII+": found "+found+" expected "+smallest);
+          errors++;
+        }
+      }
+
+      for(UtilizationTable.RESERVATION_TYPE type : UtilizationTable.RESERVATION_TYPE.values()) {
+        for(int seed = 0; seed < 8; seed++) {
+          String[] sequential = scheduleBoth(seed, type, null);
+          String[] parallel = scheduleBoth(seed, type, pool);
+          for(int i = 0; i < sequential.length; i++) {
+            if (!sequential[i].equals(parallel[i])) {
+              System.out.println("ERROR "+type+" seed "+seed+": sequential "+sequential[i]+" parallel "+parallel[i]);
+              errors++;
+            }
+          }
+          System.out.println(type+" seed "+seed+": constrained "+sequential[0]+" with communications "+sequential[1]);
+        }
+      }
+      pool.shutdown();
+      System.out.println("Parallel search checked, errors: "+errors);
+      if (errors > 0)
+        System.exit(1);
+    }
+
+    // period, latency and start times found by each heuristic
+    static String[] scheduleBoth(int seed, UtilizationTable.RESERVATION_TYPE type, ForkJoinPool pool) {
+      resetCounters();
+      TestApplicationRandom sample = new TestApplicationRandom(seed,N_ACTORS,true);
+      HeuristicModuloSchedulerConstrained constrained = new HeuristicModuloSchedulerConstrained(sample.getArchitecture(),sample.getSampleApplication(),new ArrayList<>(Arrays.asList("P0")),1.0);
+      constrained.setReservationType(type);
+      constrained.setSearchPool(pool);
+      constrained.setApplicationWithMessages();
+      constrained.setInterconnects(sample.getBindings());
+      constrained.tryToSchedule(sample.getBindings(),".");
+      String c = "P="+constrained.getPeriod()+" L="+constrained.getLantency()+" "+startTimes(constrained.getTimeInfoActors());
+
+      resetCounters();
+      sample = new TestApplicationRandom(seed,N_ACTORS,true);
+      HeuristicModuloSchedulerWithCommunications withCommunications = new HeuristicModuloSchedulerWithCommunications(sample.getArchitecture(),sample.getSampleApplication(),new ArrayList<>(Arrays.asList("P0")),1.0);
+      withCommunications.setReservationType(type);
+      withCommunications.setSearchPool(pool);
+      withCommunications.setApplicationWithMessages();
+      withCommunications.setInterconnects(sample.getBindings());
+      withCommunications.tryToSchedule(sample.getBindings(),".");
+      String w = "P="+withCommunications.getPeriod()+" L="+withCommunications.getLantency()+" "+startTimes(withCommunications.getTimeInfoActors());
+      return new String[]{c, w};
+    }
+
+    static String startTimes(HashMap<Integer,TimeSlot> timeInfoActors) {
+      TreeMap<Integer,Integer> starts = new TreeMap<>();
+      for(Map.Entry<Integer,TimeSlot> t : timeInfoActors.entrySet())
+        starts.put(t.getKey(), t.getValue().getStartTime());
+      return Integer.toHexString(starts.toString().hashCode());
+    }
+
+    static void resetCounters() {
+      ActorManagement.resetCounters();
+      FifoManagement.resetCounters();
+      ArchitectureManagement.resetCounters();
+    }
+}
@@ -0,0 +1,249 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Strongly connected components, elementary cycles and recurrence bound
+     (RecMII) of random graphs with initial tokens, checked against a brute
+     force enumeration of the cycles
+--------------------------------------------------------------------------
+*/
+package multitile.tests;
+
+import multitile.mapping.Binding;
+import multitile.mapping.Bindings;
+import multitile.architecture.Processor;
+
+import multitile.application.Application;
+import multitile.application.ApplicationGraph;
+import multitile.application.MaximumCycleRatio;
+import multitile.application.Cycles;
+import multitile.application.FifoManagement;
+import multitile.application.ActorManagement;
+import multitile.application.Actor;
+import multitile.application.Fifo;
+import multitile.application.Fifo.FIFO_MAPPING_TYPE;
+
+import java.io.*;
+import java.util.*;
+
+public class testRecurrenceBound {
+    static int errors = 0;
+
+    public static void main(String[] args) throws IOException {
+      System.out.println("Testing the cycles and the recurrence bound against a brute force enumeration!");
+      int totalCycles = 0;
+      int deadlocks = 0;
+      for(int seed = 0; seed < 1500; seed++) {
+        Random rnd = new Random(seed);
+        int n = 1 + rnd.nextInt(9);
+        ActorManagement.resetCounters();
+        FifoManagement.resetCounters();
+        List<Actor> actors = new ArrayList<>();
+        for(int i = 0; i < n; i++)
+          actors.add(new Actor("a"+i));
+        // distance[u][v]: smallest delay, in iterations, of the fifos from u to v, -1 if there is none
+        int[][] distance = new int[n][n];
+        for(int[] d : distance)
+          Arrays.fill(d, -1);
+        Map<Integer,Fifo> fifos = new HashMap<>();
+        int nFifos = rnd.nextInt(3*n+1);
+        for(int e = 0; e < nFifos; e++) {
+          int u = rnd.nextInt(n), v = rnd.nextInt(n);
+          int tokens = rnd.nextInt(40) == 0 ? 0 : 1 + rnd.nextInt(4);
+          int consRate = 1 + rnd.nextInt(2);
+          Fifo f = new Fifo("f"+e,tokens,1,1,consRate,1,actors.get(u),actors.get(v),FIFO_MAPPING_TYPE.SOURCE);
+          fifos.put(f.getId(),f);
+          int delay = tokens / consRate;
+          distance[u][v] = distance[u][v] < 0 ? delay : Math.min(distance[u][v], delay);
+        }
+        Application app = new Application();
+        app.setActorsFromList(actors);
+        app.setFifos(fifos);
+        int[] runtime = new int[n];
+        Bindings bindings = new Bindings();
+        for(int i = 0; i < n; i++) {
+          runtime[i] = 1 + rnd.nextInt(20);
+          Binding<Processor> b = new Binding<>();
+          b.getProperties().put("discrete-runtime",runtime[i]);
+          bindings.getActorProcessorBindings().put(actors.get(i).getId(),b);
+        }
+
+        // brute force: every elementary cycle starts at its smallest actor
+        List<List<Integer>> cycles = new ArrayList<>();
+        for(int s = 0; s < n; s++) {
+          ArrayList<Integer> path = new ArrayList<>();
+          path.add(s);
+          enumerateCycles(distance, s, s, path, cycles);
+        }
+        totalCycles += cycles.size();
+        boolean deadlock = false;
+        long criticalRuntime = 0, criticalDistance = 1;
+        for(List<Integer> c : cycles) {
+          long cycleRuntime = 0, cycleDistance = 0;
+          for(int k = 0; k < c.size(); k++) {
+            cycleRuntime += runtime[c.get(k)];
+            cycleDistance += distance[c.get(k)][c.get((k+1) % c.size())];
+          }
+          if (cycleDistance == 0)
+            deadlock = true;
+          else if (cycleRuntime * criticalDistance > criticalRuntime * cycleDistance) {
+            criticalRuntime = cycleRuntime;
+            criticalDistance = cycleDistance;
+          }
+        }
+        int expectedRecMII = deadlock ? Integer.MAX_VALUE : (int)((criticalRuntime + criticalDistance - 1) / criticalDistance);
+        if (deadlock)
+          deadlocks++;
+
+        ApplicationGraph graph = new ApplicationGraph(app);
+        // the elementary cycles of the graph, as lists of actor indexes
+        HashSet<List<Integer>> expected = new HashSet<>();
+        for(List<Integer> c : cycles) {
+          List<Integer> ids = new ArrayList<>();
+          for(int i : c)
+            ids.add(actors.get(i).getId());
+          expected.add(normalize(ids));
+        }
+        HashSet<List<Integer>> found = new HashSet<>();
+        for(List<Integer> c : graph.getElementaryCycles())
+          found.add(normalize(c));
+        check(seed, "elementary cycles", expected, found);
+
+        // two actors are in the same component if and only if they reach each other
+        boolean[][] reach = new boolean[n][n];
+        for(int u = 0; u < n; u++) {
+          reach[u][u] = true;
+          for(int v = 0; v < n; v++)
+            if (distance[u][v] >= 0)
+              reach[u][v] = true;
+        }
+        for(int k = 0; k < n; k++)
+          for(int u = 0; u < n; u++)
+            for(int v = 0; v < n; v++)
+              if (reach[u][k] && reach[k][v])
+                reach[u][v] = true;
+        int[] component = new int[n];
+        int nComponents = 0;
+        for(int[] c : graph.getStronglyConnectedComponents()) {
+          for(int i : c)
+            component[actors.indexOf(actorById(actors, graph.getActorId(i)))] = nComponents;
+          nComponents++;
+        }
+        for(int u = 0; u < n; u++)
+          for(int v = 0; v < n; v++)
+            check(seed, "components of a"+u+" and a"+v, reach[u][v] && reach[v][u], component[u] == component[v]);
+
+        int[] graphRuntime = new int[n];
+        for(int i = 0; i < n; i++)
+          graphRuntime[i] = runtime[actors.indexOf(actorById(actors, graph.getActorId(i)))];
+        MaximumCycleRatio ratio = new MaximumCycleRatio(graph, graphRuntime);
+        ratio.solve();
+        check(seed, "deadlock", deadlock, ratio.isDeadlocked());
+        check(seed, "RecMII", expectedRecMII, ratio.getRecMII());
+        if (!deadlock && !cycles.isEmpty() && Math.abs(ratio.getRatio() - (double)criticalRuntime/criticalDistance) > 1e-9)
+          check(seed, "cycle ratio", (double)criticalRuntime/criticalDistance, ratio.getRatio());
+
+        Cycles recurrences = new Cycles();
+        recurrences.calculateRecMII(app, bindings);
+        check(seed, "RecMII from the bindings", expectedRecMII, recurrences.getRecMII());
+      }
+      System.out.println("Cycles enumerated: "+totalCycles+" graphs with a cycle without delay: "+deadlocks);
+      checkLongCycle(100000);
+      System.out.println("Recurrence bound checked, errors: "+errors);
+      if (errors > 0)
+        System.exit(1);
+    }
+
+    // a feedback cycle through n actors must not exhaust the stack
+    static void checkLongCycle(int n) {
+      ActorManagement.resetCounters();
+      FifoManagement.resetCounters();
+      List<Actor> actors = new ArrayList<>();
+      for(int i = 0; i < n; i++)
+        actors.add(new Actor("a"+i));
+      Map<Integer,Fifo> fifos = new HashMap<>();
+      Bindings bindings = new Bindings();
+      for(int i = 0; i < n; i++) {
+        Fifo f = new Fifo("f"+i,i == n-1 ? 2 : 0,1,1,1,1,actors.get(i),actors.get((i+1) % n),FIFO_MAPPING_TYPE.SOURCE);
+        fifos.put(f.getId(),f);
+        Binding<Processor> b = new Binding<>();
+        b.getProperties().put("discrete-runtime",1);
+        bindings.getActorProcessorBindings().put(actors.get(i).getId(),b);
+      }
+      Application app = new Application();
+      app.setActorsFromList(actors);
+      app.setFifos(fifos);
+      ArrayList<List<Integer>> cycles = new ApplicationGraph(app).getElementaryCycles();
+      check(n, "cycles of the long cycle", 1, cycles.size());
+      check(n, "actors in the long cycle", n, cycles.isEmpty() ? 0 : cycles.get(0).size());
+      Cycles recurrences = new Cycles();
+      recurrences.calculateRecMII(app, bindings);
+      check(n, "RecMII of the long cycle", n/2, recurrences.getRecMII());
+    }
+
+    // extends the path from v with the actors above start that are not in the path yet
+    static void enumerateCycles(int[][] distance, int start, int v, ArrayList<Integer> path, List<List<Integer>> cycles) {
+      for(int w = start; w < distance.length; w++) {
+        if (distance[v][w] < 0)
+          continue;
+        if (w == start)
+          cycles.add(new ArrayList<>(path));
+        else if (!path.contains(w)) {
+          path.add(w);
+          enumerateCycles(distance, start, w, path, cycles);
+          path.remove(path.size()-1);
+        }
+      }
+    }
+
+    // rotates the cycle to start at its smallest actor
+    static List<Integer> normalize(List<Integer> cycle) {
+      int first = cycle.indexOf(Collections.min(cycle));
+      List<Integer> rotated = new ArrayList<>();
+      for(int k = 0; k < cycle.size(); k++)
+        rotated.add(cycle.get((first + k) % cycle.size()));
+      return rotated;
+    }
+
+    static Actor actorById(List<Actor> actors, int id) {
+      for(Actor a : actors)
+        if (a.getId() == id)
+          return a;
+      return null;
+    }
+
+    static void check(int seed, String what, Object expected, Object found) {
+      if (!expected.equals(found)) {
+        System.out.println("ERROR seed "+seed+": "+what+" "+found+" expected "+expected);
+        errors++;
+      }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+--------------------------------------------------------------------------
+ Copyright (c) 2022 Hardware-Software-Co-Design, Friedrich-
+ Alexander-Universitaet Erlangen-Nuernberg (FAU), Germany. 
+ All rights reserved.
+ 
+ This code and any associated documentation is provided "as is"
+ 
+ IN NO EVENT SHALL HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-
+ UNIVERSITAET ERLANGEN-NUERNBERG (FAU) BE LIABLE TO ANY PARTY FOR DIRECT,
+ INDIRECT, SPECIAL, INCIDENTAL, OR CONSEQUENTIAL DAMAGES ARISING OUT
+ OF THE USE OF THIS CODE AND ITS DOCUMENTATION, EVEN IF HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-NUERNBERG
+ (FAU) HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. THE
+ AFOREMENTIONED EXCLUSIONS OF LIABILITY DO NOT APPLY IN CASE OF INTENT
+ BY HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET
+ ERLANGEN-NUERNBERG (FAU).
+ 
+ HARDWARE-SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU), SPECIFICALLY DISCLAIMS ANY WARRANTIES, INCLUDING, BUT
+ NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS
+ FOR A PARTICULAR PURPOSE.
+ 
+ THE CODE PROVIDED HEREUNDER IS ON AN "AS IS" BASIS, AND HARDWARE-
+ SOFTWARE-CO-DESIGN, FRIEDRICH-ALEXANDER-UNIVERSITAET ERLANGEN-
+ NUERNBERG (FAU) HAS NO OBLIGATION TO PROVIDE MAINTENANCE, SUPPORT,
+ UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
+ -------------------------------------------------------------------------
+ 
+  @date   17 October 2026
+  @version 1.1
+  @ brief
+     Random sequences of reservations applied to the linked list and to the
+     bitmap utilization tables, both must answer every query in the same way.
+     The free-gap index of the bitmap table is checked against a linear scan
+--------------------------------------------------------------------------
+*/
+package multitile.tests;
+
+import multitile.scheduler.UtilizationTable;
+import multitile.scheduler.UtilizationTable.TimeSlot;
+import multitile.scheduler.FreeGapIndex;
+
+import java.io.*;
+import java.util.*;
+
+public class testUtilizationTables {
+    static int errors = 0;
+
+    public static void main(String[] args) throws IOException {
+      System.out.println("Testing the bitmap utilization table against the linked list one!");
+      Random rnd = new Random(7);
+      int queries = 0;
+      for(int trial = 0; trial < 600; trial++) {
+        int P = 1 + rnd.nextInt(rnd.nextBoolean() ? 70 : 400);
+        HashMap<Integer,Integer> countCoresPerType = new HashMap<>();
+        int nTypes = 1 + rnd.nextInt(4);
+        for(int t = 0; t < nTypes; t++)
+          countCoresPerType.put(t*5+1, 1);
+        List<Integer> types = new ArrayList<>(countCoresPerType.keySet());
+        UtilizationTable list = UtilizationTable.createUtilizationTable(UtilizationTable.RESERVATION_TYPE.LINKED_LIST, countCoresPerType, P);
+        UtilizationTable bitmap = UtilizationTable.createUtilizationTable(UtilizationTable.RESERVATION_TYPE.BITMAP, countCoresPerType, P);
+        int mark = -1;
+        for(int k = 0; k < 80; k++) {
+          int length = rnd.nextInt(5) == 0 ? 0 : 1 + rnd.nextInt(Math.max(1, P/(2+rnd.nextInt(6))));
+          int start = rnd.nextInt(3*P);
+          ArrayList<Integer> boundResources = new ArrayList<>();
+          for(int t : types)
+            if (rnd.nextBoolean())
+              boundResources.add(t);
+          if (boundResources.isEmpty())
+            boundResources.add(types.get(0));
+          queries++;
+
+          // earliest start, it must also be the first start that fits scanning the period step by step
+          int expected = -1;
+          for(int d = 0; d < P && length <= P; d++) {
+            if (list.fitsInBoundResources(boundResources, (start + d) % P, length)) {
+              expected = (start + d) % P;
+              break;
+            }
+          }
+          check(trial, "earliest start", expected, list.getEarliestStartInBoundResources(boundResources, start, length));
+          check(trial, "earliest start bitmap", expected, bitmap.getEarliestStartInBoundResources(boundResources, start, length));
+          // first start of a gap where it fits, in the order of the candidate starts of the heuristics
+          int gapStart = firstGapStart(list, boundResources, start, length, P);
+          check(trial, "first gap start", gapStart, list.getFirstGapStart(boundResources, start, length));
+          check(trial, "first gap start bitmap", gapStart, bitmap.getFirstGapStart(boundResources, start, length));
+          check(trial, "can insert", list.canInsertIntervalUtilizationTable(k, boundResources, start, start+length, length), bitmap.canInsertIntervalUtilizationTable(k, boundResources, start, start+length, length));
+
+          // earliest start of two intervals, one after the other
+          ArrayList<ArrayList<Integer>> group = new ArrayList<>();
+          group.add(boundResources);
+          group.add(new ArrayList<>(Arrays.asList(types.get(rnd.nextInt(types.size())))));
+          int[] offsets = {0, length};
+          int[] lengths = {length, 1 + rnd.nextInt(Math.max(1, P/4))};
+          check(trial, "earliest start of group", list.getEarliestStartOfGroup(group, offsets, lengths, start), bitmap.getEarliestStartOfGroup(group, offsets, lengths, start));
+
+          if (mark < 0 && rnd.nextInt(20) == 0) {
+            mark = list.mark();
+            check(trial, "mark", mark, bitmap.mark());
+          }
+          if (mark >= 0 && rnd.nextInt(25) == 0) {
+            list.rollback(mark);
+            bitmap.rollback(mark);
+            mark = -1;
+          }
+          // insert at the proposed start or at the earliest one
+          int at = rnd.nextBoolean() || expected < 0 ? start : expected;
+          check(trial, "insert", list.insertIntervalUtilizationTable(k, boundResources, at, at+length, length), bitmap.insertIntervalUtilizationTable(k, boundResources, at, at+length, length));
+          if (!slotsOf(list).equals(slotsOf(bitmap))) {
+            System.out.println("ERROR trial "+trial+": the reserved slots differ");
+            errors++;
+          }
+        }
+      }
+      System.out.println("Queries on both tables: "+queries);
+
+      System.out.println("Testing the free-gap index!");
+      for(int trial = 0; trial < 2000; trial++) {
+        int P = 1 + rnd.nextInt(rnd.nextBoolean() ? 130 : 1000);
+        long[] bits = new long[(P + 63) >> 6];
+        FreeGapIndex index = new FreeGapIndex(bits, P);
+        for(int k = 0; k < 30; k++) {
+          // occupy or free a random interval
+          int from = rnd.nextInt(P);
+          int to = Math.min(P, from + 1 + rnd.nextInt(Math.max(1, P/5)));
+          boolean occupy = rnd.nextInt(3) != 0;
+          for(int s = from; s < to; s++) {
+            if (occupy)
+              bits[s >> 6] |= 1L << (s & 63);
+            else
+              bits[s >> 6] &= ~(1L << (s & 63));
+          }
+          index.update(from, to);
+          check(trial, "longest gap", longestGap(bits, P), index.getLongestGap());
+          int start = rnd.nextInt(P);
+          int length = 1 + rnd.nextInt(P);
+          check(trial, "first fit", firstFit(bits, P, start, length), index.firstFit(start, length));
+        }
+      }
+      System.out.println("Utilization tables checked, errors: "+errors);
+      if (errors > 0)
+        System.exit(1);
+    }
+
+    static void check(int trial, String what, Object expected, Object found) {
+      if (!expected.equals(found)) {
+        System.out.println("ERROR trial "+trial+": "+what+" "+found+" expected "+expected);
+        errors++;
+      }
+    }
+
+    // slots of every resource as actor:start-end, in order
+    static TreeSet<String> slotsOf(UtilizationTable table) {
+      TreeSet<String> slots = new TreeSet<>();
+      for(Map.Entry<Integer,Map<Integer,LinkedList<TimeSlot>>> type : table.getUtilizationTable().entrySet())
+        for(Map.Entry<Integer,LinkedList<TimeSlot>> core : type.getValue().entrySet())
+          for(TimeSlot t : core.getValue())
+            slots.add(type.getKey()+"/"+core.getKey()+" "+t.getActorId()+":"+t.getStartTime()+"-"+t.getEndTime());
+      return slots;
+    }
+
+    // the gap starts of the bound resources at or after start, then the ones before it, the first one where the interval fits
+    static int firstGapStart(UtilizationTable table, ArrayList<Integer> boundResources, int start, int length, int P) {
+      TreeSet<Integer> candidates = new TreeSet<>();
+      for(int type : boundResources)
+        for(LinkedList<TimeSlot> slots : table.getUtilizationTable().get(type).values())
+          candidates.addAll(gapStarts(slots, length, P));
+      List<Integer> order = new ArrayList<>(candidates.tailSet(start));
+      order.addAll(candidates.headSet(start));
+      for(int q : order)
+        if (table.fitsInBoundResources(boundResources, q, length))
+          return q;
+      return -1;
+    }
+
+    // starts of the gaps of one resource with at least the given length, the gap after the last slot wraps around P
+    static List<Integer> gapStarts(LinkedList<TimeSlot> list, int length, int P) {
+      List<TimeSlot> slots = new ArrayList<>(list);
+      slots.sort((o1,o2) -> o1.getStartTime() != o2.getStartTime() ? o1.getStartTime() - o2.getStartTime() : o1.getLength() - o2.getLength());
+      List<Integer> starts = new ArrayList<>();
+      int n = slots.size();
+      if (n == 0) {
+        starts.add(0);
+        return starts;
+      }
+      for(int i = 0; i < n-1; i++)
+        if (slots.get(i+1).getStartTime() - slots.get(i).getEndTime() >= length)
+          starts.add(slots.get(i).getEndTime());
+      int lastEnd = slots.get(n-1).getEndTime();
+      int firstStart = slots.get(0).getStartTime();
+      if (lastEnd < P && firstStart > 0) {
+        if (P - lastEnd + firstStart >= length)
+          starts.add(lastEnd);
+      }else if (lastEnd < P) {
+        if (P - lastEnd >= length)
+          starts.add(lastEnd);
+      }else if (firstStart > 0) {
+        if (firstStart >= length)
+          starts.add(0);
+      }
+      return starts;
+    }
+
+    static boolean isFree(long[] bits, int s) {
+      return (bits[s >> 6] & (1L << (s & 63))) == 0;
+    }
+
+    // longest run of free steps without crossing the border of the period
+    static int longestGap(long[] bits, int P) {
+      int best = 0, run = 0;
+      for(int s = 0; s < P; s++) {
+        run = isFree(bits, s) ? run + 1 : 0;
+        best = Math.max(best, run);
+      }
+      return best;
+    }
+
+    static int firstFit(long[] bits, int P, int from, int length) {
+      if (length > P)
+        return -1;
+      for(int d = 0; d < P; d++) {
+        int s = (from + d) % P;
+        boolean free = true;
+        for(int i = 0; i < length && free; i++)
+          free = isFree(bits, (s + i) % P);
+        if (free)
+          return s;
+      }
+      return -1;
+    }
+}